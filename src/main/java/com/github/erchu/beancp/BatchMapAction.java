@@ -0,0 +1,41 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.List;
+
+/**
+ * Action performed once per batch by
+ * {@link Mapper#mapAll(java.lang.Iterable, java.lang.Class, com.github.erchu.beancp.BatchMapAction,
+ * com.github.erchu.beancp.BatchMapAction)}.
+ *
+ * @param <S> source class.
+ * @param <D> destination class.
+ */
+@FunctionalInterface
+public interface BatchMapAction<S, D> {
+
+    /**
+     * Performs this operation.
+     *
+     * @param mapper mapper executing batch.
+     * @param sources source objects.
+     * @param destinations destination objects, empty when action is performed before batch.
+     */
+    void invoke(Mapper mapper, Iterable<? extends S> sources, List<D> destinations);
+}
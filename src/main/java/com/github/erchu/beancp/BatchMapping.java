@@ -0,0 +1,99 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps batch of source objects. Mapping is resolved (see
+ * {@link Mapper#forPair(java.lang.Class, java.lang.Class)}) once per distinct source object class
+ * in batch, null source objects are mapped to null.
+ *
+ * <p>
+ * Instance remembers resolved mappings, so it is used by single thread while single batch (or
+ * its part) is mapped.
+ * </p>
+ */
+final class BatchMapping {
+
+    private final Mapper _mapper;
+
+    private final Class _destinationClass;
+
+    private Class _lastSourceClass;
+
+    private TypedMapper _lastTypedMapper;
+
+    private Map<Class, TypedMapper> _typedMappers;
+
+    BatchMapping(final Mapper mapper, final Class destinationClass) {
+        _mapper = mapper;
+        _destinationClass = destinationClass;
+    }
+
+    static <S, D> void mapAll(final Mapper mapper, final Iterable<? extends S> sources,
+            final Class<D> destinationClass, final Collection<? super D> destinations) {
+        BatchMapping batchMapping = new BatchMapping(mapper, destinationClass);
+
+        for (S iSource : sources) {
+            destinations.add((D) batchMapping.map(iSource));
+        }
+    }
+
+    /**
+     * Maps source objects from passed range and stores results at the same indexes of destination
+     * array.
+     */
+    void mapRange(final Object[] sources, final int fromIndex, final int toIndex,
+            final Object[] destinations) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            destinations[i] = map(sources[i]);
+        }
+    }
+
+    Object map(final Object source) {
+        if (source == null) {
+            return null;
+        }
+
+        Class sourceClass = source.getClass();
+
+        if (sourceClass != _lastSourceClass) {
+            // batches usually contain objects of single class, other are remembered as well
+            if (_lastTypedMapper != null) {
+                if (_typedMappers == null) {
+                    _typedMappers = new HashMap<>();
+                }
+
+                _typedMappers.put(_lastSourceClass, _lastTypedMapper);
+            }
+
+            TypedMapper knownTypedMapper
+                    = (_typedMappers == null) ? null : _typedMappers.get(sourceClass);
+
+            _lastTypedMapper = (knownTypedMapper != null)
+                    ? knownTypedMapper
+                    : _mapper.forPair(sourceClass, _destinationClass);
+            _lastSourceClass = sourceClass;
+        }
+
+        return _lastTypedMapper.map(source);
+    }
+}
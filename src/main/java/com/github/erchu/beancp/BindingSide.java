@@ -17,6 +17,8 @@
  */
 package com.github.erchu.beancp;
 
+import java.lang.reflect.Type;
+
 /**
  * Source or destination member (field or property) referenced by binding.
  */
@@ -36,6 +38,16 @@ public interface BindingSide {
      */
     Class getValueClass();
 
+    /**
+     * Returns value type including generic type information (ex. element type of collection), if
+     * available. By default returns value class.
+     *
+     * @return value type.
+     */
+    default Type getValueType() {
+        return getValueClass();
+    }
+
     /**
      * Extracts value from passed object and returns it. If there is no getter available then
      * {@link MappingException} will be trown.
@@ -0,0 +1,122 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import org.apache.commons.lang3.ClassUtils;
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * Binding with additional conversion between primitive number types (or its wrappers) done as by
+ * Java cast, without {@link Converter} lookup. Supported value classes are byte, short, int, long,
+ * float, double and its wrappers. Null source value is set as null.
+ *
+ * <p>
+ * When binding is compiled together with other map convention bindings and source member is of
+ * primitive type then value is converted without boxing.
+ * </p>
+ */
+public class BindingWithPrimitiveConversion extends Binding {
+
+    private static final Map<Class, Function<Number, Object>> _conversions = getConversions();
+
+    private final Function<Number, Object> _conversion;
+
+    /**
+     * Creates binding from from source path (series of bindings from source where n+1 binding
+     * returns member of object returned by n-th binding) to destination member.
+     *
+     * @param sourcePath series of bindings from source where n+1 binding returns member of object
+     * returned by n-th binding.
+     * @param destinationMember destination member.
+     */
+    public BindingWithPrimitiveConversion(
+            final BindingSide[] sourcePath, final BindingSide destinationMember) {
+        super(sourcePath, destinationMember);
+
+        Class sourceValueClass = sourcePath[sourcePath.length - 1].getValueClass();
+        Class destinationValueClass = destinationMember.getValueClass();
+
+        isTrue(isSupported(sourceValueClass, destinationValueClass),
+                "Conversion from %s to %s is not supported.",
+                sourceValueClass, destinationValueClass);
+
+        _conversion = _conversions.get(ClassUtils.primitiveToWrapper(destinationValueClass));
+    }
+
+    /**
+     * Creates Binding from source member to destination member.
+     *
+     * @param sourceMember source member.
+     * @param destinationMember destination member.
+     */
+    public BindingWithPrimitiveConversion(
+            final BindingSide sourceMember, final BindingSide destinationMember) {
+        this(new BindingSide[] { sourceMember }, destinationMember);
+    }
+
+    /**
+     * Returns {@code true} if conversion between passed classes is supported, otherwise
+     * {@code false}.
+     *
+     * @param sourceValueClass source value class.
+     * @param destinationValueClass destination value class.
+     * @return {@code true} if conversion between passed classes is supported, otherwise
+     * {@code false}.
+     */
+    public static boolean isSupported(
+            final Class sourceValueClass, final Class destinationValueClass) {
+        notNull(sourceValueClass, "sourceValueClass");
+        notNull(destinationValueClass, "destinationValueClass");
+
+        return _conversions.containsKey(ClassUtils.primitiveToWrapper(sourceValueClass))
+                && _conversions.containsKey(ClassUtils.primitiveToWrapper(destinationValueClass));
+    }
+
+    /**
+     * Sets value at destination.
+     *
+     * @param mapper caller.
+     * @param destination destination object.
+     * @param value value to set.
+     */
+    @Override
+    protected void setValueAtDestination(
+            final Mapper mapper, final Object destination, final Object value) {
+        notNull(destination, "destination");
+
+        Object convertedValue = (value == null) ? null : _conversion.apply((Number) value);
+
+        super.setValueAtDestination(mapper, destination, convertedValue);
+    }
+
+    private static Map<Class, Function<Number, Object>> getConversions() {
+        Map<Class, Function<Number, Object>> result = new HashMap<>();
+
+        result.put(Byte.class, Number::byteValue);
+        result.put(Short.class, Number::shortValue);
+        result.put(Integer.class, Number::intValue);
+        result.put(Long.class, Number::longValue);
+        result.put(Float.class, Number::floatValue);
+        result.put(Double.class, Number::doubleValue);
+
+        return result;
+    }
+}
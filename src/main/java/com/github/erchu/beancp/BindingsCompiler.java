@@ -0,0 +1,415 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * Compiles list of {@link Binding}s to single generated class executing them as straight-line
+ * code: getters and setters are called directly and value conversions are inlined.
+ *
+ * <p>
+ * Only {@link Binding}, {@link BindingWithValueConversion}, {@link BindingWithValueMap} and
+ * {@link BindingWithPrimitiveConversion} instances (not subclasses) between {@link PropertyBindingSide} and {@link FieldBindingSide}
+ * members are supported. Generated code behaves the same way as
+ * {@link Binding#execute(com.github.erchu.beancp.Mapper, java.lang.Object, java.lang.Object)},
+ * including exceptions thrown on member access failure. Other bindings (or bindings with members
+ * not accessible to generated class) are executed by generated code through
+ * {@link Binding#execute(com.github.erchu.beancp.Mapper, java.lang.Object, java.lang.Object)}
+ * in the same order. If no binding is supported then list is not compiled.
+ * </p>
+ *
+ * <p>
+ * Generated class implements public {@link MapAction} interface and is defined by its own class
+ * loader (see {@link GeneratedClasses}), so it is unloaded together with plan which is evicted
+ * from cache.
+ * </p>
+ */
+final class BindingsCompiler {
+
+    /**
+     * Maximum number of bindings compiled to single class (generated method size is limited).
+     */
+    static final int MAXIMUM_BINDINGS = 256;
+
+    private static final String MAPPING_EXCEPTION = MappingException.class.getName();
+
+    private final List<Class> _destinationValueClasses = new ArrayList<>();
+
+    private final List<Binding> _delegatedBindings = new ArrayList<>();
+
+    private final StringBuilder _source = new StringBuilder();
+
+    private int _localVariableCounter = 0;
+
+    /**
+     * Compiled bindings delegating to generated class.
+     */
+    static final class GeneratedBindings implements CompiledBindings {
+
+        private final MapAction<Object, Object> _action;
+
+        GeneratedBindings(final MapAction<Object, Object> action) {
+            _action = action;
+        }
+
+        @Override
+        public void execute(final Mapper mapper, final Object source, final Object destination)
+                throws MappingException {
+            _action.invoke(mapper, source, destination);
+        }
+
+        Class getGeneratedClass() {
+            return _action.getClass();
+        }
+    }
+
+    private BindingsCompiler() {
+    }
+
+    /**
+     * Compiles passed bindings.
+     *
+     * @param bindings bindings to compile.
+     * @return compiled bindings or null if bindings cannot be compiled.
+     */
+    static CompiledBindings compile(final List<Binding> bindings) {
+        if (bindings.isEmpty() || bindings.size() > MAXIMUM_BINDINGS) {
+            return null;
+        }
+
+        BindingsCompiler compiler = new BindingsCompiler();
+        compiler._source.append("public void invoke(")
+                .append(Mapper.class.getName()).append(" mapper, ")
+                .append("Object source, Object destination) {\n");
+
+        for (Binding i : bindings) {
+            if (compiler.appendBinding(i) == false) {
+                compiler.appendDelegatedBinding(i);
+            }
+        }
+
+        if (compiler._delegatedBindings.size() == bindings.size()) {
+            return null;
+        }
+
+        compiler._source.append("}");
+
+        Class generatedClass = GeneratedClasses.generate(MapAction.class,
+                new String[] {
+                    "private final java.lang.Class[] _destinationValueClasses;",
+                    "private final " + Binding.class.getName() + "[] _bindings;"
+                },
+                new Class[] { Class[].class, Binding[].class },
+                "{ super(); _destinationValueClasses = $1; _bindings = $2; }",
+                compiler._source.toString());
+
+        if (generatedClass == null) {
+            return null;
+        }
+
+        try {
+            @SuppressWarnings("unchecked")
+            MapAction<Object, Object> action = (MapAction<Object, Object>) generatedClass
+                    .getConstructor(Class[].class, Binding[].class)
+                    .newInstance(
+                            compiler._destinationValueClasses.toArray(new Class[0]),
+                            compiler._delegatedBindings.toArray(new Binding[0]));
+
+            return new GeneratedBindings(action);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError ex) {
+            return null;
+        }
+    }
+
+    private boolean appendBinding(final Binding binding) {
+        BindingSide[] sourcePath = binding.getSourcePath();
+        BindingSide destinationMember = binding.getDestinationMember();
+
+        // Binding.execute() requires destination getter when reading source path
+        if (destinationMember.isGetterAvailable() == false
+                || getValueClass(destinationMember, true) == null) {
+            return false;
+        }
+
+        for (BindingSide i : sourcePath) {
+            if (getValueClass(i, false) == null) {
+                return false;
+            }
+        }
+
+        if (binding.getClass() == Binding.class) {
+            Class sourceValueClass = getValueClass(sourcePath[sourcePath.length - 1], false);
+            Class destinationValueClass = getValueClass(destinationMember, true);
+
+            if (sourcePath.length == 1 && isAssignable(sourceValueClass, destinationValueClass)) {
+                appendDirectCopy(sourcePath[0], sourceValueClass, destinationMember);
+            } else {
+                String value = appendSourcePath(sourcePath);
+                appendSetValue(destinationMember, value);
+            }
+
+            return true;
+        }
+
+        if (binding.getClass() == BindingWithValueConversion.class) {
+            String value = appendSourcePath(sourcePath);
+            String convertedValue = nextLocalVariable();
+            _source.append("Object ").append(convertedValue).append(" = null;\n")
+                    .append("if (").append(value).append(" != null) { ")
+                    .append(convertedValue).append(" = ")
+                    .append(getMapToNewObject(value, destinationMember)).append("; }\n");
+            appendSetValue(destinationMember, convertedValue);
+
+            return true;
+        }
+
+        if (binding.getClass() == BindingWithPrimitiveConversion.class) {
+            Class sourceValueClass = getValueClass(sourcePath[sourcePath.length - 1], false);
+            Class destinationValueClass = getValueClass(destinationMember, true);
+            String destinationPrimitiveName
+                    = ClassUtils.wrapperToPrimitive(
+                            ClassUtils.primitiveToWrapper(destinationValueClass)).getName();
+
+            if (sourcePath.length == 1 && sourceValueClass.isPrimitive()) {
+                // typed copy with cast, no boxing when destination is primitive as well
+                String value = nextLocalVariable();
+
+                _source.append(sourceValueClass.getName()).append(" ").append(value).append(" = ")
+                        .append(getDefaultValue(sourceValueClass)).append(";\n");
+                appendTryCatch(value + " = " + getGetterExpression(sourcePath[0], "$2") + ";",
+                        sourcePath[0]);
+
+                String convertedValue = "(" + destinationPrimitiveName + ") " + value;
+
+                if (destinationValueClass.isPrimitive() == false) {
+                    // ($w) is not used, its result is typed as Object
+                    convertedValue = destinationValueClass.getName()
+                            + ".valueOf(" + convertedValue + ")";
+                }
+
+                appendTryCatch(getSetterStatement(destinationMember, convertedValue),
+                        destinationMember);
+            } else {
+                String value = appendSourcePath(sourcePath);
+                String convertedValue = nextLocalVariable();
+                _source.append("Object ").append(convertedValue).append(" = null;\n")
+                        .append("if (").append(value).append(" != null) { ")
+                        .append(convertedValue).append(" = ($w) ((java.lang.Number) ")
+                        .append(value).append(").").append(destinationPrimitiveName)
+                        .append("Value(); }\n");
+                appendSetValue(destinationMember, convertedValue);
+            }
+
+            return true;
+        }
+
+        if (binding.getClass() == BindingWithValueMap.class) {
+            String value = appendSourcePath(sourcePath);
+            String currentValue = nextLocalVariable();
+            _source.append("if (").append(value).append(" == null) {\n");
+            appendSetValue(destinationMember, value);
+            _source.append("} else {\n")
+                    .append("Object ").append(currentValue).append(" = null;\n");
+            appendGetValue(destinationMember, "$3", currentValue);
+            _source.append("if (").append(currentValue).append(" != null) { $1.map(")
+                    .append(value).append(", ").append(currentValue).append("); } else {\n")
+                    .append(value).append(" = ")
+                    .append(getMapToNewObject(value, destinationMember)).append(";\n");
+            appendSetValue(destinationMember, value);
+            _source.append("}\n}\n");
+
+            return true;
+        }
+
+        return false;
+    }
+
+    private void appendDelegatedBinding(final Binding binding) {
+        _delegatedBindings.add(binding);
+        int index = _delegatedBindings.size() - 1;
+
+        _source.append("_bindings[").append(index).append("].execute($1, $2, $3);\n");
+    }
+
+    private void appendDirectCopy(final BindingSide sourceMember, final Class sourceValueClass,
+            final BindingSide destinationMember) {
+        String value = nextLocalVariable();
+        String sourceValueClassName = GeneratedClasses.getSourceName(sourceValueClass);
+
+        _source.append(sourceValueClassName).append(" ").append(value).append(" = ")
+                .append(getDefaultValue(sourceValueClass)).append(";\n");
+        appendTryCatch(value + " = " + getGetterExpression(sourceMember, "$2") + ";",
+                sourceMember);
+        appendTryCatch(getSetterStatement(destinationMember, value), destinationMember);
+    }
+
+    private String appendSourcePath(final BindingSide[] sourcePath) {
+        String value = nextLocalVariable();
+        _source.append("Object ").append(value).append(" = $2;\n");
+
+        // value stays null when any member on path returns null, so null will be set
+        for (BindingSide i : sourcePath) {
+            _source.append("if (").append(value).append(" != null) {\n");
+            appendGetValue(i, value, value);
+            _source.append("}\n");
+        }
+
+        return value;
+    }
+
+    private void appendGetValue(
+            final BindingSide member, final String object, final String resultVariable) {
+        appendTryCatch(resultVariable + " = ($w) " + getGetterExpression(member, object) + ";",
+                member);
+    }
+
+    private void appendSetValue(final BindingSide member, final String value) {
+        appendTryCatch(getSetterStatement(member,
+                GeneratedClasses.getCastExpression(getValueClass(member, true), value)), member);
+    }
+
+    private void appendTryCatch(final String statement, final BindingSide member) {
+        String exception = nextLocalVariable();
+
+        // errors are not wrapped, the same as by binding sides
+        _source.append("try { ").append(statement).append(" } catch (Error ")
+                .append(exception).append(") { throw ").append(exception)
+                .append("; } catch (Throwable ").append(exception).append(") { throw new ").append(MAPPING_EXCEPTION).append("(")
+                .append(GeneratedClasses.getStringLiteral(getFailureMessage(member)))
+                .append(", ").append(exception).append("); }\n");
+    }
+
+    private String getMapToNewObject(final String value, final BindingSide destinationMember) {
+        _destinationValueClasses.add(destinationMember.getValueClass());
+        int index = _destinationValueClasses.size() - 1;
+
+        return "$1.map(" + value + ", _destinationValueClasses[" + index + "])";
+    }
+
+    private String nextLocalVariable() {
+        _localVariableCounter++;
+
+        return "v" + _localVariableCounter;
+    }
+
+    private static String getGetterExpression(final BindingSide member, final String object) {
+        if (member instanceof PropertyBindingSide) {
+            Method readMethod = ((PropertyBindingSide) member).getReadMethod();
+
+            return "((" + GeneratedClasses.getSourceName(readMethod.getDeclaringClass()) + ") "
+                    + object + ")." + readMethod.getName() + "()";
+        } else {
+            Field field = ((FieldBindingSide) member).getField();
+
+            return "((" + GeneratedClasses.getSourceName(field.getDeclaringClass()) + ") "
+                    + object + ")." + field.getName();
+        }
+    }
+
+    private static String getSetterStatement(final BindingSide member, final String value) {
+        if (member instanceof PropertyBindingSide) {
+            Method writeMethod = ((PropertyBindingSide) member).getWriteMethod();
+
+            return "((" + GeneratedClasses.getSourceName(writeMethod.getDeclaringClass())
+                    + ") $3)." + writeMethod.getName() + "(" + value + ");";
+        } else {
+            Field field = ((FieldBindingSide) member).getField();
+
+            return "((" + GeneratedClasses.getSourceName(field.getDeclaringClass())
+                    + ") $3)." + field.getName() + " = " + value + ";";
+        }
+    }
+
+    private static String getFailureMessage(final BindingSide member) {
+        // the same messages as reported by binding sides
+        if (member instanceof PropertyBindingSide) {
+            return String.format("Failed to get value from %s",
+                    ((PropertyBindingSide) member).getReadMethod());
+        } else {
+            return String.format("Failed to get value from %s",
+                    ((FieldBindingSide) member).getField());
+        }
+    }
+
+    /**
+     * Returns class of value read from or written to member by generated code, or null if member
+     * cannot be accessed from generated code.
+     */
+    private static Class getValueClass(final BindingSide member, final boolean write) {
+        if (member.getClass() == PropertyBindingSide.class) {
+            PropertyBindingSide property = (PropertyBindingSide) member;
+
+            if (write) {
+                Method writeMethod = property.getWriteMethod();
+
+                if (writeMethod == null || writeMethod.getParameterTypes().length != 1
+                        || GeneratedClasses.isAccessible(
+                                writeMethod, writeMethod.getParameterTypes()[0]) == false) {
+                    return null;
+                }
+
+                return writeMethod.getParameterTypes()[0];
+            } else {
+                Method readMethod = property.getReadMethod();
+
+                if (readMethod == null || readMethod.getParameterTypes().length != 0
+                        || GeneratedClasses.isAccessible(
+                                readMethod, readMethod.getReturnType()) == false) {
+                    return null;
+                }
+
+                return readMethod.getReturnType();
+            }
+        }
+
+        if (member.getClass() == FieldBindingSide.class) {
+            Field field = ((FieldBindingSide) member).getField();
+
+            if ((write && Modifier.isFinal(field.getModifiers()))
+                    || GeneratedClasses.isAccessible(field, field.getType()) == false) {
+                return null;
+            }
+
+            return field.getType();
+        }
+
+        return null;
+    }
+
+    private static boolean isAssignable(final Class fromClass, final Class toClass) {
+        if (fromClass.isPrimitive() || toClass.isPrimitive()) {
+            return fromClass == toClass;
+        }
+
+        return toClass.isAssignableFrom(fromClass);
+    }
+
+    private static String getDefaultValue(final Class ofClass) {
+        if (ofClass == boolean.class) {
+            return "false";
+        }
+
+        return ofClass.isPrimitive() ? "(" + ofClass.getName() + ") 0" : "null";
+    }
+}
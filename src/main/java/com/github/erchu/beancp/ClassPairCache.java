@@ -0,0 +1,129 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * Thread-safe cache of values resolved for (source class, destination class) pairs. Null results
+ * are cached as well, so every pair is resolved at most once (unless two threads resolve the same
+ * pair concurrently, then one of results is discarded).
+ *
+ * <p>
+ * Resolver is executed outside of any lock, so it may recursively query the same cache.
+ * </p>
+ *
+ * <p>
+ * Cache may be bounded. When maximum size is exceeded then some other entry is evicted (no
+ * particular eviction order is guaranteed) and will be resolved again when requested.
+ * </p>
+ *
+ * @param <V> cached value type.
+ */
+final class ClassPairCache<V> {
+
+    private static final Object NULL_VALUE = new Object();
+
+    private final ConcurrentMap<Class, ConcurrentMap<Class, Object>> _values
+            = new ConcurrentHashMap<>();
+
+    private final int _maximumSize;
+
+    private final AtomicInteger _size = new AtomicInteger();
+
+    /**
+     * Creates unbounded cache.
+     */
+    ClassPairCache() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates bounded cache.
+     *
+     * @param maximumSize maximum number of cached class pairs.
+     */
+    ClassPairCache(final int maximumSize) {
+        isTrue(maximumSize > 0, "maximumSize must be greater than zero");
+
+        _maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns value for passed classes. If value is not cached yet then it is resolved by
+     * {@code resolver} and cached.
+     *
+     * @param sourceClass source class.
+     * @param destinationClass destination class.
+     * @param resolver function used to resolve value if not cached, may return null.
+     * @return cached or resolved value, may be null.
+     */
+    V get(final Class sourceClass, final Class destinationClass,
+            final BiFunction<Class, Class, V> resolver) {
+        ConcurrentMap<Class, Object> valuesForSource = _values.get(sourceClass);
+
+        if (valuesForSource == null) {
+            valuesForSource = new ConcurrentHashMap<>();
+
+            ConcurrentMap<Class, Object> previous
+                    = _values.putIfAbsent(sourceClass, valuesForSource);
+
+            if (previous != null) {
+                valuesForSource = previous;
+            }
+        }
+
+        Object value = valuesForSource.get(destinationClass);
+
+        if (value == null) {
+            V resolvedValue = resolver.apply(sourceClass, destinationClass);
+            value = (resolvedValue == null) ? NULL_VALUE : resolvedValue;
+
+            Object previous = valuesForSource.putIfAbsent(destinationClass, value);
+
+            if (previous != null) {
+                value = previous;
+            } else if (_size.incrementAndGet() > _maximumSize) {
+                evictOtherThan(sourceClass, destinationClass);
+            }
+        }
+
+        return (value == NULL_VALUE) ? null : (V) value;
+    }
+
+    private void evictOtherThan(final Class sourceClass, final Class destinationClass) {
+        for (Map.Entry<Class, ConcurrentMap<Class, Object>> i : _values.entrySet()) {
+            for (Class j : i.getValue().keySet()) {
+                if (i.getKey() == sourceClass && j == destinationClass) {
+                    continue;
+                }
+
+                if (i.getValue().remove(j) != null) {
+                    _size.decrementAndGet();
+
+                    return;
+                }
+            }
+        }
+    }
+}
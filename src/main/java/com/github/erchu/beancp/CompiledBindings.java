@@ -0,0 +1,36 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+/**
+ * List of {@link Binding}s compiled to single generated class.
+ *
+ * @see BindingsCompiler
+ */
+interface CompiledBindings {
+
+    /**
+     * Executes all bindings in order.
+     *
+     * @param mapper caller.
+     * @param source source object.
+     * @param destination destination object.
+     * @throws MappingException when copy action fails.
+     */
+    void execute(Mapper mapper, Object source, Object destination) throws MappingException;
+}
@@ -0,0 +1,212 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * Mapper preserving source objects identity (see {@link Mapper#withMappingContext()}). Mapper
+ * passes itself to executed maps and converters, so nested mappings use the same
+ * {@link MappingContext}, which is cleared when top-level call ends.
+ *
+ * <p>
+ * Mapper is not thread-safe, so methods mapping on other threads (parallel and asynchronous
+ * batches, functions and collectors) use new mapper (sharing this mapper configuration) for each
+ * chunk, thread or collector container.
+ * </p>
+ */
+final class ContextualMapper implements Mapper {
+
+    private final MapperImpl _mapper;
+
+    private final MappingContext _context = new MappingContext();
+
+    private int _depth;
+
+    ContextualMapper(final MapperImpl mapper) {
+        _mapper = mapper;
+    }
+
+    @Override
+    public <S, D> void map(final S source, final D destination) throws MappingException {
+        _depth++;
+
+        try {
+            _mapper.map(this, _context, source, destination);
+        } finally {
+            leave();
+        }
+    }
+
+    @Override
+    public <S, D> boolean mapIfMapperAvailable(final S source, final D destination)
+            throws MappingException {
+        _depth++;
+
+        try {
+            return _mapper.mapIfMapperAvailable(this, _context, source, destination);
+        } finally {
+            leave();
+        }
+    }
+
+    @Override
+    public <S, D> D map(final S source, final Class<D> destinationClass)
+            throws MappingException {
+        _depth++;
+
+        try {
+            return _mapper.map(this, _context, source, destinationClass);
+        } finally {
+            leave();
+        }
+    }
+
+    @Override
+    public <S, D> Optional<D> mapIfMapperAvailable(final S source,
+            final Class<D> destinationClass) throws MappingException {
+        _depth++;
+
+        try {
+            return _mapper.mapIfMapperAvailable(this, _context, source, destinationClass);
+        } finally {
+            leave();
+        }
+    }
+
+    @Override
+    public <S, D> TypedMapper<S, D> forPair(final Class<S> sourceClass,
+            final Class<D> destinationClass) throws MappingException {
+        notNull(sourceClass, "sourceClass");
+        notNull(destinationClass, "destinationClass");
+
+        // resolved once, handle only tracks top-level calls
+        TypedMapper<S, D> resolved = _mapper.createTypedMapper(
+                this, _context, sourceClass, destinationClass);
+
+        if (resolved == null) {
+            throw new MappingException(
+                    String.format("No suitable converter or map found to map from %s to %s.",
+                            sourceClass, destinationClass));
+        }
+
+        return new TypedMapperImpl<>(sourceClass, destinationClass,
+                source -> {
+                    _depth++;
+
+                    try {
+                        return resolved.map(source);
+                    } finally {
+                        leave();
+                    }
+                },
+                (source, destination) -> {
+                    _depth++;
+
+                    try {
+                        resolved.map(source, destination);
+                    } finally {
+                        leave();
+                    }
+                });
+    }
+
+    @Override
+    public Mapper withMappingContext() {
+        return this;
+    }
+
+    @Override
+    public <S, D> List<D> mapAllInParallel(final List<? extends S> sources,
+            final Class<D> destinationClass, final ExecutorService executor,
+            final int sequentialThreshold) throws MappingException {
+        notNull(sources, "sources");
+        notNull(destinationClass, "destinationClass");
+        notNull(executor, "executor");
+        isTrue(sequentialThreshold > 0, "sequentialThreshold must be greater than zero");
+
+        return ParallelBatchMapping.mapAll(
+                this::newMapper, sources, destinationClass, executor, sequentialThreshold);
+    }
+
+    @Override
+    public <S, D> CompletableFuture<List<D>> mapAllAsync(final List<? extends S> sources,
+            final Class<D> destinationClass, final Executor executor) {
+        notNull(sources, "sources");
+        notNull(destinationClass, "destinationClass");
+        notNull(executor, "executor");
+
+        return ParallelBatchMapping.mapAllAsync(this::newMapper, sources, destinationClass,
+                executor, ParallelBatchMapping.DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    @Override
+    public <S, D> Function<S, D> asFunction(final Class<D> destinationClass) {
+        notNull(destinationClass, "destinationClass");
+
+        ThreadLocal<Function<S, D>> functions = ThreadLocal.withInitial(
+                () -> new MappingFunction<>(newMapper(), destinationClass));
+
+        return source -> functions.get().apply(source);
+    }
+
+    @Override
+    public <S, D, C extends Collection<D>> Collector<S, ?, C> toCollection(
+            final Class<D> destinationClass, final Supplier<C> collectionFactory) {
+        notNull(destinationClass, "destinationClass");
+        notNull(collectionFactory, "collectionFactory");
+
+        return MappingCollector.toCollection(this::newMapper, destinationClass, collectionFactory);
+    }
+
+    @Override
+    public boolean isConverterAvailable(final Class sourceClass, final Class destinationClass) {
+        return _mapper.isConverterAvailable(sourceClass, destinationClass);
+    }
+
+    @Override
+    public boolean isMapAvailable(final Class sourceClass, final Class destinationClass) {
+        return _mapper.isMapAvailable(sourceClass, destinationClass);
+    }
+
+    @Override
+    public Converter<?, ?> getConverter(final Class sourceClass, final Class destinationClass) {
+        return _mapper.getConverter(sourceClass, destinationClass);
+    }
+
+    private ContextualMapper newMapper() {
+        return new ContextualMapper(_mapper);
+    }
+
+    private void leave() {
+        _depth--;
+
+        if (_depth == 0) {
+            _context.clear();
+        }
+    }
+}
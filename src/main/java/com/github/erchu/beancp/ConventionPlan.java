@@ -0,0 +1,93 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bindings returned by convention for class pair. When plan is executed for the first time
+ * bindings are compiled (see {@link BindingsCompiler}), until then or when compilation is not
+ * possible bindings are executed one by one.
+ */
+final class ConventionPlan {
+
+    private final List<Binding> _bindings;
+
+    private final CompiledBindings _interpreted;
+
+    private final AtomicReference<CompiledBindings> _compiled = new AtomicReference<>();
+
+    /**
+     * Creates plan.
+     *
+     * @param bindings bindings to execute.
+     */
+    ConventionPlan(final List<Binding> bindings) {
+        _bindings = bindings;
+        _interpreted = (mapper, source, destination) -> {
+            for (Binding i : bindings) {
+                i.execute(mapper, source, destination);
+            }
+        };
+    }
+
+    /**
+     * Returns {@code true} if there are no bindings, otherwise {@code false}.
+     *
+     * @return {@code true} if there are no bindings, otherwise {@code false}.
+     */
+    boolean isEmpty() {
+        return _bindings.isEmpty();
+    }
+
+    /**
+     * Returns {@code true} if bindings are compiled to generated class, otherwise {@code false}.
+     *
+     * @return {@code true} if bindings are compiled to generated class, otherwise {@code false}.
+     */
+    boolean isCompiled() {
+        return _compiled.get() instanceof BindingsCompiler.GeneratedBindings;
+    }
+
+    /**
+     * Executes all bindings.
+     *
+     * @param mapper caller.
+     * @param source source object.
+     * @param destination destination object.
+     */
+    void execute(final Mapper mapper, final Object source, final Object destination) {
+        CompiledBindings compiled = _compiled.get();
+
+        if (compiled == null) {
+            // only one thread compiles, others execute bindings one by one in the meantime
+            if (_compiled.compareAndSet(null, _interpreted)) {
+                CompiledBindings result = BindingsCompiler.compile(_bindings);
+
+                if (result != null) {
+                    _compiled.set(result);
+                }
+            }
+
+            compiled = _compiled.get();
+        }
+
+        compiled.execute(mapper, source, destination);
+    }
+}
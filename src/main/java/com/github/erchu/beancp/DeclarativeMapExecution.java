@@ -0,0 +1,195 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * Implementation of {@link DeclarativeMap} interface used to execute map. Instance is created for
+ * single map call and holds its execution state (mapper, source and destination object), so it is
+ * never shared between threads.
+ *
+ * @param <S> source class
+ * @param <D> destination class
+ */
+final class DeclarativeMapExecution<S, D> implements DeclarativeMap<S, D> {
+
+    private final Mapper _mapper;
+
+    private final S _source;
+
+    private final D _destination;
+
+    private final MapConventionExecutor _mapConvention;
+
+    /**
+     * Creates execution context.
+     *
+     * @param mapper mapper executing map.
+     * @param source source object.
+     * @param destination destination object.
+     * @param mapConvention convention built in configuration phase, null if not used.
+     */
+    DeclarativeMapExecution(final Mapper mapper, final S source, final D destination,
+            final MapConventionExecutor mapConvention) {
+        _mapper = mapper;
+        _source = source;
+        _destination = destination;
+        _mapConvention = mapConvention;
+    }
+
+    @Override
+    public <T> DeclarativeMap<S, D> bind(
+            final Supplier<T> fromFunction,
+            final Consumer<T> toMember,
+            final BindingOption<S, D, T>... options) {
+        notNull(fromFunction, "fromFunction");
+        notNull(toMember, "toMember");
+
+        if (shouldBeMapped(options)) {
+            T getValue = fromFunction.get();
+
+            if (getValue == null) {
+                for (BindingOption<S, D, T> i : options) {
+                    if (i.getNullSubstitution() != null) {
+                        getValue = i.getNullSubstitution();
+                        break;
+                    }
+                }
+            }
+
+            toMember.accept(getValue);
+        }
+
+        return this;
+    }
+
+    @Override
+    public <T> DeclarativeMap<S, D> bindConstant(
+            final T constantValue,
+            final Consumer<T> toMember,
+            final BindingOption<S, D, T>... options) {
+        notNull(toMember, "toMember");
+
+        if (shouldBeMapped(options)) {
+            toMember.accept(constantValue);
+        }
+
+        return this;
+    }
+
+    @Override
+    public <SI, DI> DeclarativeMap<S, D> mapInner(final Supplier<SI> supplierFunction,
+            final Consumer<DI> toMember,
+            final Class<DI> toMemberClass,
+            final BindingOption<S, D, DI>... options) {
+        return mapInner(supplierFunction, toMember, null, toMemberClass, options);
+    }
+
+    @Override
+    public <SI, DI> DeclarativeMap<S, D> mapInner(final Supplier<SI> supplierFunction,
+            final Consumer<DI> toMember,
+            final Supplier<DI> toMemberGetter,
+            final Class<DI> toMemberClass,
+            final BindingOption<S, D, DI>... options) {
+        notNull(supplierFunction, "supplierFunction");
+        notNull(toMember, "toMember");
+
+        SI currentSourceValue = supplierFunction.get();
+
+        if (currentSourceValue == null) {
+            toMember.accept(null);
+        } else {
+            DI currentDestinationMemberValue;
+
+            if (toMemberGetter == null) {
+                currentDestinationMemberValue = null;
+            } else {
+                currentDestinationMemberValue = toMemberGetter.get();
+            }
+
+            if (currentDestinationMemberValue == null) {
+                DI mapResult = _mapper.map(currentSourceValue, toMemberClass);
+                toMember.accept(mapResult);
+            } else {
+                _mapper.map(currentSourceValue, currentDestinationMemberValue);
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public DeclarativeMap<S, D> useConvention(final MapConvention mapConvention) {
+        notNull(mapConvention, "mapConvention");
+
+        // use convention built in configuration phase
+        _mapConvention.map(_mapper, _source, _destination);
+
+        return this;
+    }
+
+    @Override
+    public DeclarativeMap<S, D> beforeMap(final Action action) {
+        action.invoke();
+
+        return this;
+    }
+
+    @Override
+    public DeclarativeMap<S, D> beforeMap(final Consumer<Mapper> action) {
+        action.accept(_mapper);
+
+        return this;
+    }
+
+    @Override
+    public DeclarativeMap<S, D> afterMap(final Action action) {
+        action.invoke();
+
+        return this;
+    }
+
+    @Override
+    public DeclarativeMap<S, D> afterMap(final Consumer<Mapper> action) {
+        action.accept(_mapper);
+
+        return this;
+    }
+
+    @Override
+    public DeclarativeMap<S, D> constructDestinationObjectUsing(
+            final Supplier<D> destinationObjectBuilder) {
+        notNull(destinationObjectBuilder, "destinationObjectBuilder");
+
+        // destination object builder was captured in configuration phase
+        return this;
+    }
+
+    private <T> boolean shouldBeMapped(final BindingOption<S, D, T>[] options) {
+        for (BindingOption<S, D, T> i : options) {
+            if (i.getMapWhenCondition() != null && i.getMapWhenCondition().get() == false) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -22,12 +22,13 @@ import java.util.function.Supplier;
 import static org.apache.commons.lang3.Validate.*;
 
 /**
- * Default implementation of {@link DeclarativeMap} interface.
+ * Default implementation of {@link DeclarativeMap} interface used in configuration phase. Map is
+ * executed using {@link DeclarativeMapExecution} created for each call.
  *
  * @param <S> source class
  * @param <D> destination class
  */
-final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExecutor<S, D> {
+final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MapExecutor<S, D> {
 
     private static enum MapMode {
 
@@ -58,14 +59,8 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
 
     private boolean _afterMapExecuted;
 
-    private Mapper _executionPhaseMapper;
-
     private MapConventionExecutor _executionPhaseMapConvention;
 
-    private final ThreadLocal<S> _executionPhaseSourceReference = new ThreadLocal<>();
-
-    private final ThreadLocal<D> _executionPhaseDestinationReference = new ThreadLocal<>();
-
     private MappingInfo _configurationPhaseMappingsInfo;
 
     public DeclarativeMapImpl(final Class<S> sourceClass, final Class<D> destinationClass,
@@ -83,32 +78,13 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
         notNull(fromFunction, "fromFunction");
         notNull(toMember, "toMember");
 
-        if (mode == MapMode.CONFIGURATION) {
-            if (_afterMapExecuted) {
-                throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
-            }
+        validateConfigurationPhase();
 
-            _bindBindConstantOrMapExecuted = true;
+        if (_afterMapExecuted) {
+            throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
         }
 
-        if (mode == MapMode.EXECUTION) {
-            boolean map = shouldBeMapped(options);
-
-            if (map) {
-                T getValue = fromFunction.get();
-
-                if (getValue == null) {
-                    for (BindingOption<S, D, T> i : options) {
-                        if (i.getNullSubstitution() != null) {
-                            getValue = i.getNullSubstitution();
-                            break;
-                        }
-                    }
-                }
-
-                toMember.accept(getValue);
-            }
-        }
+        _bindBindConstantOrMapExecuted = true;
 
         return this;
     }
@@ -120,28 +96,18 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
             final BindingOption<S, D, T>... options) {
         notNull(toMember, "toMember");
 
-        if (mode == MapMode.CONFIGURATION) {
-            if (_afterMapExecuted) {
-                throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
-            }
-
-            _bindBindConstantOrMapExecuted = true;
-        }
+        validateConfigurationPhase();
 
-        if (mode == MapMode.CONFIGURATION) {
-            for (BindingOption<S, D, T> i : options) {
-                if (i.getNullSubstitution() != null) {
-                    throw new MapperConfigurationException(
-                            "Null substitution option not allowed for bindConstant.");
-                }
-            }
+        if (_afterMapExecuted) {
+            throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
         }
 
-        if (mode == MapMode.EXECUTION) {
-            boolean map = shouldBeMapped(options);
+        _bindBindConstantOrMapExecuted = true;
 
-            if (map) {
-                toMember.accept(constantValue);
+        for (BindingOption<S, D, T> i : options) {
+            if (i.getNullSubstitution() != null) {
+                throw new MapperConfigurationException(
+                        "Null substitution option not allowed for bindConstant.");
             }
         }
 
@@ -165,36 +131,13 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
         notNull(supplierFunction, "supplierFunction");
         notNull(toMember, "toMember");
 
-        if (mode == MapMode.CONFIGURATION) {
-            if (_afterMapExecuted) {
-                throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
-            }
+        validateConfigurationPhase();
 
-            _bindBindConstantOrMapExecuted = true;
+        if (_afterMapExecuted) {
+            throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
         }
 
-        if (mode == MapMode.EXECUTION) {
-            SI currentSourceValue = supplierFunction.get();
-
-            if (currentSourceValue == null) {
-                toMember.accept(null);
-            } else {
-                DI currentDestinationMemberValue;
-
-                if (toMemberGetter == null) {
-                    currentDestinationMemberValue = null;
-                } else {
-                    currentDestinationMemberValue = toMemberGetter.get();
-                }
-
-                if (currentDestinationMemberValue == null) {
-                    DI mapResult = _executionPhaseMapper.map(currentSourceValue, toMemberClass);
-                    toMember.accept(mapResult);
-                } else {
-                    _executionPhaseMapper.map(currentSourceValue, currentDestinationMemberValue);
-                }
-            }
-        }
+        _bindBindConstantOrMapExecuted = true;
 
         return this;
     }
@@ -203,31 +146,24 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
     public DeclarativeMapImpl<S, D> useConvention(final MapConvention mapConvention) {
         notNull(mapConvention, "mapConvention");
 
-        MapConventionExecutor conventionExecutor = new MapConventionExecutor(mapConvention);
-
-        if (mode == MapMode.CONFIGURATION) {
-            if (_useConventionExecuted) {
-                throw new MapperConfigurationException("useConventionExecuted() cannot be called "
-                        + "more than once.");
-            }
-
-            if (_bindBindConstantOrMapExecuted || _afterMapExecuted) {
-                throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
-            }
-
-            // Build and cache result
-            conventionExecutor.build(_configurationPhaseMappingsInfo, _sourceClass, _destinationClass);
-            _executionPhaseMapConvention = conventionExecutor;
+        validateConfigurationPhase();
 
-            _useConventionExecuted = true;
+        if (_useConventionExecuted) {
+            throw new MapperConfigurationException("useConventionExecuted() cannot be called "
+                    + "more than once.");
         }
 
-        if (mode == MapMode.EXECUTION) {
-            // use cached convention
-            _executionPhaseMapConvention.map(_executionPhaseMapper,
-                    _executionPhaseSourceReference.get(), _executionPhaseDestinationReference.get());
+        if (_bindBindConstantOrMapExecuted || _afterMapExecuted) {
+            throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
         }
 
+        // Build and cache result
+        MapConventionExecutor conventionExecutor = new MapConventionExecutor(mapConvention);
+        conventionExecutor.build(_configurationPhaseMappingsInfo, _sourceClass, _destinationClass);
+        _executionPhaseMapConvention = conventionExecutor;
+
+        _useConventionExecuted = true;
+
         return this;
     }
 
@@ -238,17 +174,13 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
 
     @Override
     public DeclarativeMap<S, D> beforeMap(final Consumer<Mapper> action) {
-        if (mode == MapMode.CONFIGURATION) {
-            if (_useConventionExecuted || _bindBindConstantOrMapExecuted || _afterMapExecuted) {
-                throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
-            }
+        validateConfigurationPhase();
 
-            _beforeMapExecuted = true;
+        if (_useConventionExecuted || _bindBindConstantOrMapExecuted || _afterMapExecuted) {
+            throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
         }
 
-        if (mode == MapMode.EXECUTION) {
-            action.accept(_executionPhaseMapper);
-        }
+        _beforeMapExecuted = true;
 
         return this;
     }
@@ -260,13 +192,9 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
 
     @Override
     public DeclarativeMap<S, D> afterMap(final Consumer<Mapper> action) {
-        if (mode == MapMode.CONFIGURATION) {
-            _afterMapExecuted = true;
-        }
+        validateConfigurationPhase();
 
-        if (mode == MapMode.EXECUTION) {
-            action.accept(_executionPhaseMapper);
-        }
+        _afterMapExecuted = true;
 
         return this;
     }
@@ -276,20 +204,20 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
             final Supplier<D> destinationObjectBuilder) {
         notNull(destinationObjectBuilder, "destinationObjectBuilder");
 
-        if (mode == MapMode.CONFIGURATION) {
-            if (_beforeMapExecuted || _useConventionExecuted || _bindBindConstantOrMapExecuted
-                    || _afterMapExecuted) {
-                throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
-            }
+        validateConfigurationPhase();
 
-            if (_constructDestinationObjectUsingExecuted) {
-                throw new MapperConfigurationException("constructDestinationObjectUsing() cannot "
-                        + "be called more than once.");
-            }
+        if (_beforeMapExecuted || _useConventionExecuted || _bindBindConstantOrMapExecuted
+                || _afterMapExecuted) {
+            throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
+        }
 
-            _constructDestinationObjectUsingExecuted = true;
+        if (_constructDestinationObjectUsingExecuted) {
+            throw new MapperConfigurationException("constructDestinationObjectUsing() cannot "
+                    + "be called more than once.");
         }
 
+        _constructDestinationObjectUsingExecuted = true;
+
         setDestinationObjectBuilder(destinationObjectBuilder);
 
         return this;
@@ -319,23 +247,19 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
         mode = MapMode.EXECUTION;
     }
 
-    void execute(final Mapper caller, final S source, final D destination) {
+    @Override
+    public void execute(final Mapper caller, final S source, final D destination) {
         if (mode != MapMode.EXECUTION) {
             throw new IllegalStateException(
                     "Map is not configured. Use configure() first.");
         }
 
-        _executionPhaseMapper = caller;
-
-        try {
-            _executionPhaseSourceReference.set(source);
-            _executionPhaseDestinationReference.set(destination);
+        // Execution state is kept by context object created for this call only, so map may be
+        // executed concurrently without any locks or thread local variables.
+        DeclarativeMapExecution<S, D> context = new DeclarativeMapExecution<>(
+                caller, source, destination, _executionPhaseMapConvention);
 
-            _configuration.apply(this, source, destination);
-        } finally {
-            _executionPhaseSourceReference.set(null);
-            _executionPhaseDestinationReference.set(null);
-        }
+        _configuration.apply(context, source, destination);
     }
 
     @Override
@@ -348,7 +272,8 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
         return _destinationClass;
     }
 
-    Supplier<D> getDestinationObjectBuilder() {
+    @Override
+    public Supplier<D> getDestinationObjectBuilder() {
         return _destinationObjectBuilder;
     }
 
@@ -358,16 +283,10 @@ final class DeclarativeMapImpl<S, D> implements DeclarativeMap<S, D>, MappingExe
         _destinationObjectBuilder = destinationObjectBuilder;
     }
 
-    private <T> boolean shouldBeMapped(final BindingOption<S, D, T>[] options) {
-        boolean map = true;
-
-        for (BindingOption<S, D, T> i : options) {
-            if (i.getMapWhenCondition() != null && i.getMapWhenCondition().get() == false) {
-                map = false;
-                break;
-            }
+    private void validateConfigurationPhase() {
+        if (mode != MapMode.CONFIGURATION) {
+            throw new IllegalStateException(
+                    "Map configuration may be changed only in configuration lambda.");
         }
-
-        return map;
     }
 }
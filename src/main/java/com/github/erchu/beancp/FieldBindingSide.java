@@ -18,6 +18,7 @@
 package com.github.erchu.beancp;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Type;
 
 /**
  * Binding to field.
@@ -26,6 +27,10 @@ public final class FieldBindingSide implements BindingSide {
 
     private final Field _field;
 
+    private final MemberGetter _getter;
+
+    private final MemberSetter _setter;
+
     /**
      * Creates binding to field from field reference.
      *
@@ -33,14 +38,19 @@ public final class FieldBindingSide implements BindingSide {
      */
     public FieldBindingSide(final Field field) {
         this._field = field;
+        this._getter = MemberAccessors.getter(field);
+        this._setter = MemberAccessors.setter(field);
     }
 
     @Override
     @SuppressWarnings({ "TooBroadCatch", "UseSpecificCatch" })
     public Object getValue(final Object object) {
         try {
-            return _field.get(object);
-        } catch (Exception ex) {
+            return _getter.get(object);
+        } catch (Error ex) {
+            // virtual machine errors (for example stack overflow) are not mapping failures
+            throw ex;
+        } catch (Throwable ex) {
             throw new MappingException(String.format("Failed to get value from %s", _field), ex);
         }
     }
@@ -49,8 +59,11 @@ public final class FieldBindingSide implements BindingSide {
     @SuppressWarnings({ "TooBroadCatch", "UseSpecificCatch" })
     public void setValue(final Object object, final Object value) {
         try {
-            _field.set(object, value);
-        } catch (Exception ex) {
+            _setter.set(object, value);
+        } catch (Error ex) {
+            // virtual machine errors (for example stack overflow) are not mapping failures
+            throw ex;
+        } catch (Throwable ex) {
             throw new MappingException(String.format("Failed to get value from %s", _field), ex);
         }
     }
@@ -65,6 +78,11 @@ public final class FieldBindingSide implements BindingSide {
         return _field.getType();
     }
 
+    @Override
+    public Type getValueType() {
+        return _field.getGenericType();
+    }
+
     @Override
     public String getName() {
         return _field.getName();
@@ -80,6 +98,15 @@ public final class FieldBindingSide implements BindingSide {
         return true;
     }
 
+    /**
+     * Returns field.
+     *
+     * @return field.
+     */
+    Field getField() {
+        return _field;
+    }
+
     @Override
     public int hashCode() {
         return _field.hashCode();
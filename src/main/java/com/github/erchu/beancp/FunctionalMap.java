@@ -0,0 +1,166 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Defines mapping between source and destination class using functions taking source or
+ * destination object as parameter (ex. {@code Source::getX} and {@code Destination::setX}).
+ *
+ * <p>
+ * Unlike {@link DeclarativeMap} configuration is captured only once, when map is added to
+ * {@link MapperBuilder}, so mapping does not re-run setup lambda. For the same reason there are no
+ * constraints on source and destination classes.
+ * </p>
+ *
+ * Interface methods must be executed in the following order:
+ *
+ * <ol>
+ * <li>{@link #constructDestinationObjectUsing(java.util.function.Supplier)} zero or one time</li>
+ * <li>{@link #beforeMap(com.github.erchu.beancp.MapAction)} zero or many times</li>
+ * <li>{@link #useConvention(com.github.erchu.beancp.MapConvention) } zero or one time</li>
+ * <li>{@link #bind(java.util.function.Function, java.util.function.BiConsumer)},
+ * {@link #bind(java.util.function.Function, java.util.function.BiConsumer, java.lang.Object)},
+ * {@link #bindConstant(java.lang.Object, java.util.function.BiConsumer)},
+ * {@link #mapInner(java.util.function.Function, java.util.function.BiConsumer, java.lang.Class)}
+ * and
+ * {@link #mapInner(java.util.function.Function, java.util.function.BiConsumer, java.util.function.Function, java.lang.Class)}
+ * methods zero or many times in any order</li>
+ * <li>{@link #afterMap(com.github.erchu.beancp.MapAction)} zero or many times</li>
+ * </ol>
+ *
+ * @param <S> source class
+ * @param <D> destination class
+ */
+public interface FunctionalMap<S, D> {
+
+    /**
+     * Operation used to build destination object. Must be thread-safe.
+     *
+     * @param destinationObjectBuilder destination object builder, must be thread-safe.
+     * @return this (for method chaining)
+     */
+    FunctionalMap<S, D> constructDestinationObjectUsing(final Supplier<D> destinationObjectBuilder);
+
+    /**
+     * Action to be performed before declared mappings. Must be thread-safe.
+     *
+     * @param action action to be executed before mappings, must be thread-safe.
+     *
+     * @return this (for method chaining)
+     */
+    FunctionalMap<S, D> beforeMap(final MapAction<S, D> action);
+
+    /**
+     * Adds mappings using convention. Convention mappings are performed before other mappings.
+     *
+     * @param mapConvention convention to use. Must be thread-safe.
+     *
+     * @return this (for method chaining)
+     */
+    FunctionalMap<S, D> useConvention(final MapConvention mapConvention);
+
+    /**
+     * Adds calculated member binding to destination member. Must be thread-safe.
+     *
+     * @param <T> value data type
+     * @param fromFunction calculated member function, must be thread-safe.
+     * @param toMember destination class member setter, must be thread-safe.
+     *
+     * @return this (for method chaining)
+     */
+    <T> FunctionalMap<S, D> bind(
+            final Function<S, T> fromFunction,
+            final BiConsumer<D, T> toMember);
+
+    /**
+     * Adds calculated member binding to destination member. If {@code fromFunction} returns null
+     * then {@code nullSubstitution} is set. Must be thread-safe.
+     *
+     * @param <T> value data type
+     * @param fromFunction calculated member function, must be thread-safe.
+     * @param toMember destination class member setter, must be thread-safe.
+     * @param nullSubstitution null substitution value.
+     *
+     * @return this (for method chaining)
+     */
+    <T> FunctionalMap<S, D> bind(
+            final Function<S, T> fromFunction,
+            final BiConsumer<D, T> toMember,
+            final T nullSubstitution);
+
+    /**
+     * Adds constant binding to destination member. Must be thread-safe.
+     *
+     * @param <T> value data type
+     * @param constantValue constant value
+     * @param toMember destination class member setter, must be thread-safe.
+     *
+     * @return this (for method chaining)
+     */
+    <T> FunctionalMap<S, D> bindConstant(
+            final T constantValue,
+            final BiConsumer<D, T> toMember);
+
+    /**
+     * Adds inner object mapping. Must be thread-safe.
+     *
+     * @param <SI> source value data type
+     * @param <DI> destination value data type
+     * @param fromFunction calculated member function, must be thread-safe.
+     * @param toMember destination class member setter, must be thread-safe.
+     * @param toMemberClass destination class member type
+     *
+     * @return this (for method chaining)
+     */
+    <SI, DI> FunctionalMap<S, D> mapInner(
+            final Function<S, SI> fromFunction,
+            final BiConsumer<D, DI> toMember,
+            final Class<DI> toMemberClass);
+
+    /**
+     * Adds inner object mapping. If destination member is not null then source value is mapped to
+     * existing object. Must be thread-safe.
+     *
+     * @param <SI> source value data type
+     * @param <DI> destination value data type
+     * @param fromFunction calculated member function, must be thread-safe.
+     * @param toMember destination class member setter, must be thread-safe.
+     * @param toMemberGetter destination class member getter, must be thread-safe.
+     * @param toMemberClass destination class member type
+     *
+     * @return this (for method chaining)
+     */
+    <SI, DI> FunctionalMap<S, D> mapInner(
+            final Function<S, SI> fromFunction,
+            final BiConsumer<D, DI> toMember,
+            final Function<D, DI> toMemberGetter,
+            final Class<DI> toMemberClass);
+
+    /**
+     * Action to be performed after declared mappings. Must be thread-safe.
+     *
+     * @param action action to be executed after mappings, must be thread-safe.
+     *
+     * @return this (for method chaining)
+     */
+    FunctionalMap<S, D> afterMap(final MapAction<S, D> action);
+}
@@ -0,0 +1,290 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * Default implementation of {@link FunctionalMap} interface. Configuration is captured once into
+ * immutable list of steps, which are executed on each mapping.
+ *
+ * @param <S> source class
+ * @param <D> destination class
+ */
+final class FunctionalMapImpl<S, D> implements FunctionalMap<S, D>, MapExecutor<S, D> {
+
+    private static final String INVALID_STATEMENT_ORDER_MESSAGE = "Invalid statement order. Check "
+            + FunctionalMap.class.getSimpleName() + " interface API documentation for details.";
+
+    private final Class<S> _sourceClass;
+
+    private final Class<D> _destinationClass;
+
+    private final FunctionalMapSetup<S, D> _configuration;
+
+    private Supplier<D> _destinationObjectBuilder;
+
+    private MapAction<S, D>[] _steps;
+
+    private List<MapAction<S, D>> _configurationPhaseSteps;
+
+    private MappingInfo _configurationPhaseMappingsInfo;
+
+    private boolean _constructDestinationObjectUsingExecuted;
+
+    private boolean _beforeMapExecuted;
+
+    private boolean _useConventionExecuted;
+
+    private boolean _bindBindConstantOrMapExecuted;
+
+    private boolean _afterMapExecuted;
+
+    public FunctionalMapImpl(final Class<S> sourceClass, final Class<D> destinationClass,
+            final FunctionalMapSetup<S, D> configuration) {
+        _configuration = configuration;
+        _sourceClass = sourceClass;
+        _destinationClass = destinationClass;
+    }
+
+    @Override
+    public FunctionalMap<S, D> constructDestinationObjectUsing(
+            final Supplier<D> destinationObjectBuilder) {
+        notNull(destinationObjectBuilder, "destinationObjectBuilder");
+        validateConfigurationPhase();
+
+        if (_beforeMapExecuted || _useConventionExecuted || _bindBindConstantOrMapExecuted
+                || _afterMapExecuted) {
+            throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
+        }
+
+        if (_constructDestinationObjectUsingExecuted) {
+            throw new MapperConfigurationException("constructDestinationObjectUsing() cannot "
+                    + "be called more than once.");
+        }
+
+        _constructDestinationObjectUsingExecuted = true;
+        _destinationObjectBuilder = destinationObjectBuilder;
+
+        return this;
+    }
+
+    @Override
+    public FunctionalMap<S, D> beforeMap(final MapAction<S, D> action) {
+        notNull(action, "action");
+        validateConfigurationPhase();
+
+        if (_useConventionExecuted || _bindBindConstantOrMapExecuted || _afterMapExecuted) {
+            throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
+        }
+
+        _beforeMapExecuted = true;
+        _configurationPhaseSteps.add(action);
+
+        return this;
+    }
+
+    @Override
+    public FunctionalMap<S, D> useConvention(final MapConvention mapConvention) {
+        notNull(mapConvention, "mapConvention");
+        validateConfigurationPhase();
+
+        if (_useConventionExecuted) {
+            throw new MapperConfigurationException("useConvention() cannot be called "
+                    + "more than once.");
+        }
+
+        if (_bindBindConstantOrMapExecuted || _afterMapExecuted) {
+            throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
+        }
+
+        MapConventionExecutor conventionExecutor = new MapConventionExecutor(mapConvention);
+        conventionExecutor.build(_configurationPhaseMappingsInfo, _sourceClass, _destinationClass);
+
+        _useConventionExecuted = true;
+        _configurationPhaseSteps.add(conventionExecutor::map);
+
+        return this;
+    }
+
+    @Override
+    public <T> FunctionalMap<S, D> bind(
+            final Function<S, T> fromFunction,
+            final BiConsumer<D, T> toMember) {
+        notNull(fromFunction, "fromFunction");
+        notNull(toMember, "toMember");
+
+        return addBindBindConstantOrMapStep((mapper, source, destination)
+                -> toMember.accept(destination, fromFunction.apply(source)));
+    }
+
+    @Override
+    public <T> FunctionalMap<S, D> bind(
+            final Function<S, T> fromFunction,
+            final BiConsumer<D, T> toMember,
+            final T nullSubstitution) {
+        notNull(fromFunction, "fromFunction");
+        notNull(toMember, "toMember");
+
+        return addBindBindConstantOrMapStep((mapper, source, destination) -> {
+            T value = fromFunction.apply(source);
+
+            toMember.accept(destination, (value == null) ? nullSubstitution : value);
+        });
+    }
+
+    @Override
+    public <T> FunctionalMap<S, D> bindConstant(
+            final T constantValue,
+            final BiConsumer<D, T> toMember) {
+        notNull(toMember, "toMember");
+
+        return addBindBindConstantOrMapStep((mapper, source, destination)
+                -> toMember.accept(destination, constantValue));
+    }
+
+    @Override
+    public <SI, DI> FunctionalMap<S, D> mapInner(
+            final Function<S, SI> fromFunction,
+            final BiConsumer<D, DI> toMember,
+            final Class<DI> toMemberClass) {
+        notNull(fromFunction, "fromFunction");
+        notNull(toMember, "toMember");
+        notNull(toMemberClass, "toMemberClass");
+
+        return addBindBindConstantOrMapStep((mapper, source, destination) -> {
+            SI currentSourceValue = fromFunction.apply(source);
+
+            if (currentSourceValue == null) {
+                toMember.accept(destination, null);
+            } else {
+                toMember.accept(destination, mapper.map(currentSourceValue, toMemberClass));
+            }
+        });
+    }
+
+    @Override
+    public <SI, DI> FunctionalMap<S, D> mapInner(
+            final Function<S, SI> fromFunction,
+            final BiConsumer<D, DI> toMember,
+            final Function<D, DI> toMemberGetter,
+            final Class<DI> toMemberClass) {
+        notNull(fromFunction, "fromFunction");
+        notNull(toMember, "toMember");
+        notNull(toMemberGetter, "toMemberGetter");
+        notNull(toMemberClass, "toMemberClass");
+
+        return addBindBindConstantOrMapStep((mapper, source, destination) -> {
+            SI currentSourceValue = fromFunction.apply(source);
+
+            if (currentSourceValue == null) {
+                toMember.accept(destination, null);
+            } else {
+                DI currentDestinationMemberValue = toMemberGetter.apply(destination);
+
+                if (currentDestinationMemberValue == null) {
+                    toMember.accept(destination, mapper.map(currentSourceValue, toMemberClass));
+                } else {
+                    mapper.map(currentSourceValue, currentDestinationMemberValue);
+                }
+            }
+        });
+    }
+
+    @Override
+    public FunctionalMap<S, D> afterMap(final MapAction<S, D> action) {
+        notNull(action, "action");
+        validateConfigurationPhase();
+
+        _afterMapExecuted = true;
+        _configurationPhaseSteps.add(action);
+
+        return this;
+    }
+
+    void configure(final MappingInfo configurationPhaseMappingsInfo) {
+        if (_steps != null) {
+            throw new IllegalStateException("Map was already configured.");
+        }
+
+        _configurationPhaseMappingsInfo = configurationPhaseMappingsInfo;
+        _configurationPhaseSteps = new ArrayList<>();
+
+        try {
+            _configuration.apply(this);
+
+            _steps = _configurationPhaseSteps.toArray(new MapAction[0]);
+        } finally {
+            // release references
+            _configurationPhaseMappingsInfo = null;
+            _configurationPhaseSteps = null;
+        }
+    }
+
+    @Override
+    public void execute(final Mapper caller, final S source, final D destination) {
+        if (_steps == null) {
+            throw new IllegalStateException(
+                    "Map is not configured. Use configure() first.");
+        }
+
+        for (MapAction<S, D> i : _steps) {
+            i.invoke(caller, source, destination);
+        }
+    }
+
+    @Override
+    public Class<S> getSourceClass() {
+        return _sourceClass;
+    }
+
+    @Override
+    public Class<D> getDestinationClass() {
+        return _destinationClass;
+    }
+
+    @Override
+    public Supplier<D> getDestinationObjectBuilder() {
+        return _destinationObjectBuilder;
+    }
+
+    private FunctionalMap<S, D> addBindBindConstantOrMapStep(final MapAction<S, D> step) {
+        validateConfigurationPhase();
+
+        if (_afterMapExecuted) {
+            throw new MapperConfigurationException(INVALID_STATEMENT_ORDER_MESSAGE);
+        }
+
+        _bindBindConstantOrMapExecuted = true;
+        _configurationPhaseSteps.add(step);
+
+        return this;
+    }
+
+    private void validateConfigurationPhase() {
+        if (_configurationPhaseSteps == null) {
+            throw new IllegalStateException(
+                    "Map configuration may be changed only in configuration lambda.");
+        }
+    }
+}
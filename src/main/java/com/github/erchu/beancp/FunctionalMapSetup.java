@@ -0,0 +1,46 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+/**
+ * Interface for lambda expression used to define {@link FunctionalMap}.
+ *
+ * Example shows how to use this interface, to bind <code>getX()</code> to <code>setA()</code>:
+ *
+ * <pre>
+ * {@code
+ * config -> config.bind(Source::getX, Destination::setA)
+ * }
+ * </pre>
+ *
+ * @param <S> mapping source
+ * @param <D> mapping destination
+ *
+ * @see MapperBuilder#addFunctionalMap(java.lang.Class, java.lang.Class, com.github.erchu.beancp.FunctionalMapSetup)
+ */
+@FunctionalInterface
+public interface FunctionalMapSetup<S, D> {
+
+    /**
+     * Defines map configuration. Method is called exactly once, when map is added to
+     * {@link MapperBuilder}.
+     *
+     * @param config configuration
+     */
+    void apply(final FunctionalMap<S, D> config);
+}
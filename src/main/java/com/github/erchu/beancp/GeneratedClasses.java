@@ -0,0 +1,417 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.security.ProtectionDomain;
+import java.util.concurrent.atomic.AtomicInteger;
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+import javassist.NotFoundException;
+
+/**
+ * Generates classes (using javassist) implementing public interfaces. Generated classes may
+ * reference only public types, because they are never defined in runtime package of this library.
+ *
+ * <p>
+ * Class generated by {@link #generate(java.lang.Class, java.lang.String[], java.lang.Class[],
+ * java.lang.String, java.lang.String...)} is defined by its own class loader (child of class loader
+ * of this library), so it is unloaded as soon as it is not used anymore. Class generated by
+ * {@link #generateNextTo(java.lang.Class, java.lang.Class, java.lang.String...)} is defined in
+ * package and class loader of passed class, so it does not keep this class loader alive. In both
+ * cases no access to JDK internals is needed. When class cannot be generated null is returned
+ * and caller should use reflection instead.
+ * </p>
+ */
+final class GeneratedClasses {
+
+    private static final ClassLoader CLASS_LOADER = GeneratedClasses.class.getClassLoader();
+
+    private static final ProtectionDomain PROTECTION_DOMAIN
+            = GeneratedClasses.class.getProtectionDomain();
+
+    private static final AtomicInteger GENERATED_CLASS_COUNTER = new AtomicInteger();
+
+    /**
+     * Wrapper classes which may be unboxed to primitive class (with widening conversion), in the
+     * same order as {@link #PRIMITIVE_CLASSES}.
+     */
+    private static final String[][] UNBOXED_WRAPPERS = {
+        { "Boolean" },
+        { "Character" },
+        { "Byte" },
+        { "Short", "Byte" },
+        { "Integer", "Short", "Byte", "Character" },
+        { "Long", "Integer", "Short", "Byte", "Character" },
+        { "Float", "Long", "Integer", "Short", "Byte", "Character" },
+        { "Double", "Float", "Long", "Integer", "Short", "Byte", "Character" }
+    };
+
+    private static final Class[] PRIMITIVE_CLASSES = {
+        boolean.class, char.class, byte.class, short.class,
+        int.class, long.class, float.class, double.class
+    };
+
+    // Java 9+ methods, looked up by reflection because this library is compiled for Java 8
+    private static final Method PRIVATE_LOOKUP_IN = getMethod(MethodHandles.class,
+            "privateLookupIn", Class.class, MethodHandles.Lookup.class);
+
+    private static final Method DEFINE_CLASS = getMethod(MethodHandles.Lookup.class,
+            "defineClass", byte[].class);
+
+    private static ClassPool _classPool;
+
+    /**
+     * Class loader defining single generated class.
+     */
+    private static final class DefiningClassLoader extends ClassLoader {
+
+        DefiningClassLoader() {
+            super(CLASS_LOADER);
+        }
+
+        Class define(final String name, final byte[] bytecode) {
+            return defineClass(name, bytecode, 0, bytecode.length, PROTECTION_DOMAIN);
+        }
+    }
+
+    private GeneratedClasses() {
+        throw new AssertionError(
+                String.format(
+                        "Creating an instance of the %s class is not allowed.",
+                        GeneratedClasses.class));
+    }
+
+    /**
+     * Returns {@code true} if class generated by {@link #generate(java.lang.Class,
+     * java.lang.String[], java.lang.Class[], java.lang.String, java.lang.String...)} may access
+     * member, its declaring class and its value class, otherwise {@code false}.
+     *
+     * @param member member (method or field).
+     * @param valueClass member value class.
+     * @return {@code true} if generated class may access member, otherwise {@code false}.
+     */
+    static boolean isAccessible(final Member member, final Class valueClass) {
+        return isPublicInstanceMember(member)
+                && isAccessible(member.getDeclaringClass(), CLASS_LOADER)
+                && isAccessible(valueClass, CLASS_LOADER);
+    }
+
+    /**
+     * Returns {@code true} if class generated by {@link #generateNextTo(java.lang.Class,
+     * java.lang.Class, java.lang.String...)} for member declaring class may access member and its
+     * value class, otherwise {@code false}.
+     *
+     * @param member member (method or field).
+     * @param valueClass member value class.
+     * @return {@code true} if generated class may access member, otherwise {@code false}.
+     */
+    static boolean isAccessibleNextTo(final Member member, final Class valueClass) {
+        ClassLoader classLoader = member.getDeclaringClass().getClassLoader();
+
+        return classLoader != null
+                && isPublicInstanceMember(member)
+                && isAccessible(member.getDeclaringClass(), classLoader)
+                && isAccessible(valueClass, classLoader);
+    }
+
+    /**
+     * Returns {@code true} if class generated by {@link #generate(java.lang.Class,
+     * java.lang.String[], java.lang.Class[], java.lang.String, java.lang.String...)} may reference
+     * passed class, otherwise {@code false}.
+     *
+     * @param ofClass class to check.
+     * @return {@code true} if generated class may reference passed class, otherwise
+     * {@code false}.
+     */
+    static boolean isAccessible(final Class ofClass) {
+        return isAccessible(ofClass, CLASS_LOADER);
+    }
+
+    /**
+     * Returns class name as used in generated source code.
+     *
+     * @param ofClass class.
+     * @return class name as used in generated source code.
+     */
+    static String getSourceName(final Class ofClass) {
+        return ofClass.isArray()
+                ? getSourceName(ofClass.getComponentType()) + "[]"
+                : ofClass.getName();
+    }
+
+    /**
+     * Returns source code expression converting {@link Object} value to passed class, so it may be
+     * assigned to member of this class. For primitive classes conversions are the same as
+     * performed by reflection (see {@link Unboxing}), they are done by methods added to generated
+     * class.
+     *
+     * @param valueClass member value class.
+     * @param valueExpression source code expression of {@link Object} type.
+     * @return source code expression of {@code valueClass} type.
+     */
+    static String getCastExpression(final Class valueClass, final String valueExpression) {
+        if (valueClass.isPrimitive()) {
+            return getUnboxingMethodName(valueClass) + "(" + valueExpression + ")";
+        } else {
+            return "(" + getSourceName(valueClass) + ") " + valueExpression;
+        }
+    }
+
+    /**
+     * Returns source code string literal.
+     *
+     * @param value string value.
+     * @return source code string literal.
+     */
+    static String getStringLiteral(final String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * Generates class implementing passed interface. Class is defined by new class loader.
+     *
+     * @param implementedInterface public interface implemented by generated class.
+     * @param fields source code of fields.
+     * @param constructorParameterTypes constructor parameter types.
+     * @param constructorBody source code of constructor body, if null then constructor does
+     * nothing.
+     * @param methods source code of methods.
+     * @return generated class or null if class cannot be generated.
+     */
+    static Class generate(final Class implementedInterface, final String[] fields,
+            final Class[] constructorParameterTypes, final String constructorBody,
+            final String... methods) {
+        String name = GeneratedClasses.class.getPackage().getName() + ".Generated"
+                + implementedInterface.getSimpleName() + GENERATED_CLASS_COUNTER.incrementAndGet();
+        byte[] bytecode = compile(null, name, implementedInterface, fields,
+                constructorParameterTypes, constructorBody, methods);
+
+        if (bytecode == null) {
+            return null;
+        }
+
+        try {
+            return new DefiningClassLoader().define(name, bytecode);
+        } catch (RuntimeException | LinkageError ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Generates class implementing passed interface, with default constructor. Class is defined in
+     * package and by class loader of passed class (neighbor).
+     *
+     * @param neighbor class next to which generated class is defined.
+     * @param implementedInterface public interface implemented by generated class.
+     * @param methods source code of methods.
+     * @return generated class or null if class cannot be generated.
+     */
+    static Class generateNextTo(final Class neighbor, final Class implementedInterface,
+            final String... methods) {
+        ClassLoader classLoader = neighbor.getClassLoader();
+
+        if (classLoader == null) {
+            return null;
+        }
+
+        String name = neighbor.getName() + "$BeanCp" + implementedInterface.getSimpleName()
+                + GENERATED_CLASS_COUNTER.incrementAndGet();
+        byte[] bytecode = compile(classLoader, name, implementedInterface, new String[0],
+                new Class[0], null, methods);
+
+        if (bytecode == null) {
+            return null;
+        }
+
+        try {
+            if (PRIVATE_LOOKUP_IN != null && DEFINE_CLASS != null) {
+                Object lookup = PRIVATE_LOOKUP_IN.invoke(null, neighbor, MethodHandles.lookup());
+
+                return (Class) DEFINE_CLASS.invoke(lookup, bytecode);
+            } else {
+                // Java 8 has no module restrictions, so class loader method may be called
+                Method defineClass = ClassLoader.class.getDeclaredMethod("defineClass",
+                        String.class, byte[].class, int.class, int.class, ProtectionDomain.class);
+                defineClass.setAccessible(true);
+
+                return (Class) defineClass.invoke(classLoader, name, bytecode, 0,
+                        bytecode.length, neighbor.getProtectionDomain());
+            }
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns bytecode of class implementing passed interface, or null if class cannot be
+     * compiled.
+     */
+    private static synchronized byte[] compile(final ClassLoader additionalClassLoader,
+            final String name, final Class implementedInterface, final String[] fields,
+            final Class[] constructorParameterTypes, final String constructorBody,
+            final String... methods) {
+        if (_classPool == null) {
+            _classPool = new ClassPool(true);
+            _classPool.appendClassPath(new LoaderClassPath(CLASS_LOADER));
+        }
+
+        ClassPool classPool = _classPool;
+
+        if (additionalClassLoader != null && additionalClassLoader != CLASS_LOADER) {
+            // child pool is discarded with generated class, so class loader is not kept
+            classPool = new ClassPool(_classPool);
+            classPool.appendClassPath(new LoaderClassPath(additionalClassLoader));
+        }
+
+        CtClass ctClass = classPool.makeClass(name);
+
+        try {
+            ctClass.addInterface(classPool.get(implementedInterface.getName()));
+
+            for (String i : fields) {
+                ctClass.addField(CtField.make(i, ctClass));
+            }
+
+            CtClass[] constructorParameterCtClasses = new CtClass[constructorParameterTypes.length];
+
+            for (int i = 0; i < constructorParameterTypes.length; i++) {
+                constructorParameterCtClasses[i]
+                        = classPool.get(getSourceName(constructorParameterTypes[i]));
+            }
+
+            ctClass.addConstructor(CtNewConstructor.make(
+                    constructorParameterCtClasses, new CtClass[0], constructorBody, ctClass));
+
+            for (int i = 0; i < PRIMITIVE_CLASSES.length; i++) {
+                if (isUsed(getUnboxingMethodName(PRIMITIVE_CLASSES[i]), methods)) {
+                    ctClass.addMethod(CtNewMethod.make(
+                            getUnboxingMethod(PRIMITIVE_CLASSES[i], UNBOXED_WRAPPERS[i]),
+                            ctClass));
+                }
+            }
+
+            for (String i : methods) {
+                ctClass.addMethod(CtNewMethod.make(i, ctClass));
+            }
+
+            return ctClass.toBytecode();
+        } catch (CannotCompileException | NotFoundException | IOException
+                | RuntimeException ex) {
+            // problem specific to generated source, caller will use reflection in this case
+            return null;
+        } finally {
+            ctClass.detach();
+        }
+    }
+
+    private static boolean isUsed(final String methodName, final String[] methods) {
+        for (String i : methods) {
+            if (i.contains(methodName + "(")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static String getUnboxingMethodName(final Class primitiveClass) {
+        String typeName = primitiveClass.getName();
+
+        return "unboxTo" + Character.toUpperCase(typeName.charAt(0)) + typeName.substring(1);
+    }
+
+    /**
+     * Returns source of method converting value as {@link Unboxing} does.
+     */
+    private static String getUnboxingMethod(final Class primitiveClass, final String[] wrappers) {
+        String typeName = primitiveClass.getName();
+        StringBuilder result = new StringBuilder();
+
+        result.append("private static ").append(typeName).append(" ")
+                .append(getUnboxingMethodName(primitiveClass)).append("(Object value) {\n");
+
+        for (String i : wrappers) {
+            String unboxedValue;
+
+            if (i.equals("Boolean")) {
+                unboxedValue = "((java.lang.Boolean) value).booleanValue()";
+            } else if (i.equals("Character")) {
+                unboxedValue = "((java.lang.Character) value).charValue()";
+            } else {
+                unboxedValue = "((java.lang.Number) value)." + typeName + "Value()";
+            }
+
+            result.append("if (value instanceof java.lang.").append(i).append(") { return (")
+                    .append(typeName).append(") ").append(unboxedValue).append("; }\n");
+        }
+
+        result.append("String valueClassName = \"null\";\n")
+                .append("if (value != null) { valueClassName = value.getClass().getName(); }\n")
+                .append("throw new IllegalArgumentException(\"Value of \" + valueClassName + ")
+                .append("\" cannot be assigned to ").append(typeName).append(" member\");\n")
+                .append("}");
+
+        return result.toString();
+    }
+
+    private static boolean isPublicInstanceMember(final Member member) {
+        return Modifier.isPublic(member.getModifiers())
+                && Modifier.isStatic(member.getModifiers()) == false;
+    }
+
+    private static boolean isAccessible(final Class ofClass, final ClassLoader classLoader) {
+        if (ofClass.isPrimitive()) {
+            return true;
+        }
+
+        if (ofClass.isArray()) {
+            return isAccessible(ofClass.getComponentType(), classLoader);
+        }
+
+        for (Class i = ofClass; i != null; i = i.getEnclosingClass()) {
+            if (Modifier.isPublic(i.getModifiers()) == false) {
+                return false;
+            }
+        }
+
+        try {
+            return Class.forName(ofClass.getName(), false, classLoader) == ofClass;
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+
+    private static Method getMethod(final Class ofClass, final String name,
+            final Class... parameterTypes) {
+        try {
+            return ofClass.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException | SecurityException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+/**
+ * Action performed by {@link FunctionalMap} on source and destination object.
+ *
+ * @param <S> source class.
+ * @param <D> destination class.
+ */
+@FunctionalInterface
+public interface MapAction<S, D> {
+
+    /**
+     * Performs this operation.
+     *
+     * @param mapper mapper executing map.
+     * @param source source object.
+     * @param destination destination object.
+     */
+    void invoke(Mapper mapper, S source, D destination);
+}
@@ -36,4 +36,17 @@ public interface MapConvention {
             final MappingInfo mappingsInfo,
             final Class sourceClass,
             final Class destinationClass);
+
+    /**
+     * Returns {@code true} if result of
+     * {@link #getBindings(com.github.erchu.beancp.MappingInfo, java.lang.Class, java.lang.Class)}
+     * depends only on passed arguments, so mapper may build bindings once per source and
+     * destination class pair and reuse them. Convention configuration must not change after
+     * convention is added to {@link MapperBuilder}. By default returns {@code false}.
+     *
+     * @return {@code true} if bindings may be cached, otherwise {@code false}.
+     */
+    default boolean isCacheable() {
+        return false;
+    }
 }
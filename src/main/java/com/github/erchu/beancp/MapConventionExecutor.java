@@ -18,16 +18,69 @@
 package com.github.erchu.beancp;
 
 import java.util.List;
+import java.util.function.BiFunction;
 import static org.apache.commons.lang3.Validate.notNull;
 
 class MapConventionExecutor {
 
     private final MapConvention _convention;
 
-    private List<Binding> _bindings = null;
+    private ConventionPlan _plan = null;
+
+    private final MappingInfo _planCacheOwner;
+
+    private final MappingCapabilityGraph _planCacheOwnerCapabilities;
+
+    private final ClassPairCache<ConventionPlan> _planCache;
+
+    private final BiFunction<Class, Class, ConventionPlan> _planResolver;
 
     public MapConventionExecutor(final MapConvention convention) {
         _convention = convention;
+        _planCacheOwner = null;
+        _planCacheOwnerCapabilities = null;
+        _planCache = null;
+        _planResolver = null;
+    }
+
+    /**
+     * Creates executor which caches bindings per source and destination class pair if
+     * convention is cacheable (see {@link MapConvention#isCacheable()}). Only bindings built for
+     * {@code planCacheOwner} are cached, as bindings depends on available mappings.
+     *
+     * @param convention executed convention.
+     * @param planCacheOwner mappings information for which bindings will be cached, must not change
+     * after executor is created.
+     * @param planCacheOwnerCapabilities map availability graph of {@code planCacheOwner}, bindings
+     * built during its evaluation are not cached.
+     * @param planCacheMaximumSize maximum number of cached source and destination class pairs.
+     */
+    MapConventionExecutor(final MapConvention convention, final MappingInfo planCacheOwner,
+            final MappingCapabilityGraph planCacheOwnerCapabilities,
+            final int planCacheMaximumSize) {
+        _convention = convention;
+
+        if (convention.isCacheable()) {
+            _planCacheOwner = planCacheOwner;
+            _planCacheOwnerCapabilities = planCacheOwnerCapabilities;
+            _planCache = new ClassPairCache<>(planCacheMaximumSize);
+            _planResolver = (sourceClass, destinationClass) -> new ConventionPlan(
+                    _convention.getBindings(planCacheOwner, sourceClass, destinationClass));
+        } else {
+            _planCacheOwner = null;
+            _planCacheOwnerCapabilities = null;
+            _planCache = null;
+            _planResolver = null;
+        }
+    }
+
+    /**
+     * Returns executed convention.
+     *
+     * @return executed convention.
+     */
+    MapConvention getConvention() {
+        return _convention;
     }
 
     /**
@@ -43,7 +96,8 @@ class MapConventionExecutor {
      */
     void build(MappingInfo mappingInfo, Class sourceClass, Class destinationClass)
             throws MapperConfigurationException {
-        _bindings = _convention.getBindings(mappingInfo, sourceClass, destinationClass);
+        _plan = new ConventionPlan(
+                _convention.getBindings(mappingInfo, sourceClass, destinationClass));
     }
 
     /**
@@ -79,7 +133,22 @@ class MapConventionExecutor {
      * @see org.beancp.MapperBuilder#addMapAnyByConvention(com.github.erchu.beancp.MapConvention...)
      */
     void map(Mapper mapper, Object source, Object destination) throws MappingException {
-        if (tryMap(mapper, source, destination) == false) {
+        map(mapper, mapper, source, destination);
+    }
+
+    /**
+     * Executes mappings as {@link #map(com.github.erchu.beancp.Mapper, java.lang.Object,
+     * java.lang.Object)}, but bindings are built (or taken from cache) for passed mappings
+     * information, while executed bindings use passed caller.
+     *
+     * @param mappingsInfo mappings information used to build bindings.
+     * @param caller mapper passed to executed bindings.
+     * @param source source object.
+     * @param destination destination object.
+     */
+    void map(MappingInfo mappingsInfo, Mapper caller, Object source, Object destination)
+            throws MappingException {
+        if (tryMap(mappingsInfo, caller, source, destination) == false) {
             throw new MappingException(String.format("I don't know how to map %s to %s",
                     source.getClass(), destination.getClass()));
         }
@@ -123,17 +192,36 @@ class MapConventionExecutor {
      */
     boolean tryMap(Mapper mapper, Object source, Object destination)
             throws MapperConfigurationException {
-        notNull(mapper, "mapper");
+        return tryMap(mapper, mapper, source, destination);
+    }
+
+    private boolean tryMap(MappingInfo mappingsInfo, Mapper caller, Object source,
+            Object destination) throws MapperConfigurationException {
+        notNull(mappingsInfo, "mappingsInfo");
+        notNull(caller, "caller");
         notNull(source, "source");
         notNull(destination, "destination");
 
-        List<Binding> bindingsToExecute = getBindingsToExecute(
-                mapper, source.getClass(), destination.getClass());
+        Class sourceClass = source.getClass();
+        Class destinationClass = destination.getClass();
+        ConventionPlan plan = getPlan(mappingsInfo, sourceClass, destinationClass);
+
+        if (plan != null) {
+            if (plan.isEmpty()) {
+                return false;
+            } else {
+                plan.execute(caller, source, destination);
+
+                return true;
+            }
+        }
+
+        List<Binding> bindingsToExecute = getBindings(mappingsInfo, sourceClass, destinationClass);
 
         if (bindingsToExecute.isEmpty()) {
             return false;
         } else {
-            executeBindings(bindingsToExecute, mapper, source, destination);
+            executeBindings(bindingsToExecute, caller, source, destination);
 
             return true;
         }
@@ -154,33 +242,48 @@ class MapConventionExecutor {
         notNull(sourceClass, "source");
         notNull(destinationClass, "destination");
 
-        List<Binding> bindingsToExecute = getBindingsToExecute(
-                mappingsInfo, sourceClass, destinationClass);
+        ConventionPlan plan = getPlan(mappingsInfo, sourceClass, destinationClass);
+
+        if (plan != null) {
+            return (plan.isEmpty() == false);
+        }
 
-        return (bindingsToExecute.isEmpty() == false);
+        return (getBindings(mappingsInfo, sourceClass, destinationClass).isEmpty() == false);
     }
 
-    private List<Binding> getBindingsToExecute(
+    /**
+     * Returns plan built or cached for passed classes, or null if bindings are not reusable.
+     */
+    private ConventionPlan getPlan(
             final MappingInfo mappingsInfo, final Class sourceClass, final Class destinationClass) {
         // According to API specification build() method but never concurrently or after first of
-        // this method, so we can safely get bindings field value without acquiring any locks or
+        // this method, so we can safely get plan field value without acquiring any locks or
         // defining fields as volatile.
-        List<Binding> bindingsToExecute = (_bindings != null)
-                ? _bindings
-                // According to API specification it is build() method may be not executed before
-                // this method call. In this situation we generate bindings on the fly. Moreover API
-                // prohibits produce state that is shared state between calls, so next call will
-                // generate bindings once again.
-                : getBindings(mappingsInfo, sourceClass, destinationClass);
-
-        return bindingsToExecute;
+        if (_plan != null) {
+            return _plan;
+        }
+
+        // Cacheable convention bindings depends only on classes and available mappings, so if
+        // mappings cannot change we may reuse bindings. Cache is thread-safe and does not acquire
+        // locks on read. Bindings built during map availability evaluation may rely on assumed
+        // availability of pair which finally is not available, so they are not cached.
+        if (_planCache != null && mappingsInfo == _planCacheOwner
+                && _planCacheOwnerCapabilities.isEvaluating() == false) {
+            return _planCache.get(sourceClass, destinationClass, _planResolver);
+        }
+
+        // According to API specification it is build() method may be not executed before
+        // this method call. In this situation we generate bindings on the fly. Moreover API
+        // prohibits produce state that is shared state between calls, so next call will
+        // generate bindings once again.
+        return null;
     }
 
     private void executeBindings(final List<Binding> bindingsToExecute, final Mapper mapper,
             final Object source, final Object destination) {
-        bindingsToExecute.stream().forEach(i -> {
+        for (Binding i : bindingsToExecute) {
             i.execute(mapper, source, destination);
-        });
+        }
     }
 
     private List<Binding> getBindings(
@@ -0,0 +1,45 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.function.Supplier;
+
+/**
+ * Configured map (declarative or functional) executed by {@link MapperImpl}.
+ *
+ * @param <S> source class.
+ * @param <D> destination class.
+ */
+interface MapExecutor<S, D> extends MappingExecutor<S, D> {
+
+    /**
+     * Returns destination object builder.
+     *
+     * @return destination object builder or null if not defined.
+     */
+    Supplier<D> getDestinationObjectBuilder();
+
+    /**
+     * Copies data from source object to destination object.
+     *
+     * @param caller mapper executing this map.
+     * @param source source object.
+     * @param destination destination object.
+     */
+    void execute(Mapper caller, S source, D destination);
+}
@@ -17,7 +17,25 @@
  */
 package com.github.erchu.beancp;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Iterator;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import static org.apache.commons.lang3.Validate.*;
 
 /**
  * Object to object mapper. Implementation must be thread-safe.
@@ -46,7 +64,10 @@ public interface Mapper extends MappingInfo {
      * </ol>
      *
      * <p>
-     * When there is more than one mapper of the same priority then is used the first one added to
+     * When there is more than one mapper of the same priority then is used the one with the closest
+     * source class (superclass before interfaces, interfaces in declaration order) and then the
+     * one with the closest destination class. When there is more than one mapper for exactly the
+     * same source and destination classes then is used the first one added to
      * {@link MapperBuilder}. If no mapper available then {@link MappingException} will be thrown.
      * </p>
      *
@@ -83,7 +104,10 @@ public interface Mapper extends MappingInfo {
      * </ol>
      *
      * <p>
-     * When there is more than one mapper of the same priority then is used the first one added to
+     * When there is more than one mapper of the same priority then is used the one with the closest
+     * source class (superclass before interfaces, interfaces in declaration order) and then the
+     * one with the closest destination class. When there is more than one mapper for exactly the
+     * same source and destination classes then is used the first one added to
      * {@link MapperBuilder}. If no mapper available then will return false, otherwise
      * return true.
      *
@@ -124,7 +148,10 @@ public interface Mapper extends MappingInfo {
      * </ol>
      *
      * <p>
-     * When there is more than one mapper of the same priority then is used the first one added to
+     * When there is more than one mapper of the same priority then is used the one with the closest
+     * source class (superclass before interfaces, interfaces in declaration order) and then the
+     * one with the closest destination class. When there is more than one mapper for exactly the
+     * same source and destination classes then is used the first one added to
      * {@link MapperBuilder}. If no mapper available then {@link MappingException} will be thrown.
      * </p>
      *
@@ -164,7 +191,10 @@ public interface Mapper extends MappingInfo {
      * </ol>
      *
      * <p>
-     * When there is more than one mapper of the same priority then is used the first one added to
+     * When there is more than one mapper of the same priority then is used the one with the closest
+     * source class (superclass before interfaces, interfaces in declaration order) and then the
+     * one with the closest destination class. When there is more than one mapper for exactly the
+     * same source and destination classes then is used the first one added to
      * {@link MapperBuilder}.
      * </p>
      *
@@ -179,4 +209,369 @@ public interface Mapper extends MappingInfo {
      * @return destination object if no mapper is available, otherwise empty optional object.
      */
     <S, D> Optional<D> mapIfMapperAvailable(S source, Class<D> destinationClass) throws MappingException;
+
+    /**
+     * Returns mapping handle for passed source and destination classes. Converter, map or
+     * convention is chosen once (according to the same priority as in
+     * {@link #map(java.lang.Object, java.lang.Class)} method) when handle is created, so mapping
+     * using handle does not repeat mapper selection. Handle may be stored and reused, it is
+     * thread-safe.
+     *
+     * <p>
+     * If no converter, map or convention is available then {@link MappingException} will be thrown.
+     * </p>
+     *
+     * <p>
+     * Default implementation only checks that mapping is available, returned handle delegates to
+     * {@link #map(java.lang.Object, java.lang.Class)} and
+     * {@link #map(java.lang.Object, java.lang.Object)}, so mapper selection is repeated on each
+     * call.
+     * </p>
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param sourceClass source object class.
+     * @param destinationClass destination object class.
+     * @return mapping handle.
+     */
+    default <S, D> TypedMapper<S, D> forPair(final Class<S> sourceClass,
+            final Class<D> destinationClass) throws MappingException {
+        notNull(sourceClass, "sourceClass");
+        notNull(destinationClass, "destinationClass");
+
+        if (isConverterAvailable(sourceClass, destinationClass) == false
+                && isMapAvailable(sourceClass, destinationClass) == false) {
+            throw new MappingException(
+                    String.format("No suitable converter or map found to map from %s to %s.",
+                            sourceClass, destinationClass));
+        }
+
+        return new TypedMapperImpl<>(sourceClass, destinationClass,
+                source -> map(source, destinationClass), this::map);
+    }
+
+    /**
+     * Returns mapper preserving source objects identity. During each top-level mapping call
+     * (including nested mappings executed by maps, converters and conventions) source object
+     * reached more than once is mapped only once per destination class and the same destination
+     * object is used everywhere, so shared references and cycles of source objects graph are
+     * reproduced in destination objects graph. Identity map is cleared, but kept for reuse, when
+     * top-level call ends, so separate calls (also for each element of
+     * {@link #mapAll(java.lang.Iterable, java.lang.Class)}) do not share destination objects.
+     *
+     * <p>
+     * Returned mapper and handles returned by its
+     * {@link #forPair(java.lang.Class, java.lang.Class)} are not thread-safe, use separate
+     * instance per thread. Its methods mapping on other threads (parallel and asynchronous
+     * batches, functions and collectors) use separate identity map per chunk, thread or collector
+     * container. This mapper is not affected and does not track identity.
+     * </p>
+     *
+     * <p>
+     * Default implementation throws {@link MappingException}, because identity may be preserved
+     * only by mapper passing itself to executed maps and converters.
+     * </p>
+     *
+     * @return mapper preserving source objects identity.
+     * @throws MappingException if mapper does not support identity preserving mapping.
+     */
+    default Mapper withMappingContext() throws MappingException {
+        throw new MappingException(String.format(
+                "%s does not support identity preserving mapping.", getClass()));
+    }
+
+    /**
+     * Maps each source object to newly created destination object and returns list of results in
+     * the same order. Mapping is chosen (as by {@link #forPair(java.lang.Class, java.lang.Class)})
+     * once per distinct source object class in batch, null source object is mapped to null.
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param sources source objects.
+     * @param destinationClass destination object class.
+     * @return list of destination objects.
+     * @throws MappingException if mapping for any source object is not available.
+     */
+    default <S, D> List<D> mapAll(final Iterable<? extends S> sources,
+            final Class<D> destinationClass) throws MappingException {
+        return mapAll(sources, destinationClass, null, null);
+    }
+
+    /**
+     * Maps each source object to newly created destination object and returns list of results in
+     * the same order. Works as {@link #mapAll(java.lang.Iterable, java.lang.Class)}.
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param sources source objects.
+     * @param destinationClass destination object class.
+     * @return list of destination objects.
+     * @throws MappingException if mapping for any source object is not available.
+     */
+    default <S, D> List<D> mapAll(final S[] sources, final Class<D> destinationClass)
+            throws MappingException {
+        notNull(sources, "sources");
+
+        return mapAll(Arrays.asList(sources), destinationClass, null, null);
+    }
+
+    /**
+     * Maps each source object to newly created destination object and adds results to passed
+     * collection (in source order). Works as
+     * {@link #mapAll(java.lang.Iterable, java.lang.Class)}.
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param sources source objects.
+     * @param destinationClass destination object class.
+     * @param destinations collection to which destination objects are added.
+     * @throws MappingException if mapping for any source object is not available.
+     */
+    default <S, D> void mapAll(final Iterable<? extends S> sources,
+            final Class<D> destinationClass, final Collection<? super D> destinations)
+            throws MappingException {
+        notNull(sources, "sources");
+        notNull(destinationClass, "destinationClass");
+        notNull(destinations, "destinations");
+
+        BatchMapping.mapAll(this, sources, destinationClass, destinations);
+    }
+
+    /**
+     * Maps each source object to newly created destination object and returns list of results in
+     * the same order. Works as {@link #mapAll(java.lang.Iterable, java.lang.Class)}, additionally
+     * performs actions once before and once after whole batch is mapped.
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param sources source objects.
+     * @param destinationClass destination object class.
+     * @param beforeMap action performed before batch is mapped, may be null.
+     * @param afterMap action performed after batch is mapped, may be null.
+     * @return list of destination objects.
+     * @throws MappingException if mapping for any source object is not available.
+     */
+    default <S, D> List<D> mapAll(final Iterable<? extends S> sources,
+            final Class<D> destinationClass, final BatchMapAction<S, D> beforeMap,
+            final BatchMapAction<S, D> afterMap) throws MappingException {
+        notNull(sources, "sources");
+        notNull(destinationClass, "destinationClass");
+
+        List<D> result = (sources instanceof Collection)
+                ? new ArrayList<>(((Collection) sources).size())
+                : new ArrayList<>();
+
+        if (beforeMap != null) {
+            beforeMap.invoke(this, sources, result);
+        }
+
+        BatchMapping.mapAll(this, sources, destinationClass, result);
+
+        if (afterMap != null) {
+            afterMap.invoke(this, sources, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Maps each source object to newly created destination object in parallel (using
+     * {@link ForkJoinPool#commonPool()}) and returns list of results in the same order. Works as
+     * {@link #mapAllInParallel(java.util.List, java.lang.Class,
+     * java.util.concurrent.ExecutorService, int)} with default sequential threshold (1024).
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param sources source objects.
+     * @param destinationClass destination object class.
+     * @return fixed-size list of destination objects.
+     * @throws MappingException if mapping for any source object is not available.
+     */
+    default <S, D> List<D> mapAllInParallel(final List<? extends S> sources,
+            final Class<D> destinationClass) throws MappingException {
+        return mapAllInParallel(sources, destinationClass, ForkJoinPool.commonPool(),
+                ParallelBatchMapping.DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Maps each source object to newly created destination object in parallel and returns list
+     * of results in the same order. Source list is split into chunks mapped by passed executor
+     * ({@link ForkJoinPool} executes chunks as fork/join tasks). Mapping is chosen once per
+     * distinct source object class in chunk, null source object is mapped to null. Calling thread
+     * waits until all chunks are mapped.
+     *
+     * <p>
+     * Used maps and converters must be thread-safe (as required by {@link Mapper}).
+     * </p>
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param sources source objects, list must not be modified while this method is executed.
+     * @param destinationClass destination object class.
+     * @param executor executor mapping chunks.
+     * @param sequentialThreshold number of source objects up to which list is mapped sequentially
+     * by calling thread, also minimum chunk size.
+     * @return fixed-size list of destination objects.
+     * @throws MappingException if mapping for any source object is not available.
+     */
+    default <S, D> List<D> mapAllInParallel(final List<? extends S> sources,
+            final Class<D> destinationClass, final ExecutorService executor,
+            final int sequentialThreshold) throws MappingException {
+        notNull(sources, "sources");
+        notNull(destinationClass, "destinationClass");
+        notNull(executor, "executor");
+        isTrue(sequentialThreshold > 0, "sequentialThreshold must be greater than zero");
+
+        return ParallelBatchMapping.mapAll(
+                () -> this, sources, destinationClass, executor, sequentialThreshold);
+    }
+
+    /**
+     * Maps list of source objects to list of destination objects asynchronously, using virtual
+     * threads when available (Java 21 or newer), otherwise using
+     * {@link ForkJoinPool#commonPool()}. Works as
+     * {@link #mapAllAsync(java.util.List, java.lang.Class, java.util.concurrent.Executor)}.
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param sources source objects.
+     * @param destinationClass destination object class.
+     * @return future completed with destination objects in source objects order.
+     */
+    default <S, D> CompletableFuture<List<D>> mapAllAsync(final List<? extends S> sources,
+            final Class<D> destinationClass) {
+        return mapAllAsync(sources, destinationClass,
+                ParallelBatchMapping.getDefaultAsyncExecutor());
+    }
+
+    /**
+     * Maps list of source objects to list of destination objects asynchronously. Source list is
+     * copied by calling thread, then it is split into chunks mapped by tasks executed by passed
+     * executor (chunk size is chosen as by {@link #mapAllInParallel(java.util.List,
+     * java.lang.Class)}). Calling thread is never blocked. Each null source object is mapped to
+     * null.
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param sources source objects.
+     * @param destinationClass destination object class.
+     * @param executor executor running mapping tasks.
+     * @return future completed with destination objects in source objects order or completed
+     * exceptionally if any source object cannot be mapped.
+     */
+    default <S, D> CompletableFuture<List<D>> mapAllAsync(final List<? extends S> sources,
+            final Class<D> destinationClass, final Executor executor) {
+        notNull(sources, "sources");
+        notNull(destinationClass, "destinationClass");
+        notNull(executor, "executor");
+
+        return ParallelBatchMapping.mapAllAsync(() -> this, sources, destinationClass, executor,
+                ParallelBatchMapping.DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Returns function mapping source object to newly created destination object. Mapping is
+     * chosen (as by {@link #forPair(java.lang.Class, java.lang.Class)}) once and reused while
+     * source objects of the same class are passed, null source object is mapped to null. Function
+     * is thread-safe, so may be used by parallel streams.
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param destinationClass destination object class.
+     * @return mapping function.
+     */
+    default <S, D> Function<S, D> asFunction(final Class<D> destinationClass) {
+        notNull(destinationClass, "destinationClass");
+
+        return new MappingFunction<>(this, destinationClass);
+    }
+
+    /**
+     * Returns collector mapping each stream element to newly created destination object and
+     * collecting results to list (in encounter order). Null element is mapped to null. Collector
+     * may be used by parallel streams.
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param destinationClass destination object class.
+     * @return mapping collector.
+     */
+    default <S, D> Collector<S, ?, List<D>> toList(final Class<D> destinationClass) {
+        return toCollection(destinationClass, ArrayList::new);
+    }
+
+    /**
+     * Returns collector mapping each stream element to newly created destination object and
+     * collecting results to collection created by passed factory (for example presized list when
+     * number of elements is known). Null element is mapped to null. Collector may be used by
+     * parallel streams, then factory is called for each part of stream.
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param <C> destination collection class.
+     * @param destinationClass destination object class.
+     * @param collectionFactory destination collection factory.
+     * @return mapping collector.
+     */
+    default <S, D, C extends Collection<D>> Collector<S, ?, C> toCollection(
+            final Class<D> destinationClass, final Supplier<C> collectionFactory) {
+        notNull(destinationClass, "destinationClass");
+        notNull(collectionFactory, "collectionFactory");
+
+        return MappingCollector.toCollection(() -> this, destinationClass, collectionFactory);
+    }
+
+    /**
+     * Returns sequential stream of source objects mapped to single, reused destination object, so
+     * memory used does not depend on number of source objects. Destination object is created by
+     * passed factory when first source object is mapped and each source object is mapped to it by
+     * {@link #map(java.lang.Object, java.lang.Object)} (mapping is chosen once per distinct source
+     * object class in a row). Null source object is returned as null.
+     *
+     * <p>
+     * Destination object is not reset between source objects: members set by map (or convention)
+     * are overwritten, including null values, but other members keep values set for previous
+     * source object. Use
+     * {@link #stream(java.util.Iterator, java.util.function.Supplier,
+     * java.util.function.Consumer)} to reset them. Destination object must not be stored by
+     * stream consumer and stream must not be made parallel.
+     * </p>
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param sources source objects.
+     * @param destinationFactory destination object factory.
+     * @return stream of reused destination object.
+     */
+    default <S, D> Stream<D> stream(final Iterator<? extends S> sources,
+            final Supplier<D> destinationFactory) {
+        return stream(sources, destinationFactory, null);
+    }
+
+    /**
+     * Returns sequential stream of source objects mapped to single, reused destination object.
+     * Works as {@link #stream(java.util.Iterator, java.util.function.Supplier)}, additionally
+     * reset action is performed on destination object before each source object (except the
+     * first one) is mapped.
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param sources source objects.
+     * @param destinationFactory destination object factory.
+     * @param resetAction action performed on destination object before it is reused, may be
+     * null.
+     * @return stream of reused destination object.
+     */
+    default <S, D> Stream<D> stream(final Iterator<? extends S> sources,
+            final Supplier<D> destinationFactory, final Consumer<? super D> resetAction) {
+        notNull(sources, "sources");
+        notNull(destinationFactory, "destinationFactory");
+
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(
+                        new ReusedDestinationIterator<>(
+                                this, sources, destinationFactory, resetAction),
+                        Spliterator.ORDERED),
+                false);
+    }
 }
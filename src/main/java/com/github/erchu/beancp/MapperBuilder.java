@@ -31,12 +31,20 @@ import static org.apache.commons.lang3.Validate.*;
  */
 public final class MapperBuilder implements MappingInfo {
 
-    private final List<DeclarativeMapImpl<?, ?>> _maps = new LinkedList<>();
+    private final List<MapExecutor<?, ?>> _maps = new LinkedList<>();
 
     private final List<Converter<?, ?>> _converters = new LinkedList<>();
 
     private final List<MapConventionExecutor> _mapAnyConventions = new LinkedList<>();
 
+    private MappingExecutorIndex<MapExecutor<?, ?>> _mapsIndex = null;
+
+    private MappingExecutorIndex<Converter<?, ?>> _convertersIndex = null;
+
+    private MappingCapabilityGraph _capabilities = null;
+
+    private int _conventionPlanCacheMaximumSize = Integer.MAX_VALUE;
+
     private boolean _mapperBuilded = false;
 
     /**
@@ -66,6 +74,38 @@ public final class MapperBuilder implements MappingInfo {
         map.configure(this);
 
         _maps.add(map);
+        _mapsIndex = null;
+        _capabilities = null;
+
+        return this;
+    }
+
+    /**
+     * Adds new mapping defined by functional map. Map configuration lambda is executed once (when
+     * this method is called), so there are no constraints on {@code source} and
+     * {@code destination} classes.
+     *
+     * @param <S> source object class.
+     * @param <D> destination object class.
+     * @param sourceClass source object class.
+     * @param destinationClass destination object class.
+     * @param mapConfiguration map configuration.
+     *
+     * @return this (for method chaining)
+     */
+    public <S, D> MapperBuilder addFunctionalMap(final Class<S> sourceClass,
+            final Class<D> destinationClass, final FunctionalMapSetup<S, D> mapConfiguration)
+            throws MapperConfigurationException {
+        notNull(mapConfiguration, "mapConfiguration");
+        validateAddMappingAction(sourceClass, destinationClass);
+
+        FunctionalMapImpl<S, D> map
+                = new FunctionalMapImpl<>(sourceClass, destinationClass, mapConfiguration);
+        map.configure(this);
+
+        _maps.add(map);
+        _mapsIndex = null;
+        _capabilities = null;
 
         return this;
     }
@@ -89,6 +129,8 @@ public final class MapperBuilder implements MappingInfo {
         validateAddMappingAction(sourceClass, destinationClass);
 
         _converters.add(new Converter<>(sourceClass, destinationClass, convertionAction));
+        _convertersIndex = null;
+        _capabilities = null;
 
         return this;
     }
@@ -111,6 +153,8 @@ public final class MapperBuilder implements MappingInfo {
         validateAddMappingAction(sourceClass, destinationClass);
 
         _converters.add(new Converter<>(sourceClass, destinationClass, convertionAction));
+        _convertersIndex = null;
+        _capabilities = null;
 
         return this;
     }
@@ -130,6 +174,8 @@ public final class MapperBuilder implements MappingInfo {
         }
 
         this._converters.addAll(Arrays.asList(converters));
+        _convertersIndex = null;
+        _capabilities = null;
 
         return this;
     }
@@ -150,6 +196,31 @@ public final class MapperBuilder implements MappingInfo {
                 .collect(Collectors.toList());
 
         this._mapAnyConventions.addAll(conventionExecutors);
+        _capabilities = null;
+
+        return this;
+    }
+
+    /**
+     * Limits number of source and destination class pairs for which bindings produced by
+     * cacheable conventions (see {@link MapConvention#isCacheable()}) added by
+     * {@link #addMapAnyByConvention(com.github.erchu.beancp.MapConvention...)} are cached by each
+     * convention. When limit is exceeded some cached bindings are evicted and will be built again
+     * when needed. By default number of cached bindings is not limited.
+     *
+     * @param maximumSize maximum number of cached class pairs per convention.
+     *
+     * @return this (for method chaining)
+     */
+    public MapperBuilder limitConventionPlanCache(final int maximumSize)
+            throws MapperConfigurationException {
+        isTrue(maximumSize > 0, "maximumSize must be greater than zero");
+
+        if (this._mapperBuilded) {
+            throw new MapperConfigurationException("Mapper already builded. No changes allowed.");
+        }
+
+        _conventionPlanCacheMaximumSize = maximumSize;
 
         return this;
     }
@@ -163,7 +234,8 @@ public final class MapperBuilder implements MappingInfo {
     public Mapper buildMapper() {
         this._mapperBuilded = true;
 
-        return new MapperImpl(_converters, _maps, _mapAnyConventions);
+        return new MapperImpl(
+                _converters, _maps, _mapAnyConventions, _conventionPlanCacheMaximumSize);
     }
 
     @Override
@@ -171,12 +243,13 @@ public final class MapperBuilder implements MappingInfo {
         notNull(sourceClass, "sourceClass");
         notNull(destinationClass, "destinationClass");
 
-        return MapperExecutorSelector.isMapAvailable(
-                this,
-                sourceClass,
-                destinationClass,
-                Collections.unmodifiableCollection(_maps),
-                Collections.unmodifiableCollection(_mapAnyConventions));
+        return getCapabilities().isMapAvailable(sourceClass, destinationClass,
+                (mapSourceClass, mapDestinationClass) -> MapperExecutorSelector.isMapAvailable(
+                        this,
+                        mapSourceClass,
+                        mapDestinationClass,
+                        getMapsIndex(),
+                        Collections.unmodifiableCollection(_mapAnyConventions)));
     }
 
     @Override
@@ -184,11 +257,49 @@ public final class MapperBuilder implements MappingInfo {
         notNull(sourceClass, "sourceClass");
         notNull(destinationClass, "destinationClass");
 
-        return MapperExecutorSelector.isConverterAvailable(
-                this,
-                sourceClass,
-                destinationClass,
-                Collections.unmodifiableCollection(_converters));
+        return getCapabilities().isConverterAvailable(sourceClass, destinationClass,
+                (converterSourceClass, converterDestinationClass)
+                -> MapperExecutorSelector.isConverterAvailable(
+                        this,
+                        converterSourceClass,
+                        converterDestinationClass,
+                        getConvertersIndex()));
+    }
+
+    @Override
+    public Converter<?, ?> getConverter(final Class sourceClass, final Class destinationClass) {
+        notNull(sourceClass, "sourceClass");
+        notNull(destinationClass, "destinationClass");
+
+        return MapperExecutorSelector.getBestMatchingConverter(
+                sourceClass, destinationClass, getConvertersIndex());
+    }
+
+    private MappingCapabilityGraph getCapabilities() {
+        // answers are valid only until next map, converter or convention is added
+        if (_capabilities == null) {
+            _capabilities = new MappingCapabilityGraph();
+        }
+
+        return _capabilities;
+    }
+
+    private MappingExecutorIndex<MapExecutor<?, ?>> getMapsIndex() {
+        // index is rebuilt only when queried after maps was changed
+        if (_mapsIndex == null) {
+            _mapsIndex = new MappingExecutorIndex<>(_maps);
+        }
+
+        return _mapsIndex;
+    }
+
+    private MappingExecutorIndex<Converter<?, ?>> getConvertersIndex() {
+        // index is rebuilt only when queried after converters was changed
+        if (_convertersIndex == null) {
+            _convertersIndex = new MappingExecutorIndex<>(_converters);
+        }
+
+        return _convertersIndex;
     }
 
     private <S, D> void validateAddMappingAction(final Class<S> sourceClass,
@@ -200,7 +311,7 @@ public final class MapperBuilder implements MappingInfo {
             throw new MapperConfigurationException("Mapper already builded. No changes allowed.");
         }
 
-        for (DeclarativeMapImpl<?, ?> i : _maps) {
+        for (MapExecutor<?, ?> i : _maps) {
             if (i.getSourceClass().equals(sourceClass)
                     && i.getDestinationClass().equals(destinationClass)) {
                 throw new MapperConfigurationException(String.format(
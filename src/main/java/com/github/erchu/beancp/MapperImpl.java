@@ -17,60 +17,167 @@
  */
 package com.github.erchu.beancp;
 
-import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.ClassUtils;
 import static org.apache.commons.lang3.Validate.*;
 
 class MapperImpl implements Mapper {
 
-    private final Collection<DeclarativeMapImpl<?, ?>> _maps;
+    private final MappingExecutorIndex<MapExecutor<?, ?>> _maps;
 
-    private final Collection<Converter<?, ?>> _converters;
+    private final MappingExecutorIndex<Converter<?, ?>> _converters;
 
     private final List<MapConventionExecutor> _mapAnyConventions;
 
+    private final ClassPairCache<Converter<?, ?>> _converterCache = new ClassPairCache<>();
+
+    private final ClassPairCache<MapExecutor<?, ?>> _mapCache = new ClassPairCache<>();
+
+    private final ClassPairCache<MapConventionExecutor> _mapAnyConventionCache
+            = new ClassPairCache<>();
+
+    private final MappingCapabilityGraph _capabilities = new MappingCapabilityGraph();
+
+    private final ClassPairCache<TypedMapper<?, ?>> _typedMapperCache;
+
+    private final BiFunction<Class, Class, Converter<?, ?>> _converterResolver;
+
+    private final BiFunction<Class, Class, MapExecutor<?, ?>> _mapResolver;
+
+    private final BiFunction<Class, Class, MapConventionExecutor> _mapAnyConventionResolver;
+
+    private final BiFunction<Class, Class, TypedMapper<?, ?>> _typedMapperResolver;
+
     MapperImpl(
             final Collection<Converter<?, ?>> converters,
-            final List<DeclarativeMapImpl<?, ?>> maps,
-            final List<MapConventionExecutor> mapAnyConvention) {
-        this._converters = Collections.unmodifiableCollection(converters);
-        this._maps = Collections.unmodifiableCollection(maps);
-        this._mapAnyConventions = mapAnyConvention;
+            final List<MapExecutor<?, ?>> maps,
+            final List<MapConventionExecutor> mapAnyConvention,
+            final int conventionPlanCacheMaximumSize) {
+        this._converters = new MappingExecutorIndex<>(converters);
+        this._maps = new MappingExecutorIndex<>(maps);
+
+        // Executors used by builder cannot cache bindings as available mappings were changing
+        // during configuration, so mapper uses own executors
+        this._mapAnyConventions = mapAnyConvention.stream()
+                .map(i -> new MapConventionExecutor(i.getConvention(), this, _capabilities,
+                                conventionPlanCacheMaximumSize))
+                .collect(Collectors.toList());
+
+        // Resolvers are created once, so cache lookups does not allocate lambda instances
+        this._converterResolver = (sourceClass, destinationClass)
+                -> MapperExecutorSelector.getBestMatchingConverter(
+                        sourceClass, destinationClass, _converters);
+        this._mapResolver = (sourceClass, destinationClass)
+                -> MapperExecutorSelector.getBestMatchingDeclarativeMap(
+                        sourceClass, destinationClass, _maps);
+        this._mapAnyConventionResolver = (sourceClass, destinationClass)
+                -> _mapAnyConventions.stream()
+                .filter(i -> i.canMap(this, sourceClass, destinationClass))
+                .findFirst()
+                .orElse(null);
+        this._typedMapperResolver = (sourceClass, destinationClass)
+                -> createTypedMapper(this, null, sourceClass, destinationClass);
+
+        // handles for conventions hold built bindings, so are limited as convention plans
+        this._typedMapperCache = new ClassPairCache<>(conventionPlanCacheMaximumSize);
     }
 
     @Override
     public <S, D> void map(final S source, final D destination) throws MappingException {
-        if (mapIfMapperAvailable(source, destination) == false) {
+        map(this, null, source, destination);
+    }
+
+    @Override
+    public <S, D> boolean mapIfMapperAvailable(
+            final S source, final D destination) throws MappingException {
+        return mapIfMapperAvailable(this, null, source, destination);
+    }
+
+    @Override
+    public <S, D> D map(final S source, final Class<D> destinationClass) {
+        return map(this, null, source, destinationClass);
+    }
+
+    @Override
+    public <S, D> Optional<D> mapIfMapperAvailable(
+            final S source, final Class<D> destinationClass) throws MappingException {
+        return mapIfMapperAvailable(this, null, source, destinationClass);
+    }
+
+    @Override
+    public Mapper withMappingContext() {
+        return new ContextualMapper(this);
+    }
+
+    /**
+     * Maps source object to destination object as {@link #map(java.lang.Object,
+     * java.lang.Object)}, passing caller to executed maps and converters.
+     *
+     * @param caller mapper passed to executed maps and converters.
+     * @param context mapping context or null if object identity is not preserved.
+     * @param source source object.
+     * @param destination destination object.
+     */
+    <S, D> void map(final Mapper caller, final MappingContext context, final S source,
+            final D destination) throws MappingException {
+        if (mapIfMapperAvailable(caller, context, source, destination) == false) {
             throw new MappingException(
                     String.format("No suitable mapping found from %s to %s.",
                             source.getClass(), destination.getClass()));
         }
     }
 
-    @Override
-    public <S, D> boolean mapIfMapperAvailable(
+    <S, D> boolean mapIfMapperAvailable(final Mapper caller, final MappingContext context,
             final S source, final D destination) throws MappingException {
         notNull(source, "source");
         notNull(destination, "destination");
 
-        DeclarativeMapImpl<S, D> map = (DeclarativeMapImpl<S, D>) MapperExecutorSelector.getBestMatchingDeclarativeMap(
-                source.getClass(), destination.getClass(),
-                _maps);
+        if (context != null) {
+            Class destinationClass = destination.getClass();
+
+            // object is already mapped or is being mapped (cycle)
+            if (context.get(source, destinationClass) == destination) {
+                return true;
+            }
+
+            context.put(source, destinationClass, destination);
+
+            if (mapUsingMapOrConvention(caller, source, destination) == false) {
+                context.remove(source, destinationClass);
 
-        return mapIfMapperAvailable(map, source, destination);
+                return false;
+            }
+
+            return true;
+        }
+
+        return mapUsingMapOrConvention(caller, source, destination);
     }
 
-    @Override
-    public <S, D> D map(final S source, final Class<D> destinationClass) {
+    /**
+     * Maps source object to new destination object as {@link #map(java.lang.Object,
+     * java.lang.Class)}, passing caller to executed maps and converters.
+     *
+     * @param caller mapper passed to executed maps and converters.
+     * @param context mapping context or null if object identity is not preserved.
+     * @param source source object.
+     * @param destinationClass destination object class.
+     * @return destination object.
+     */
+    <S, D> D map(final Mapper caller, final MappingContext context, final S source,
+            final Class<D> destinationClass) throws MappingException {
         notNull(source, "source");
         notNull(destinationClass, "destinationClass");
 
-        Optional<D> result = mapIfMapperAvailable(source, destinationClass);
+        Optional<D> result = mapIfMapperAvailable(caller, context, source, destinationClass);
 
         if (result.isPresent() == false) {
             throw new MappingException(
@@ -81,33 +188,38 @@ class MapperImpl implements Mapper {
         }
     }
 
-    @Override
     @SuppressWarnings("TooBroadCatch")
-    public <S, D> Optional<D> mapIfMapperAvailable(
+    <S, D> Optional<D> mapIfMapperAvailable(final Mapper caller, final MappingContext context,
             final S source, final Class<D> destinationClass) throws MappingException {
         notNull(source, "source");
         notNull(destinationClass, "destinationClass");
 
+        if (context != null) {
+            D knownDestination = (D) context.get(source, destinationClass);
+
+            if (knownDestination != null) {
+                return Optional.of(knownDestination);
+            }
+        }
+
         Class sourceClass = source.getClass();
 
         try {
             Converter<S, D> converter
-                    = (Converter<S, D>) MapperExecutorSelector.getBestMatchingConverter(
-                            sourceClass, destinationClass, _converters);
+                    = (Converter<S, D>) getConverter(sourceClass, destinationClass);
 
             if (converter != null) {
-                if (sourceClass.isArray() && sourceClass.getComponentType().isPrimitive()) {
-                    Object[] sourceWrapper = getArrayOfPrimitiveTypeWrapper(sourceClass, source);
+                D result = converter.convert(caller, source);
 
-                    return Optional.of(
-                            ((Converter<Object, D>) converter).convert(this, sourceWrapper));
-                } else {
-                    return Optional.of(converter.convert(this, source));
+                if (context != null && result != null) {
+                    context.put(source, destinationClass, result);
                 }
+
+                return Optional.of(result);
             }
 
-            DeclarativeMapImpl<S, D> map = (DeclarativeMapImpl<S, D>) MapperExecutorSelector.getBestMatchingDeclarativeMap(
-                    sourceClass, destinationClass, _maps);
+            MapExecutor<S, D> map
+                    = (MapExecutor<S, D>) getMap(sourceClass, destinationClass);
 
             D destination = null;
 
@@ -116,14 +228,23 @@ class MapperImpl implements Mapper {
                         map.getDestinationObjectBuilder(), destinationClass);
             }
 
-            // if DeclarativeMapImpl is not available or has no specific destination object builder
+            // if map is not available or has no specific destination object builder
             if (destination == null) {
                 destination = constructObjectUsingDefaultConstructor(destinationClass);
             }
 
-            if (mapIfMapperAvailable(source, destination)) {
+            if (context != null) {
+                // registered before members are mapped, so cycles are reproduced
+                context.put(source, destinationClass, destination);
+            }
+
+            if (mapUsingMapOrConvention(caller, source, destination)) {
                 return Optional.of(destination);
             } else {
+                if (context != null) {
+                    context.remove(source, destinationClass);
+                }
+
                 return Optional.empty();
             }
         } catch (Exception ex) {
@@ -135,16 +256,173 @@ class MapperImpl implements Mapper {
         }
     }
 
-    private <S> Object[] getArrayOfPrimitiveTypeWrapper(Class sourceClass, final S source) throws IllegalArgumentException, NegativeArraySizeException, ArrayIndexOutOfBoundsException {
-        Class<?> arrayElementWrapperClass
-                = ClassUtils.primitiveToWrapper(sourceClass.getComponentType());
-        int arrayLength = Array.getLength(source);
-        Object[] sourceWrapper = (Object[]) Array.newInstance(
-                arrayElementWrapperClass, arrayLength);
-        for (int i = 0 ; i < arrayLength ; i++) {
-            sourceWrapper[i] = Array.get(source, i);
+    @Override
+    public <S, D> TypedMapper<S, D> forPair(
+            final Class<S> sourceClass, final Class<D> destinationClass) throws MappingException {
+        notNull(sourceClass, "sourceClass");
+        notNull(destinationClass, "destinationClass");
+
+        TypedMapper<S, D> result = (TypedMapper<S, D>) _typedMapperCache.get(
+                sourceClass, destinationClass, _typedMapperResolver);
+
+        if (result == null) {
+            throw new MappingException(
+                    String.format("No suitable converter or map found to map from %s to %s.",
+                            sourceClass, destinationClass));
+        }
+
+        return result;
+    }
+
+    /**
+     * Creates mapping handle for passed classes, passing caller to executed maps and converters.
+     *
+     * @param caller mapper passed to executed maps and converters.
+     * @param context mapping context or null if object identity is not preserved.
+     * @param sourceClass source object class.
+     * @param destinationClass destination object class.
+     * @return mapping handle or null if no converter, map or convention is available.
+     */
+    <S, D> TypedMapper<S, D> createTypedMapper(final Mapper caller,
+            final MappingContext context, final Class<S> sourceClass,
+            final Class<D> destinationClass) {
+        BiConsumer<S, D> mapToExistingObject = getMapToExistingObjectAction(
+                caller, sourceClass, destinationClass);
+        Function<S, D> mapToNewObject = getMapToNewObjectAction(
+                caller, context, sourceClass, destinationClass, mapToExistingObject);
+
+        if (mapToNewObject == null) {
+            return null;
+        }
+
+        if (mapToExistingObject == null) {
+            mapToExistingObject = (source, destination) -> {
+                throw new MappingException(
+                        String.format("No suitable mapping found from %s to %s.",
+                                sourceClass, destinationClass));
+            };
+        } else if (context != null) {
+            BiConsumer<S, D> mapWithoutContext = mapToExistingObject;
+
+            mapToExistingObject = (source, destination) -> {
+                // object is already mapped or is being mapped (cycle)
+                if (context.get(source, destinationClass) != destination) {
+                    context.put(source, destinationClass, destination);
+                    mapWithoutContext.accept(source, destination);
+                }
+            };
+        }
+
+        return new TypedMapperImpl<>(
+                sourceClass, destinationClass, mapToNewObject, mapToExistingObject);
+    }
+
+    private <S, D> BiConsumer<S, D> getMapToExistingObjectAction(
+            final Mapper caller, final Class<S> sourceClass, final Class<D> destinationClass) {
+        MapExecutor<S, D> map
+                = (MapExecutor<S, D>) getMap(sourceClass, destinationClass);
+
+        if (map != null) {
+            return (source, destination) -> map.execute(caller, source, destination);
+        }
+
+        MapConventionExecutor mapAnyConvention
+                = getMapAnyConvention(sourceClass, destinationClass);
+
+        if (mapAnyConvention != null) {
+            // dedicated executor with bindings built once for handle classes
+            MapConventionExecutor builtConvention
+                    = new MapConventionExecutor(mapAnyConvention.getConvention());
+            builtConvention.build(this, sourceClass, destinationClass);
+
+            return (source, destination) -> builtConvention.map(
+                    this, caller, source, destination);
+        }
+
+        return null;
+    }
+
+    private <S, D> Function<S, D> getMapToNewObjectAction(final Mapper caller,
+            final MappingContext context, final Class<S> sourceClass,
+            final Class<D> destinationClass, final BiConsumer<S, D> mapToExistingObject) {
+        Converter<S, D> converter = (Converter<S, D>) getConverter(sourceClass, destinationClass);
+
+        if (converter != null) {
+            if (context == null) {
+                return source -> converter.convert(caller, source);
+            }
+
+            return source -> {
+                D result = (D) context.get(source, destinationClass);
+
+                if (result == null) {
+                    result = converter.convert(caller, source);
+
+                    if (result != null) {
+                        context.put(source, destinationClass, result);
+                    }
+                }
+
+                return result;
+            };
+        }
+
+        if (mapToExistingObject == null) {
+            return null;
+        }
+
+        MapExecutor<S, D> map
+                = (MapExecutor<S, D>) getMap(sourceClass, destinationClass);
+        Supplier<D> destinationConstructor = getDefaultConstructor(destinationClass);
+
+        return source -> {
+            D destination = null;
+
+            if (context != null) {
+                destination = (D) context.get(source, destinationClass);
+
+                if (destination != null) {
+                    return destination;
+                }
+            }
+
+            if (map != null && map.getDestinationObjectBuilder() != null) {
+                destination = constructObjectUsingDestinationObjectBuilder(
+                        map.getDestinationObjectBuilder(), destinationClass);
+            }
+
+            if (destination == null) {
+                destination = destinationConstructor.get();
+            }
+
+            if (context != null) {
+                // registered before members are mapped, so cycles are reproduced
+                context.put(source, destinationClass, destination);
+            }
+
+            mapToExistingObject.accept(source, destination);
+
+            return destination;
+        };
+    }
+
+    @SuppressWarnings({ "TooBroadCatch", "UseSpecificCatch" })
+    private <D> Supplier<D> getDefaultConstructor(final Class<D> destinationClass) {
+        Constructor<D> constructor;
+
+        try {
+            constructor = destinationClass.getConstructor();
+        } catch (NoSuchMethodException | SecurityException ex) {
+            return () -> constructObjectUsingDefaultConstructor(destinationClass);
         }
-        return sourceWrapper;
+
+        return () -> {
+            try {
+                return constructor.newInstance();
+            } catch (Exception ex) {
+                throw new MappingException("Cannot create destination instance.", ex);
+            }
+        };
     }
 
     @Override
@@ -152,12 +430,10 @@ class MapperImpl implements Mapper {
         notNull(sourceClass, "sourceClass");
         notNull(destinationClass, "destinationClass");
 
-        return MapperExecutorSelector.isMapAvailable(
-                this,
-                sourceClass,
-                destinationClass,
-                _maps,
-                _mapAnyConventions);
+        return _capabilities.isMapAvailable(sourceClass, destinationClass,
+                (mapSourceClass, mapDestinationClass)
+                -> getMap(mapSourceClass, mapDestinationClass) != null
+                || getMapAnyConvention(mapSourceClass, mapDestinationClass) != null);
     }
 
     @Override
@@ -165,30 +441,54 @@ class MapperImpl implements Mapper {
         notNull(sourceClass, "sourceClass");
         notNull(destinationClass, "destinationClass");
 
-        return MapperExecutorSelector.isConverterAvailable(
-                this,
-                sourceClass,
-                destinationClass,
-                Collections.unmodifiableCollection(_converters));
+        return (getConverter(sourceClass, destinationClass) != null);
     }
 
-    private <D, S> boolean mapIfMapperAvailable(
-            final DeclarativeMapImpl<S, D> MapImpl, final S source, final D destination) {
-        if (MapImpl != null) {
-            MapImpl.execute(this, source, destination);
+    private <S, D> boolean mapUsingMapOrConvention(
+            final Mapper caller, final S source, final D destination) {
+        MapExecutor<S, D> map = (MapExecutor<S, D>) getMap(
+                source.getClass(), destination.getClass());
+
+        if (map != null) {
+            map.execute(caller, source, destination);
 
             return true;
         }
 
-        for (MapConventionExecutor i : _mapAnyConventions) {
-            if (i.tryMap(this, source, destination)) {
-                return true;
-            }
+        MapConventionExecutor mapAnyConvention
+                = getMapAnyConvention(source.getClass(), destination.getClass());
+
+        if (mapAnyConvention != null) {
+            // bindings are built for this mapper, so cached plans are used for any caller
+            mapAnyConvention.map(this, caller, source, destination);
+
+            return true;
         }
 
         return false;
     }
 
+    @Override
+    public Converter<?, ?> getConverter(final Class sourceClass, final Class destinationClass) {
+        return _converterCache.get(sourceClass, destinationClass, _converterResolver);
+    }
+
+    private MapExecutor<?, ?> getMap(final Class sourceClass, final Class destinationClass) {
+        return _mapCache.get(sourceClass, destinationClass, _mapResolver);
+    }
+
+    private MapConventionExecutor getMapAnyConvention(
+            final Class sourceClass, final Class destinationClass) {
+        // convention selected during availability evaluation may rely on assumed availability of
+        // pair which finally is not available, so it is cached only outside of evaluation
+        if (_capabilities.isEvaluating()) {
+            return _mapAnyConventionResolver.apply(sourceClass, destinationClass);
+        }
+
+        return _mapAnyConventionCache.get(
+                sourceClass, destinationClass, _mapAnyConventionResolver);
+    }
+
     @SuppressWarnings({ "TooBroadCatch", "UseSpecificCatch" })
     private <D> D constructObjectUsingDefaultConstructor(
             final Class<D> destinationClass) throws MappingException {
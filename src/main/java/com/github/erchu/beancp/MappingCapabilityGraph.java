@@ -0,0 +1,184 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+
+/**
+ * Memoized answers to {@link MappingInfo} queries, i.e. graph of class pairs which can be mapped
+ * or converted. Each answer is computed once and then returned without locking.
+ *
+ * <p>
+ * Map availability of one class pair may depend on availability of its member class pairs (for
+ * example when convention is used), which may depend on the first pair again. Such cycles are
+ * detected: class pair which is already being evaluated is assumed to be available. Answers which
+ * depend on such assumption made for other pair than itself are not memoized until assumed pair
+ * evaluation is finished.
+ * </p>
+ *
+ * <p>
+ * Evaluations are not locked: cycle detection uses stack of pairs evaluated by current thread,
+ * and pair evaluated by several threads at the same time gets answer memoized by the first one.
+ * </p>
+ */
+final class MappingCapabilityGraph {
+
+    private static final class Frame {
+
+        private final Class _sourceClass;
+
+        private final Class _destinationClass;
+
+        private final int _depth;
+
+        private int _lowestAssumptionDepth = Integer.MAX_VALUE;
+
+        Frame(final Class sourceClass, final Class destinationClass, final int depth) {
+            _sourceClass = sourceClass;
+            _destinationClass = destinationClass;
+            _depth = depth;
+        }
+    }
+
+    private final ClassPairCache<Boolean> _converterAvailable = new ClassPairCache<>();
+
+    private final Map<Class, Map<Class, Boolean>> _mapAvailable = new ConcurrentHashMap<>();
+
+    // stack is needed only during evaluation, so it is removed when evaluation ends
+    private final ThreadLocal<List<Frame>> _evaluationStack = new ThreadLocal<>();
+
+    /**
+     * Returns {@code true} if converter is available, otherwise {@code false}.
+     *
+     * @param sourceClass source class.
+     * @param destinationClass destination class.
+     * @param resolver function used to check converter availability if not known yet.
+     * @return {@code true} if converter is available, otherwise {@code false}.
+     */
+    boolean isConverterAvailable(final Class sourceClass, final Class destinationClass,
+            final BiFunction<Class, Class, Boolean> resolver) {
+        return _converterAvailable.get(sourceClass, destinationClass, resolver);
+    }
+
+    /**
+     * Returns {@code true} if map (or map convention) is available, otherwise {@code false}.
+     *
+     * @param sourceClass source class.
+     * @param destinationClass destination class.
+     * @param resolver predicate used to check map availability if not known yet. May recursively
+     * call this method.
+     * @return {@code true} if map (or map convention) is available, otherwise {@code false}.
+     */
+    boolean isMapAvailable(final Class sourceClass, final Class destinationClass,
+            final BiPredicate<Class, Class> resolver) {
+        Boolean knownResult = getKnownMapAvailability(sourceClass, destinationClass);
+
+        if (knownResult != null) {
+            return knownResult;
+        }
+
+        List<Frame> evaluationStack = _evaluationStack.get();
+
+        if (evaluationStack != null) {
+            return evaluateMapAvailability(
+                    sourceClass, destinationClass, resolver, evaluationStack);
+        }
+
+        evaluationStack = new ArrayList<>();
+        _evaluationStack.set(evaluationStack);
+
+        try {
+            return evaluateMapAvailability(
+                    sourceClass, destinationClass, resolver, evaluationStack);
+        } finally {
+            _evaluationStack.remove();
+        }
+    }
+
+    /**
+     * Returns {@code true} if current thread is evaluating map availability. Answers given during
+     * evaluation may depend on assumptions made for cycles, so they must not be cached outside of
+     * this graph.
+     *
+     * @return {@code true} if current thread is evaluating map availability, otherwise
+     * {@code false}.
+     */
+    boolean isEvaluating() {
+        return (_evaluationStack.get() != null);
+    }
+
+    private boolean evaluateMapAvailability(final Class sourceClass, final Class destinationClass,
+            final BiPredicate<Class, Class> resolver, final List<Frame> evaluationStack) {
+        Boolean knownResult = getKnownMapAvailability(sourceClass, destinationClass);
+
+        if (knownResult != null) {
+            return knownResult;
+        }
+
+        for (Frame i : evaluationStack) {
+            if (i._sourceClass.equals(sourceClass) && i._destinationClass.equals(destinationClass)) {
+                // cycle detected, pair is assumed to be available
+                Frame currentFrame = evaluationStack.get(evaluationStack.size() - 1);
+                currentFrame._lowestAssumptionDepth
+                        = Math.min(currentFrame._lowestAssumptionDepth, i._depth);
+
+                return true;
+            }
+        }
+
+        Frame frame = new Frame(sourceClass, destinationClass, evaluationStack.size());
+        evaluationStack.add(frame);
+
+        boolean result;
+
+        try {
+            result = resolver.test(sourceClass, destinationClass);
+        } finally {
+            evaluationStack.remove(evaluationStack.size() - 1);
+        }
+
+        if (frame._lowestAssumptionDepth >= frame._depth) {
+            // other thread may have evaluated the same pair in the meantime, its answer is kept
+            Boolean memoizedResult = _mapAvailable
+                    .computeIfAbsent(sourceClass, key -> new ConcurrentHashMap<>())
+                    .putIfAbsent(destinationClass, result);
+
+            if (memoizedResult != null) {
+                result = memoizedResult;
+            }
+        } else {
+            // result depends on assumption made for pair evaluated by one of callers
+            Frame callerFrame = evaluationStack.get(evaluationStack.size() - 1);
+            callerFrame._lowestAssumptionDepth
+                    = Math.min(callerFrame._lowestAssumptionDepth, frame._lowestAssumptionDepth);
+        }
+
+        return result;
+    }
+
+    private Boolean getKnownMapAvailability(final Class sourceClass, final Class destinationClass) {
+        Map<Class, Boolean> mapAvailableForSource = _mapAvailable.get(sourceClass);
+
+        return (mapAvailableForSource == null) ? null : mapAvailableForSource.get(destinationClass);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Creates collectors mapping stream elements before they are added to destination collection.
+ * Each container created by collector has own {@link BatchMapping}, so mappings are resolved once
+ * per distinct element class in container and collector may be used by parallel streams. Each
+ * container uses mapper returned by passed supplier.
+ */
+final class MappingCollector {
+
+    private static final class Container<D, C extends Collection<D>> {
+
+        private final BatchMapping _batchMapping;
+
+        private final C _destinations;
+
+        Container(final BatchMapping batchMapping, final C destinations) {
+            _batchMapping = batchMapping;
+            _destinations = destinations;
+        }
+    }
+
+    private MappingCollector() {
+        throw new AssertionError(
+                String.format(
+                        "Creating an instance of the %s class is not allowed.",
+                        MappingCollector.class));
+    }
+
+    static <S, D, C extends Collection<D>> Collector<S, ?, C> toCollection(
+            final Supplier<? extends Mapper> containerMapper, final Class<D> destinationClass,
+            final Supplier<C> collectionFactory) {
+        return Collector.<S, Container<D, C>, C>of(
+                () -> new Container<>(
+                        new BatchMapping(containerMapper.get(), destinationClass),
+                        collectionFactory.get()),
+                (container, source) -> container._destinations.add(
+                        (D) container._batchMapping.map(source)),
+                (left, right) -> {
+                    left._destinations.addAll(right._destinations);
+
+                    return left;
+                },
+                container -> container._destinations);
+    }
+}
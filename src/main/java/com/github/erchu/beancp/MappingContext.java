@@ -0,0 +1,128 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.IdentityHashMap;
+
+/**
+ * Identity map from source objects to destination objects mapped during single top-level mapping
+ * call (see {@link Mapper#withMappingContext()}). Source objects are compared by identity, so
+ * every source object is mapped once per destination class even if it is reached many times,
+ * and cycles are reproduced in destination objects graph.
+ *
+ * <p>
+ * Context is not thread-safe. It is cleared, not recreated, after each top-level call, so its
+ * internal table is reused. Table does not shrink when cleared and clearing takes time proportional
+ * to its capacity, so table grown above {@link #REUSED_TABLE_MAXIMUM_SIZE} entries is recreated
+ * instead.
+ * </p>
+ */
+final class MappingContext {
+
+    private static final class Entry {
+
+        private final Class _destinationClass;
+
+        private final Object _destination;
+
+        private final Entry _next;
+
+        Entry(final Class destinationClass, final Object destination, final Entry next) {
+            _destinationClass = destinationClass;
+            _destination = destination;
+            _next = next;
+        }
+    }
+
+    /**
+     * Maximum number of entries for which table is cleared and reused.
+     */
+    static final int REUSED_TABLE_MAXIMUM_SIZE = 1024;
+
+    // usually source object is mapped to single destination class, so entries form short lists
+    private IdentityHashMap<Object, Entry> _destinations = new IdentityHashMap<>();
+
+    // table capacity depends on maximum size reached since table was created
+    private int _maximumSize;
+
+    /**
+     * Returns destination object registered for passed source object and destination class, or
+     * null if there is no such object.
+     *
+     * @param source source object.
+     * @param destinationClass destination class.
+     * @return destination object or null.
+     */
+    Object get(final Object source, final Class destinationClass) {
+        for (Entry i = _destinations.get(source); i != null; i = i._next) {
+            if (i._destinationClass == destinationClass) {
+                return i._destination;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Registers destination object for passed source object and destination class. Object must be
+     * registered before its members are mapped, so cycles may be reproduced.
+     *
+     * @param source source object.
+     * @param destinationClass destination class.
+     * @param destination destination object.
+     */
+    void put(final Object source, final Class destinationClass, final Object destination) {
+        _destinations.put(source,
+                new Entry(destinationClass, destination, _destinations.get(source)));
+        _maximumSize = Math.max(_maximumSize, _destinations.size());
+    }
+
+    /**
+     * Removes destination object registered for passed source object and destination class.
+     *
+     * @param source source object.
+     * @param destinationClass destination class.
+     */
+    void remove(final Object source, final Class destinationClass) {
+        Entry remaining = null;
+
+        for (Entry i = _destinations.get(source); i != null; i = i._next) {
+            if (i._destinationClass != destinationClass) {
+                remaining = new Entry(i._destinationClass, i._destination, remaining);
+            }
+        }
+
+        if (remaining == null) {
+            _destinations.remove(source);
+        } else {
+            _destinations.put(source, remaining);
+        }
+    }
+
+    /**
+     * Removes all registered destination objects.
+     */
+    void clear() {
+        if (_maximumSize > REUSED_TABLE_MAXIMUM_SIZE) {
+            _destinations = new IdentityHashMap<>();
+            _maximumSize = 0;
+        } else if (_destinations.isEmpty() == false) {
+            _destinations.clear();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.lang3.ClassUtils;
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * Index of mapping executors keyed by exact source class and exact destination class. Primitive
+ * types and its wrappers are treated as the same class.
+ *
+ * <p>
+ * Best matching executor is found by walking source and destination class hierarchies (see
+ * {@link #getHierarchy(java.lang.Class)}), so lookup cost depends on hierarchy depth and not on
+ * number of indexed executors. Candidates are checked in the following order:
+ * </p>
+ *
+ * <ol>
+ * <li>source class equals to executor source class and destination class equals to executor
+ * destination class</li>
+ * <li>source class inherits from executor source class and destination class equals to executor
+ * destination class, closest source superclass (or interface) first</li>
+ * <li>source class equals to executor source class and destination class inherits from executor
+ * destination class, closest destination superclass (or interface) first</li>
+ * <li>source class inherits from executor source class and destination class inherits from
+ * executor destination class, closest source superclass (or interface) first and then closest
+ * destination superclass (or interface) first</li>
+ * </ol>
+ *
+ * <p>
+ * If more than one executor is defined for exactly the same source and destination classes then
+ * the first one added is used.
+ * </p>
+ *
+ * @param <T> indexed executor type.
+ */
+final class MappingExecutorIndex<T extends MappingExecutor<?, ?>> {
+
+    private final Map<Class, Map<Class, T>> _executors = new HashMap<>();
+
+    /**
+     * Creates index of passed executors.
+     *
+     * @param executors executors to index, in order they were added.
+     */
+    MappingExecutorIndex(final Collection<T> executors) {
+        notNull(executors, "executors");
+
+        for (T i : executors) {
+            _executors
+                    .computeIfAbsent(normalize(i.getSourceClass()), key -> new HashMap<>())
+                    .putIfAbsent(normalize(i.getDestinationClass()), i);
+        }
+    }
+
+    /**
+     * Returns best matching executor or null if there is no matching executor.
+     *
+     * @param sourceClass source class.
+     * @param destinationClass destination class.
+     * @param strictDestination when {@code true} then only executors with destination class equal
+     * to {@code destinationClass} are matched.
+     * @return best matching executor or null if there is no matching executor.
+     */
+    T getBestMatching(final Class sourceClass, final Class destinationClass,
+            final boolean strictDestination) {
+        notNull(sourceClass, "sourceClass");
+        notNull(destinationClass, "destinationClass");
+
+        if (_executors.isEmpty()) {
+            return null;
+        }
+
+        List<Class> sourceHierarchy = getHierarchy(sourceClass);
+        Class exactDestinationClass = normalize(destinationClass);
+
+        // exact destination class, source class from the most specific
+        for (Class i : sourceHierarchy) {
+            T result = get(i, exactDestinationClass);
+
+            if (result != null) {
+                return result;
+            }
+        }
+
+        if (strictDestination) {
+            return null;
+        }
+
+        List<Class> destinationHierarchy = getHierarchy(destinationClass);
+        Class exactSourceClass = sourceHierarchy.get(0);
+
+        // exact source class, destination class from the most specific
+        for (Class i : destinationHierarchy.subList(1, destinationHierarchy.size())) {
+            T result = get(exactSourceClass, i);
+
+            if (result != null) {
+                return result;
+            }
+        }
+
+        // both classes inherited
+        for (Class i : sourceHierarchy.subList(1, sourceHierarchy.size())) {
+            Map<Class, T> executorsForSource = _executors.get(i);
+
+            if (executorsForSource == null) {
+                continue;
+            }
+
+            for (Class j : destinationHierarchy.subList(1, destinationHierarchy.size())) {
+                T result = executorsForSource.get(j);
+
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private T get(final Class sourceClass, final Class destinationClass) {
+        Map<Class, T> executorsForSource = _executors.get(sourceClass);
+
+        return (executorsForSource == null) ? null : executorsForSource.get(destinationClass);
+    }
+
+    /**
+     * Returns passed class followed by all classes and interfaces it can be assigned to, ordered
+     * from the most specific: class itself, then superclasses and interfaces ordered by distance
+     * (superclass before interfaces, interfaces in declaration order) and {@link Object} as the
+     * last one. Array classes are handled according to array covariance rules. Primitive type is
+     * replaced by its wrapper, but wrapper hierarchy is not included (primitive value cannot be
+     * assigned to {@code Number} variable).
+     *
+     * @param ofClass class to get hierarchy for.
+     * @return class hierarchy.
+     */
+    static List<Class> getHierarchy(final Class ofClass) {
+        List<Class> result = new ArrayList<>();
+
+        if (ofClass.isPrimitive()) {
+            result.add(normalize(ofClass));
+
+            return result;
+        }
+
+        Set<Class> hierarchy = new LinkedHashSet<>();
+
+        if (ofClass.isArray()) {
+            Class componentClass = ofClass.getComponentType();
+            hierarchy.add(ofClass);
+
+            if (componentClass.isPrimitive() == false) {
+                for (Class i : getHierarchy(componentClass)) {
+                    hierarchy.add(Array.newInstance(i, 0).getClass());
+                }
+            }
+
+            hierarchy.add(Cloneable.class);
+            hierarchy.add(Serializable.class);
+        } else {
+            List<Class> currentLevel = new ArrayList<>();
+            currentLevel.add(ofClass);
+
+            while (currentLevel.isEmpty() == false) {
+                List<Class> nextLevel = new ArrayList<>();
+
+                for (Class i : currentLevel) {
+                    if (hierarchy.add(i)) {
+                        if (i.getSuperclass() != null) {
+                            nextLevel.add(i.getSuperclass());
+                        }
+
+                        for (Class j : i.getInterfaces()) {
+                            nextLevel.add(j);
+                        }
+                    }
+                }
+
+                currentLevel = nextLevel;
+            }
+
+            hierarchy.remove(Object.class);
+        }
+
+        result.addAll(hierarchy);
+        result.add(Object.class);
+
+        return result;
+    }
+
+    private static Class normalize(final Class ofClass) {
+        return ofClass.isPrimitive() ? ClassUtils.primitiveToWrapper(ofClass) : ofClass;
+    }
+}
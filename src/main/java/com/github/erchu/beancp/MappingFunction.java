@@ -0,0 +1,62 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.function.Function;
+
+/**
+ * Function mapping source object to newly created destination object. Mapping is resolved (see
+ * {@link Mapper#forPair(java.lang.Class, java.lang.Class)}) for source object class and remembered
+ * until source object of other class is passed. Null source object is mapped to null.
+ *
+ * <p>
+ * Function is thread-safe: remembered mapping is immutable, so it may be published by data race.
+ * </p>
+ *
+ * @param <S> source object class.
+ * @param <D> destination object class.
+ */
+final class MappingFunction<S, D> implements Function<S, D> {
+
+    private final Mapper _mapper;
+
+    private final Class<D> _destinationClass;
+
+    private TypedMapper _lastTypedMapper;
+
+    MappingFunction(final Mapper mapper, final Class<D> destinationClass) {
+        _mapper = mapper;
+        _destinationClass = destinationClass;
+    }
+
+    @Override
+    public D apply(final S source) {
+        if (source == null) {
+            return null;
+        }
+
+        TypedMapper typedMapper = _lastTypedMapper;
+
+        if (typedMapper == null || typedMapper.getSourceClass() != source.getClass()) {
+            typedMapper = _mapper.forPair(source.getClass(), _destinationClass);
+            _lastTypedMapper = typedMapper;
+        }
+
+        return (D) typedMapper.map(source);
+    }
+}
@@ -41,4 +41,17 @@ public interface MappingInfo {
      * @return {@code true} if map (or map convention) is available, otherwise {@code false}.
      */
     boolean isMapAvailable(Class sourceClass, Class destinationClass);
+
+    /**
+     * Returns converter which is used to convert from source class to destination class or null
+     * if converter is not available (or is not known by this instance).
+     *
+     * @param sourceClass source object class.
+     * @param destinationClass destination object class.
+     *
+     * @return converter or null.
+     */
+    default Converter<?, ?> getConverter(Class sourceClass, Class destinationClass) {
+        return null;
+    }
 }
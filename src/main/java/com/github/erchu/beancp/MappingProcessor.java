@@ -0,0 +1,530 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * {@link Flow.Processor} mapping each source object received from upstream publisher to
+ * destination object of fixed class, which is published to single downstream subscriber.
+ *
+ * <p>
+ * Downstream demand is honored: source objects are requested from upstream only for
+ * destination objects requested by downstream and not yet covered by objects already received,
+ * in requests not larger than batch size. Source objects received since previous mapping (up
+ * to batch size) are mapped together as micro-batch, by calling thread or, when executor is
+ * passed, by executor task. Source objects are not held back to fill micro-batch, so micro-batches
+ * grow only when source objects are received faster than they are mapped or when upstream
+ * publishes requested objects synchronously. Several micro-batches may be
+ * mapped by executor at the same time, but destination objects are always published in source
+ * objects order.
+ * </p>
+ *
+ * <p>
+ * Upstream error is published immediately (destination objects not published yet are
+ * discarded). Mapping error cancels upstream subscription and is published to downstream.
+ * </p>
+ *
+ * <p>
+ * This class requires Java 9 or newer. Other classes of this library do not depend on it, so
+ * library may still be used with Java 8.
+ * </p>
+ *
+ * @param <S> source object class.
+ * @param <D> destination object class.
+ */
+public final class MappingProcessor<S, D> implements Flow.Processor<S, D> {
+
+    /**
+     * Default maximum number of source objects mapped in single micro-batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final Mapper _mapper;
+
+    private final Class<D> _destinationClass;
+
+    private final int _batchSize;
+
+    private final Executor _executor;
+
+    private final BatchMapping _batchMapping;
+
+    private final Object _lock = new Object();
+
+    private final AtomicInteger _drainRequests = new AtomicInteger();
+
+    // fields guarded by _lock
+    private Flow.Subscription _upstream;
+
+    private Flow.Subscriber<? super D> _downstream;
+
+    private List<Object> _receivedSources = new ArrayList<>();
+
+    private long _upstreamRequested;
+
+    private boolean _upstreamDone;
+
+    private Throwable _error;
+
+    private long _downstreamRequested;
+
+    private boolean _cancelled;
+
+    // fields used only by thread draining (see drain method)
+    private final ArrayDeque<Batch> _batches = new ArrayDeque<>();
+
+    private long _batchedObjectsCount;
+
+    private boolean _terminated;
+
+    private final class Batch implements Runnable {
+
+        private final Object[] _sources;
+
+        private final Object[] _destinations;
+
+        private int _nextIndex;
+
+        private Throwable _mappingError;
+
+        private volatile boolean _mapped;
+
+        Batch(final Object[] sources) {
+            _sources = sources;
+            _destinations = new Object[sources.length];
+        }
+
+        @Override
+        public void run() {
+            // executor task uses own batch mapping, because tasks may run at the same time
+            map(new BatchMapping(_mapper, _destinationClass));
+            drain();
+        }
+
+        void map(final BatchMapping batchMapping) {
+            try {
+                if (isCancelled() == false) {
+                    batchMapping.mapRange(_sources, 0, _sources.length, _destinations);
+                }
+            } catch (RuntimeException | Error ex) {
+                _mappingError = ex;
+            } finally {
+                _mapped = true;
+            }
+        }
+    }
+
+    /**
+     * Constructs instance mapping micro-batches of {@link #DEFAULT_BATCH_SIZE} source objects by
+     * calling thread.
+     *
+     * @param mapper mapper used to map source objects.
+     * @param destinationClass destination object class.
+     */
+    public MappingProcessor(final Mapper mapper, final Class<D> destinationClass) {
+        this(mapper, destinationClass, DEFAULT_BATCH_SIZE, null);
+    }
+
+    /**
+     * Constructs instance.
+     *
+     * @param mapper mapper used to map source objects.
+     * @param destinationClass destination object class.
+     * @param batchSize maximum number of source objects requested from upstream and mapped
+     * together.
+     * @param executor executor mapping micro-batches, if null then micro-batches are mapped by
+     * calling thread.
+     */
+    public MappingProcessor(final Mapper mapper, final Class<D> destinationClass,
+            final int batchSize, final Executor executor) {
+        notNull(mapper, "mapper");
+        notNull(destinationClass, "destinationClass");
+        isTrue(batchSize > 0, "batchSize must be greater than zero");
+
+        _mapper = mapper;
+        _destinationClass = destinationClass;
+        _batchSize = batchSize;
+        _executor = executor;
+        _batchMapping = (executor == null) ? new BatchMapping(mapper, destinationClass) : null;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super D> subscriber) {
+        notNull(subscriber, "subscriber");
+
+        boolean alreadySubscribed;
+
+        synchronized (_lock) {
+            alreadySubscribed = (_downstream != null);
+
+            if (alreadySubscribed == false) {
+                _downstream = subscriber;
+            }
+        }
+
+        if (alreadySubscribed) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+
+                @Override
+                public void request(final long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException(
+                    "Mapping processor allows only one subscriber."));
+
+            return;
+        }
+
+        subscriber.onSubscribe(new Flow.Subscription() {
+
+            @Override
+            public void request(final long n) {
+                requestFromDownstream(n);
+            }
+
+            @Override
+            public void cancel() {
+                cancelFromDownstream();
+            }
+        });
+
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        notNull(subscription, "subscription");
+
+        boolean accepted;
+
+        synchronized (_lock) {
+            accepted = (_upstream == null && _cancelled == false);
+
+            if (accepted) {
+                _upstream = subscription;
+            }
+        }
+
+        if (accepted) {
+            drain();
+        } else {
+            subscription.cancel();
+        }
+    }
+
+    @Override
+    public void onNext(final S item) {
+        notNull(item, "item");
+
+        synchronized (_lock) {
+            if (_upstreamDone || _cancelled) {
+                return;
+            }
+
+            _receivedSources.add(item);
+
+            if (_upstreamRequested > 0) {
+                _upstreamRequested--;
+            }
+        }
+
+        drain();
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        notNull(throwable, "throwable");
+
+        synchronized (_lock) {
+            if (_upstreamDone) {
+                return;
+            }
+
+            _upstreamDone = true;
+            _error = throwable;
+        }
+
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (_lock) {
+            _upstreamDone = true;
+        }
+
+        drain();
+    }
+
+    private void requestFromDownstream(final long n) {
+        Flow.Subscription upstreamToCancel = null;
+
+        synchronized (_lock) {
+            if (n <= 0) {
+                if (_error == null) {
+                    _error = new IllegalArgumentException(
+                            "Number of requested objects must be greater than zero.");
+                }
+
+                upstreamToCancel = _upstreamDone ? null : _upstream;
+                _upstreamDone = true;
+            } else {
+                long requested = _downstreamRequested + n;
+
+                _downstreamRequested = (requested < 0) ? Long.MAX_VALUE : requested;
+            }
+        }
+
+        if (upstreamToCancel != null) {
+            upstreamToCancel.cancel();
+        }
+
+        drain();
+    }
+
+    private void cancelFromDownstream() {
+        Flow.Subscription upstreamToCancel;
+
+        synchronized (_lock) {
+            if (_cancelled) {
+                return;
+            }
+
+            _cancelled = true;
+            upstreamToCancel = _upstreamDone ? null : _upstream;
+        }
+
+        if (upstreamToCancel != null) {
+            upstreamToCancel.cancel();
+        }
+
+        drain();
+    }
+
+    private boolean isCancelled() {
+        synchronized (_lock) {
+            return _cancelled;
+        }
+    }
+
+    /**
+     * Performs all pending work (batching, mapping, publishing, requesting), making sure only one
+     * thread does it at the same time. Signals received while other thread drains are handled by
+     * that thread before it stops draining.
+     */
+    private void drain() {
+        if (_drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missedDrainRequests = 1;
+
+        do {
+            drainOnce();
+
+            missedDrainRequests = _drainRequests.addAndGet(-missedDrainRequests);
+        } while (missedDrainRequests != 0);
+    }
+
+    private void drainOnce() {
+        Flow.Subscriber<? super D> downstream;
+        boolean cancelled;
+        Throwable error;
+        List<Object[]> batchesSources = null;
+
+        synchronized (_lock) {
+            downstream = _downstream;
+            cancelled = _cancelled;
+            error = _error;
+
+            if (_terminated || downstream == null) {
+                return;
+            }
+
+            if (cancelled || error != null) {
+                _receivedSources.clear();
+            } else if (_receivedSources.isEmpty() == false) {
+                batchesSources = new ArrayList<>();
+
+                for (int i = 0; i < _receivedSources.size(); i += _batchSize) {
+                    batchesSources.add(_receivedSources.subList(
+                            i, Math.min(_receivedSources.size(), i + _batchSize)).toArray());
+                }
+
+                _receivedSources = new ArrayList<>();
+            }
+        }
+
+        if (cancelled || error != null) {
+            terminate(downstream, error);
+
+            return;
+        }
+
+        if (batchesSources != null) {
+            for (Object[] i : batchesSources) {
+                startMapping(new Batch(i));
+            }
+        }
+
+        if (publishMappedObjects(downstream) == false) {
+            return;
+        }
+
+        boolean completed;
+        Flow.Subscription upstreamToRequest = null;
+        long requestedCount = 0;
+
+        synchronized (_lock) {
+            completed = _upstreamDone && _receivedSources.isEmpty() && _batches.isEmpty();
+
+            if (completed == false && _upstreamDone == false && _upstream != null
+                    && _upstreamRequested == 0) {
+                long notCoveredCount = _downstreamRequested - _batchedObjectsCount
+                        - _receivedSources.size();
+
+                if (notCoveredCount > 0) {
+                    requestedCount = Math.min(notCoveredCount, _batchSize);
+                    _upstreamRequested = requestedCount;
+                    upstreamToRequest = _upstream;
+                }
+            }
+        }
+
+        if (completed) {
+            terminate(downstream, null);
+        } else if (upstreamToRequest != null) {
+            upstreamToRequest.request(requestedCount);
+        }
+    }
+
+    private void startMapping(final Batch batch) {
+        _batches.add(batch);
+        _batchedObjectsCount += batch._sources.length;
+
+        if (_executor == null) {
+            batch.map(_batchMapping);
+        } else {
+            try {
+                _executor.execute(batch);
+            } catch (RejectedExecutionException ex) {
+                batch._mappingError = ex;
+                batch._mapped = true;
+            }
+        }
+    }
+
+    /**
+     * Publishes mapped objects in source objects order, as long as downstream demand allows.
+     *
+     * @return {@code false} if processing was terminated, otherwise {@code true}.
+     */
+    private boolean publishMappedObjects(final Flow.Subscriber<? super D> downstream) {
+        while (_batches.isEmpty() == false && _batches.peek()._mapped) {
+            Batch batch = _batches.peek();
+
+            if (batch._mappingError != null) {
+                Flow.Subscription upstreamToCancel;
+
+                synchronized (_lock) {
+                    upstreamToCancel = _upstreamDone ? null : _upstream;
+                    _upstreamDone = true;
+                    _receivedSources.clear();
+                }
+
+                if (upstreamToCancel != null) {
+                    upstreamToCancel.cancel();
+                }
+
+                terminate(downstream, batch._mappingError);
+
+                return false;
+            }
+
+            long requested;
+
+            synchronized (_lock) {
+                requested = _downstreamRequested;
+            }
+
+            long publishedCount = 0;
+
+            while (batch._nextIndex < batch._destinations.length && publishedCount < requested) {
+                if (isCancelled()) {
+                    return true;
+                }
+
+                D destination = (D) batch._destinations[batch._nextIndex];
+                batch._destinations[batch._nextIndex++] = null;
+                publishedCount++;
+
+                downstream.onNext(destination);
+            }
+
+            _batchedObjectsCount -= publishedCount;
+
+            synchronized (_lock) {
+                if (_downstreamRequested != Long.MAX_VALUE) {
+                    _downstreamRequested -= publishedCount;
+                }
+            }
+
+            if (batch._nextIndex < batch._destinations.length) {
+                return true;
+            }
+
+            _batches.poll();
+        }
+
+        return true;
+    }
+
+    private void terminate(final Flow.Subscriber<? super D> downstream, final Throwable error) {
+        boolean cancelled;
+
+        synchronized (_lock) {
+            cancelled = _cancelled;
+        }
+
+        _terminated = true;
+        _batches.clear();
+        _batchedObjectsCount = 0;
+
+        if (cancelled) {
+            return;
+        }
+
+        if (error == null) {
+            downstream.onComplete();
+        } else {
+            downstream.onError(error);
+        }
+    }
+}
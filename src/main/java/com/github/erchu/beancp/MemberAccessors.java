@@ -0,0 +1,297 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Creates {@link MemberGetter} and {@link MemberSetter} instances for bean members.
+ *
+ * <p>
+ * When possible accessor class is generated next to bean class (see
+ * {@link GeneratedClasses#generateNextTo(java.lang.Class, java.lang.Class, java.lang.String...)}),
+ * which reads or writes member directly (without reflection), so call may be inlined by JIT.
+ * Otherwise accessor uses method handles and finally reflection.
+ * </p>
+ *
+ * <p>
+ * Accessors are cached per member in {@link ClassValue} of member declaring class, so each class
+ * is generated only once and cache does not prevent bean class from being unloaded.
+ * </p>
+ */
+final class MemberAccessors {
+
+    private static final ClassValue<ConcurrentMap<Member, MemberGetter>> GETTERS
+            = new ClassValue<ConcurrentMap<Member, MemberGetter>>() {
+
+                @Override
+                protected ConcurrentMap<Member, MemberGetter> computeValue(final Class type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private static final ClassValue<ConcurrentMap<Member, MemberSetter>> SETTERS
+            = new ClassValue<ConcurrentMap<Member, MemberSetter>>() {
+
+                @Override
+                protected ConcurrentMap<Member, MemberSetter> computeValue(final Class type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    /**
+     * Getter delegating to generated class.
+     */
+    static final class GeneratedGetter implements MemberGetter {
+
+        private final Function<Object, Object> _function;
+
+        GeneratedGetter(final Function<Object, Object> function) {
+            _function = function;
+        }
+
+        @Override
+        public Object get(final Object object) {
+            return _function.apply(object);
+        }
+
+        Class getGeneratedClass() {
+            return _function.getClass();
+        }
+    }
+
+    /**
+     * Setter delegating to generated class.
+     */
+    static final class GeneratedSetter implements MemberSetter {
+
+        private final BiConsumer<Object, Object> _consumer;
+
+        GeneratedSetter(final BiConsumer<Object, Object> consumer) {
+            _consumer = consumer;
+        }
+
+        @Override
+        public void set(final Object object, final Object value) {
+            _consumer.accept(object, value);
+        }
+
+        Class getGeneratedClass() {
+            return _consumer.getClass();
+        }
+    }
+
+    private MemberAccessors() {
+        throw new AssertionError(
+                String.format(
+                        "Creating an instance of the %s class is not allowed.",
+                        MemberAccessors.class));
+    }
+
+    /**
+     * Returns getter calling passed read method.
+     *
+     * @param readMethod read method, may be null.
+     * @return getter or null if {@code readMethod} is null.
+     */
+    static MemberGetter getter(final Method readMethod) {
+        if (readMethod == null) {
+            return null;
+        }
+
+        return GETTERS.get(readMethod.getDeclaringClass()).computeIfAbsent(readMethod, key -> {
+            MemberGetter generated = generateGetter(
+                    readMethod, readMethod.getReturnType(), readMethod.getName() + "()");
+
+            if (generated != null) {
+                return generated;
+            }
+
+            MethodHandle handle = MemberHandles.getter(readMethod);
+
+            if (handle != null) {
+                return object -> (Object) handle.invokeExact(object);
+            }
+
+            return object -> invoke(readMethod, object);
+        });
+    }
+
+    /**
+     * Returns setter calling passed write method.
+     *
+     * @param writeMethod write method, may be null.
+     * @return setter or null if {@code writeMethod} is null.
+     */
+    static MemberSetter setter(final Method writeMethod) {
+        if (writeMethod == null) {
+            return null;
+        }
+
+        return SETTERS.get(writeMethod.getDeclaringClass()).computeIfAbsent(writeMethod, key -> {
+            MemberSetter generated = null;
+
+            if (writeMethod.getParameterTypes().length == 1) {
+                Class valueClass = writeMethod.getParameterTypes()[0];
+
+                generated = generateSetter(writeMethod, valueClass, writeMethod.getName() + "("
+                        + GeneratedClasses.getCastExpression(valueClass, "$2") + ")");
+            }
+
+            if (generated != null) {
+                return generated;
+            }
+
+            MethodHandle handle = MemberHandles.setter(writeMethod);
+
+            if (handle != null) {
+                return (object, value) -> {
+                    handle.invokeExact(object, value);
+                };
+            }
+
+            return (object, value) -> {
+                invoke(writeMethod, object, value);
+            };
+        });
+    }
+
+    /**
+     * Returns getter reading passed field.
+     *
+     * @param field field.
+     * @return getter.
+     */
+    static MemberGetter getter(final Field field) {
+        return GETTERS.get(field.getDeclaringClass()).computeIfAbsent(field, key -> {
+            MemberGetter generated = generateGetter(field, field.getType(), field.getName());
+
+            if (generated != null) {
+                return generated;
+            }
+
+            MethodHandle handle = MemberHandles.getter(field);
+
+            if (handle != null) {
+                return object -> (Object) handle.invokeExact(object);
+            }
+
+            return object -> field.get(object);
+        });
+    }
+
+    /**
+     * Returns setter writing passed field.
+     *
+     * @param field field.
+     * @return setter.
+     */
+    static MemberSetter setter(final Field field) {
+        return SETTERS.get(field.getDeclaringClass()).computeIfAbsent(field, key -> {
+            MemberSetter generated = null;
+
+            if (Modifier.isFinal(field.getModifiers()) == false) {
+                generated = generateSetter(field, field.getType(), field.getName() + " = "
+                        + GeneratedClasses.getCastExpression(field.getType(), "$2"));
+            }
+
+            if (generated != null) {
+                return generated;
+            }
+
+            MethodHandle handle = MemberHandles.setter(field);
+
+            if (handle != null) {
+                return (object, value) -> {
+                    handle.invokeExact(object, value);
+                };
+            }
+
+            return (object, value) -> field.set(object, value);
+        });
+    }
+
+    private static Object invoke(final Method method, final Object object,
+            final Object... arguments) throws IllegalAccessException, InvocationTargetException {
+        try {
+            return method.invoke(object, arguments);
+        } catch (InvocationTargetException ex) {
+            // errors are thrown directly by other accessors, so they are here as well
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+
+            throw ex;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MemberGetter generateGetter(final Member member, final Class valueClass,
+            final String memberExpression) {
+        if (GeneratedClasses.isAccessibleNextTo(member, valueClass) == false) {
+            return null;
+        }
+
+        String source = String.format(
+                "public Object apply(Object object) { return ($w) ((%s) $1).%s; }",
+                GeneratedClasses.getSourceName(member.getDeclaringClass()), memberExpression);
+        Function<Object, Object> function = (Function<Object, Object>) newInstance(
+                GeneratedClasses.generateNextTo(
+                        member.getDeclaringClass(), Function.class, source));
+
+        return (function != null) ? new GeneratedGetter(function) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MemberSetter generateSetter(final Member member, final Class valueClass,
+            final String memberExpression) {
+        if (GeneratedClasses.isAccessibleNextTo(member, valueClass) == false) {
+            return null;
+        }
+
+        String source = String.format(
+                "public void accept(Object object, Object value) { ((%s) $1).%s; }",
+                GeneratedClasses.getSourceName(member.getDeclaringClass()), memberExpression);
+        BiConsumer<Object, Object> consumer = (BiConsumer<Object, Object>) newInstance(
+                GeneratedClasses.generateNextTo(
+                        member.getDeclaringClass(), BiConsumer.class, source));
+
+        return (consumer != null) ? new GeneratedSetter(consumer) : null;
+    }
+
+    private static Object newInstance(final Class generatedClass) {
+        if (generatedClass == null) {
+            return null;
+        }
+
+        try {
+            return generatedClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError ex) {
+            return null;
+        }
+    }
+}
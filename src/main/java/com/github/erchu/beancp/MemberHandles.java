@@ -0,0 +1,124 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Creates method handles used to access bean members. Getter handles are adapted to
+ * {@code (Object)Object} type and setter handles to {@code (Object,Object)void} type, so they may
+ * be invoked by {@link MethodHandle#invokeExact(java.lang.Object...)}. Values passed to primitive
+ * setters are converted by {@link Unboxing}, because {@link MethodHandle#asType(MethodType)}
+ * only unboxes exact wrapper class, while {@link Method#invoke(java.lang.Object,
+ * java.lang.Object...)} allows unboxing followed by primitive widening.
+ *
+ * <p>
+ * When member is not accessible (for example is declared by non-public class) then null is
+ * returned and reflection should be used instead, so error is reported in the same way as before.
+ * </p>
+ */
+final class MemberHandles {
+
+    static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    static final MethodType SETTER_TYPE
+            = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private MemberHandles() {
+        throw new AssertionError(
+                String.format(
+                        "Creating an instance of the %s class is not allowed.",
+                        MemberHandles.class));
+    }
+
+    static MethodHandle getter(final Method readMethod) {
+        if (readMethod == null) {
+            return null;
+        }
+
+        try {
+            return adapt(LOOKUP.unreflect(readMethod), readMethod.getModifiers(), GETTER_TYPE);
+        } catch (IllegalAccessException ex) {
+            return null;
+        }
+    }
+
+    static MethodHandle setter(final Method writeMethod) {
+        if (writeMethod == null) {
+            return null;
+        }
+
+        try {
+            return adapt(LOOKUP.unreflect(writeMethod), writeMethod.getModifiers(), SETTER_TYPE);
+        } catch (IllegalAccessException ex) {
+            return null;
+        }
+    }
+
+    static MethodHandle getter(final Field field) {
+        try {
+            return adapt(LOOKUP.unreflectGetter(field), field.getModifiers(), GETTER_TYPE);
+        } catch (IllegalAccessException ex) {
+            return null;
+        }
+    }
+
+    static MethodHandle setter(final Field field) {
+        try {
+            return adapt(LOOKUP.unreflectSetter(field), field.getModifiers(), SETTER_TYPE);
+        } catch (IllegalAccessException ex) {
+            return null;
+        }
+    }
+
+    private static MethodHandle adapt(
+            final MethodHandle handle, final int modifiers, final MethodType type) {
+        MethodHandle result = handle;
+
+        if (Modifier.isStatic(modifiers)) {
+            // reflection ignores object passed to static member, handle must do the same
+            result = MethodHandles.dropArguments(result, 0, Object.class);
+        }
+
+        if (type == SETTER_TYPE && result.type().parameterType(1).isPrimitive()) {
+            result = MethodHandles.filterArguments(
+                    result, 1, getUnboxing(result.type().parameterType(1)));
+        }
+
+        return result.asType(type);
+    }
+
+    private static MethodHandle getUnboxing(final Class primitiveClass) {
+        String typeName = primitiveClass.getName();
+
+        try {
+            return LOOKUP.findStatic(Unboxing.class,
+                    "to" + Character.toUpperCase(typeName.charAt(0)) + typeName.substring(1),
+                    MethodType.methodType(primitiveClass, Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            throw new AssertionError("Unboxing method not found for " + primitiveClass, ex);
+        }
+    }
+}
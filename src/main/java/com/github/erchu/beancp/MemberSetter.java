@@ -0,0 +1,33 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+/**
+ * Writes value of single bean member (property or field).
+ */
+interface MemberSetter {
+
+    /**
+     * Sets member value of passed object.
+     *
+     * @param object object to write value to.
+     * @param value value to set.
+     * @throws Throwable when member access fails.
+     */
+    void set(Object object, Object value) throws Throwable;
+}
@@ -0,0 +1,236 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * Maps batch of source objects in parallel. Batch is split into chunks (about four chunks per
+ * thread, so threads finishing early may take remaining ones, but not smaller than sequential
+ * threshold) mapped by {@link BatchMapping}. Results are stored in preallocated array at source
+ * indexes, so order is preserved.
+ *
+ * <p>
+ * {@link ForkJoinPool} executes chunks as fork/join tasks, other executors as separate tasks. Batch
+ * not larger than sequential threshold is mapped by calling thread.
+ * </p>
+ *
+ * <p>
+ * Each chunk is mapped by mapper returned by passed supplier, so chunks may use separate mappers
+ * when mapper is not thread-safe (see {@link Mapper#withMappingContext()}).
+ * </p>
+ *
+ * <p>
+ * Asynchronous mapping submits chunks to executor as {@link CompletableFuture} tasks and never
+ * blocks calling thread. Default asynchronous executor uses virtual threads when available (Java
+ * 21 or newer), otherwise {@link ForkJoinPool#commonPool()}.
+ * </p>
+ */
+final class ParallelBatchMapping {
+
+    /**
+     * Default number of source objects below which batch is mapped sequentially.
+     */
+    static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1024;
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private static final class DefaultAsyncExecutorHolder {
+
+        private static final Executor EXECUTOR = createDefaultAsyncExecutor();
+
+        private static Executor createDefaultAsyncExecutor() {
+            try {
+                // looked up by reflection, because this library is compiled for Java 8
+                return (Executor) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                return ForkJoinPool.commonPool();
+            }
+        }
+    }
+
+    private static final class MapRangeTask extends RecursiveAction {
+
+        private final Supplier<? extends Mapper> _chunkMapper;
+
+        private final Class _destinationClass;
+
+        private final Object[] _sources;
+
+        private final Object[] _destinations;
+
+        private final int _fromIndex;
+
+        private final int _toIndex;
+
+        private final int _chunkSize;
+
+        MapRangeTask(final Supplier<? extends Mapper> chunkMapper, final Class destinationClass,
+                final Object[] sources, final Object[] destinations, final int fromIndex,
+                final int toIndex, final int chunkSize) {
+            _chunkMapper = chunkMapper;
+            _destinationClass = destinationClass;
+            _sources = sources;
+            _destinations = destinations;
+            _fromIndex = fromIndex;
+            _toIndex = toIndex;
+            _chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (_toIndex - _fromIndex <= _chunkSize) {
+                new BatchMapping(_chunkMapper.get(), _destinationClass)
+                        .mapRange(_sources, _fromIndex, _toIndex, _destinations);
+            } else {
+                int middleIndex = (_fromIndex + _toIndex) >>> 1;
+
+                invokeAll(
+                        new MapRangeTask(_chunkMapper, _destinationClass, _sources, _destinations,
+                                _fromIndex, middleIndex, _chunkSize),
+                        new MapRangeTask(_chunkMapper, _destinationClass, _sources, _destinations,
+                                middleIndex, _toIndex, _chunkSize));
+            }
+        }
+    }
+
+    private ParallelBatchMapping() {
+        throw new AssertionError(
+                String.format(
+                        "Creating an instance of the %s class is not allowed.",
+                        ParallelBatchMapping.class));
+    }
+
+    static <D> List<D> mapAll(final Supplier<? extends Mapper> chunkMapper, final List<?> sources,
+            final Class<D> destinationClass, final ExecutorService executor,
+            final int sequentialThreshold) {
+        // snapshot gives fast random access for any list
+        Object[] sourceArray = sources.toArray();
+        Object[] destinations = new Object[sourceArray.length];
+
+        if (sourceArray.length <= sequentialThreshold) {
+            new BatchMapping(chunkMapper.get(), destinationClass)
+                    .mapRange(sourceArray, 0, sourceArray.length, destinations);
+        } else if (executor instanceof ForkJoinPool) {
+            ForkJoinPool pool = (ForkJoinPool) executor;
+            int chunkSize = getChunkSize(
+                    sourceArray.length, pool.getParallelism(), sequentialThreshold);
+
+            pool.invoke(new MapRangeTask(chunkMapper, destinationClass, sourceArray, destinations,
+                    0, sourceArray.length, chunkSize));
+        } else {
+            int chunkSize = getChunkSize(sourceArray.length,
+                    Runtime.getRuntime().availableProcessors(), sequentialThreshold);
+
+            mapUsingExecutor(chunkMapper, destinationClass, sourceArray, destinations, executor,
+                    chunkSize);
+        }
+
+        return (List<D>) Arrays.asList(destinations);
+    }
+
+    static <D> CompletableFuture<List<D>> mapAllAsync(final Supplier<? extends Mapper> chunkMapper,
+            final List<?> sources, final Class<D> destinationClass, final Executor executor,
+            final int sequentialThreshold) {
+        // snapshot is taken by calling thread, so later source list changes do not matter
+        Object[] sourceArray = sources.toArray();
+        Object[] destinations = new Object[sourceArray.length];
+        int chunkSize = getChunkSize(sourceArray.length,
+                Runtime.getRuntime().availableProcessors(), sequentialThreshold);
+        List<CompletableFuture<Void>> chunks = new ArrayList<>(
+                sourceArray.length / chunkSize + 1);
+
+        for (int i = 0; i < sourceArray.length; i += chunkSize) {
+            int fromIndex = i;
+            int toIndex = Math.min(sourceArray.length, i + chunkSize);
+
+            chunks.add(CompletableFuture.runAsync(
+                    () -> new BatchMapping(chunkMapper.get(), destinationClass)
+                            .mapRange(sourceArray, fromIndex, toIndex, destinations),
+                    executor));
+        }
+
+        return CompletableFuture
+                .allOf(chunks.toArray(new CompletableFuture[chunks.size()]))
+                .thenApply(notUsed -> (List<D>) Arrays.asList(destinations));
+    }
+
+    static Executor getDefaultAsyncExecutor() {
+        return DefaultAsyncExecutorHolder.EXECUTOR;
+    }
+
+    private static void mapUsingExecutor(final Supplier<? extends Mapper> chunkMapper,
+            final Class destinationClass, final Object[] sources, final Object[] destinations,
+            final ExecutorService executor, final int chunkSize) {
+        List<Future<?>> chunks = new ArrayList<>(sources.length / chunkSize + 1);
+
+        try {
+            for (int i = 0; i < sources.length; i += chunkSize) {
+                int fromIndex = i;
+                int toIndex = Math.min(sources.length, i + chunkSize);
+
+                chunks.add(executor.submit(
+                        () -> new BatchMapping(chunkMapper.get(), destinationClass)
+                                .mapRange(sources, fromIndex, toIndex, destinations)));
+            }
+
+            for (Future<?> i : chunks) {
+                i.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+
+            throw new MappingException("Interrupted while waiting for mapping result.", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new MappingException("Failed to map batch.", cause);
+            }
+        } finally {
+            // remaining chunks are not needed when any chunk has failed
+            for (Future<?> i : chunks) {
+                i.cancel(false);
+            }
+        }
+    }
+
+    private static int getChunkSize(
+            final int size, final int parallelism, final int sequentialThreshold) {
+        int chunks = Math.max(1, parallelism) * CHUNKS_PER_THREAD;
+
+        return Math.max(sequentialThreshold, (size + chunks - 1) / chunks);
+    }
+}
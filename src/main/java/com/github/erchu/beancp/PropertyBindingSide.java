@@ -19,6 +19,7 @@ package com.github.erchu.beancp;
 
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 import java.util.Objects;
 import static org.apache.commons.lang3.Validate.*;
 
@@ -31,6 +32,10 @@ public class PropertyBindingSide implements BindingSide {
 
     private final Method _writeMethod;
 
+    private final MemberGetter _getter;
+
+    private final MemberSetter _setter;
+
     private final String _name;
 
     private final Class _valueClass;
@@ -46,6 +51,8 @@ public class PropertyBindingSide implements BindingSide {
         this._readMethod = propertyDescriptor.getReadMethod();
         this._writeMethod = propertyDescriptor.getWriteMethod();
         this._name = propertyDescriptor.getName();
+        this._getter = MemberAccessors.getter(_readMethod);
+        this._setter = MemberAccessors.setter(_writeMethod);
     }
 
     @Override
@@ -54,8 +61,11 @@ public class PropertyBindingSide implements BindingSide {
         isTrue(_readMethod != null, "Getter is not available.");
 
         try {
-            return _readMethod.invoke(object);
-        } catch (Exception ex) {
+            return _getter.get(object);
+        } catch (Error ex) {
+            // virtual machine errors (for example stack overflow) are not mapping failures
+            throw ex;
+        } catch (Throwable ex) {
             throw new MappingException(
                     String.format("Failed to get value from %s", _readMethod), ex);
         }
@@ -67,8 +77,11 @@ public class PropertyBindingSide implements BindingSide {
         isTrue(_writeMethod != null, "Setter is not available.");
 
         try {
-            _writeMethod.invoke(object, value);
-        } catch (Exception ex) {
+            _setter.set(object, value);
+        } catch (Error ex) {
+            // virtual machine errors (for example stack overflow) are not mapping failures
+            throw ex;
+        } catch (Throwable ex) {
             throw new MappingException(
                     String.format("Failed to get value from %s", _readMethod), ex);
         }
@@ -85,6 +98,19 @@ public class PropertyBindingSide implements BindingSide {
         return _valueClass;
     }
 
+    @Override
+    public Type getValueType() {
+        if (_readMethod != null) {
+            return _readMethod.getGenericReturnType();
+        }
+
+        if (_writeMethod != null && _writeMethod.getGenericParameterTypes().length == 1) {
+            return _writeMethod.getGenericParameterTypes()[0];
+        }
+
+        return _valueClass;
+    }
+
     @Override
     public String getName() {
         return _name;
@@ -100,6 +126,24 @@ public class PropertyBindingSide implements BindingSide {
         return (_writeMethod != null);
     }
 
+    /**
+     * Returns read method.
+     *
+     * @return read method, null if not available.
+     */
+    Method getReadMethod() {
+        return _readMethod;
+    }
+
+    /**
+     * Returns write method.
+     *
+     * @return write method, null if not available.
+     */
+    Method getWriteMethod() {
+        return _writeMethod;
+    }
+
     @Override
     public int hashCode() {
         int hash = 5;
@@ -0,0 +1,87 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Iterator mapping each source object to single destination object (created when first source
+ * object is mapped) and returning it. Mapping is resolved (see
+ * {@link Mapper#forPair(java.lang.Class, java.lang.Class)}) once per distinct source object class
+ * in a row. Null source object is returned as null and does not change destination object.
+ *
+ * @param <S> source object class.
+ * @param <D> destination object class.
+ */
+final class ReusedDestinationIterator<S, D> implements Iterator<D> {
+
+    private final Mapper _mapper;
+
+    private final Iterator<? extends S> _sources;
+
+    private final Supplier<D> _destinationFactory;
+
+    private final Consumer<? super D> _resetAction;
+
+    private D _destination;
+
+    private TypedMapper _lastTypedMapper;
+
+    ReusedDestinationIterator(final Mapper mapper, final Iterator<? extends S> sources,
+            final Supplier<D> destinationFactory,
+            final Consumer<? super D> resetAction) {
+        _mapper = mapper;
+        _sources = sources;
+        _destinationFactory = destinationFactory;
+        _resetAction = resetAction;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return _sources.hasNext();
+    }
+
+    @Override
+    public D next() {
+        S source = _sources.next();
+
+        if (source == null) {
+            return null;
+        }
+
+        if (_destination == null) {
+            _destination = _destinationFactory.get();
+
+            if (_destination == null) {
+                throw new MappingException("Destination object factory returned null.");
+            }
+        } else if (_resetAction != null) {
+            _resetAction.accept(_destination);
+        }
+
+        if (_lastTypedMapper == null || _lastTypedMapper.getSourceClass() != source.getClass()) {
+            _lastTypedMapper = _mapper.forPair(source.getClass(), _destination.getClass());
+        }
+
+        _lastTypedMapper.map(source, _destination);
+
+        return _destination;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+/**
+ * Mapping handle for fixed source and destination classes, returned by
+ * {@link Mapper#forPair(java.lang.Class, java.lang.Class)}. Converter, map or convention used by
+ * handle is resolved once when handle is created, so handle may be stored (for example in static
+ * final field) and used many times. Implementation is thread-safe.
+ *
+ * <p>
+ * Handle does not validate arguments and does not wrap exceptions thrown by mapping actions,
+ * which makes it cheaper than corresponding {@link Mapper} methods.
+ * </p>
+ *
+ * @param <S> source object class.
+ * @param <D> destination object class.
+ */
+public interface TypedMapper<S, D> {
+
+    /**
+     * Returns source class this handle was created for.
+     *
+     * @return source class.
+     */
+    Class<S> getSourceClass();
+
+    /**
+     * Returns destination class this handle was created for.
+     *
+     * @return destination class.
+     */
+    Class<D> getDestinationClass();
+
+    /**
+     * Constructs destination object and copies data from source object to newly created destination
+     * object. Works as {@link Mapper#map(java.lang.Object, java.lang.Class)}, but always uses
+     * converter or map resolved for handle classes, even if source object is instance of source
+     * class subclass.
+     *
+     * @param source source object, cannot be null.
+     * @return destination object.
+     */
+    D map(S source) throws MappingException;
+
+    /**
+     * Copies data from source object to destination object. Works as
+     * {@link Mapper#map(java.lang.Object, java.lang.Object)}, but always uses map resolved for
+     * handle classes, even if source or destination objects are instances of subclasses. If there
+     * is only converter available for handle classes then {@link MappingException} will be thrown.
+     *
+     * @param source source object, cannot be null.
+     * @param destination destination object, cannot be null.
+     */
+    void map(S source, D destination) throws MappingException;
+}
@@ -0,0 +1,78 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Default implementation of {@link TypedMapper} interface. All decisions are made when instance is
+ * created, so {@code map} methods are straight calls to resolved mapping actions.
+ *
+ * @param <S> source object class.
+ * @param <D> destination object class.
+ */
+final class TypedMapperImpl<S, D> implements TypedMapper<S, D> {
+
+    private final Class<S> _sourceClass;
+
+    private final Class<D> _destinationClass;
+
+    private final Function<S, D> _mapToNewObject;
+
+    private final BiConsumer<S, D> _mapToExistingObject;
+
+    /**
+     * Creates handle.
+     *
+     * @param sourceClass source class.
+     * @param destinationClass destination class.
+     * @param mapToNewObject action creating destination object from source object.
+     * @param mapToExistingObject action copying data from source object to destination object.
+     */
+    TypedMapperImpl(
+            final Class<S> sourceClass,
+            final Class<D> destinationClass,
+            final Function<S, D> mapToNewObject,
+            final BiConsumer<S, D> mapToExistingObject) {
+        _sourceClass = sourceClass;
+        _destinationClass = destinationClass;
+        _mapToNewObject = mapToNewObject;
+        _mapToExistingObject = mapToExistingObject;
+    }
+
+    @Override
+    public Class<S> getSourceClass() {
+        return _sourceClass;
+    }
+
+    @Override
+    public Class<D> getDestinationClass() {
+        return _destinationClass;
+    }
+
+    @Override
+    public D map(final S source) {
+        return _mapToNewObject.apply(source);
+    }
+
+    @Override
+    public void map(final S source, final D destination) {
+        _mapToExistingObject.accept(source, destination);
+    }
+}
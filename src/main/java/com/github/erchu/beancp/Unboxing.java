@@ -0,0 +1,127 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+/**
+ * Unboxing conversions of values passed to primitive members. Same conversions as performed by
+ * {@link java.lang.reflect.Method#invoke(java.lang.Object, java.lang.Object...)} are allowed:
+ * unboxing optionally followed by primitive widening. Used by generated classes.
+ */
+final class Unboxing {
+
+    private Unboxing() {
+        throw new AssertionError(
+                String.format(
+                        "Creating an instance of the %s class is not allowed.",
+                        Unboxing.class));
+    }
+
+    static boolean toBoolean(final Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+
+        throw mismatch(value, boolean.class);
+    }
+
+    static char toChar(final Object value) {
+        if (value instanceof Character) {
+            return (Character) value;
+        }
+
+        throw mismatch(value, char.class);
+    }
+
+    static byte toByte(final Object value) {
+        if (value instanceof Byte) {
+            return (Byte) value;
+        }
+
+        throw mismatch(value, byte.class);
+    }
+
+    static short toShort(final Object value) {
+        if (value instanceof Short || value instanceof Byte) {
+            return ((Number) value).shortValue();
+        }
+
+        throw mismatch(value, short.class);
+    }
+
+    static int toInt(final Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).intValue();
+        }
+
+        if (value instanceof Character) {
+            return (Character) value;
+        }
+
+        throw mismatch(value, int.class);
+    }
+
+    static long toLong(final Object value) {
+        if (value instanceof Long) {
+            return (Long) value;
+        }
+
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte
+                || value instanceof Character) {
+            return toInt(value);
+        }
+
+        throw mismatch(value, long.class);
+    }
+
+    static float toFloat(final Object value) {
+        if (value instanceof Float) {
+            return (Float) value;
+        }
+
+        if (value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte || value instanceof Character) {
+            return toLong(value);
+        }
+
+        throw mismatch(value, float.class);
+    }
+
+    static double toDouble(final Object value) {
+        if (value instanceof Double) {
+            return (Double) value;
+        }
+
+        if (value instanceof Float || value instanceof Long || value instanceof Integer
+                || value instanceof Short || value instanceof Byte
+                || value instanceof Character) {
+            return toFloatOrLong(value);
+        }
+
+        throw mismatch(value, double.class);
+    }
+
+    private static double toFloatOrLong(final Object value) {
+        return (value instanceof Float) ? (Float) value : toLong(value);
+    }
+
+    private static IllegalArgumentException mismatch(final Object value, final Class type) {
+        return new IllegalArgumentException(String.format(
+                "Value of %s cannot be assigned to %s member",
+                (value == null) ? "null" : value.getClass().getName(), type.getName()));
+    }
+}
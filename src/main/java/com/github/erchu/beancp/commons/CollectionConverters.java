@@ -19,6 +19,9 @@ package com.github.erchu.beancp.commons;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
 import java.util.AbstractCollection;
 import java.util.AbstractList;
 import java.util.AbstractSequentialList;
@@ -33,6 +36,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableSet;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.Stack;
@@ -41,8 +45,13 @@ import java.util.Vector;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 import com.github.erchu.beancp.Converter;
+import com.github.erchu.beancp.Mapper;
 import com.github.erchu.beancp.MappingException;
+import static org.apache.commons.lang3.Validate.*;
 
 /**
  * Converters from arrays to collections and from collections to arrays and from collections to
@@ -69,6 +78,16 @@ import com.github.erchu.beancp.MappingException;
  * <li>TreeSet</li>
  * <li>Vector</li>
  * </ul>
+ *
+ * <p>
+ * Converters copy element references. To map elements to other class use
+ * {@link #getArrayToArray(java.lang.Class, java.lang.Class)} converter or
+ * {@link #mapElements(com.github.erchu.beancp.Mapper, java.util.Collection, java.lang.Class)}
+ * family of methods, or
+ * {@link #mapLazily(com.github.erchu.beancp.Mapper, java.util.List, java.lang.Class, boolean)}
+ * to map elements only when they are read. {@link NameBasedMapConvention} maps collection and
+ * array members by {@code mapElements} when element types (declared by generic types) differ.
+ * </p>
  */
 public class CollectionConverters {
 
@@ -78,9 +97,15 @@ public class CollectionConverters {
 
     private final static Collection<Class<? extends Collection>> _collectionTypes;
 
+    private final static Map<Class, Function<Collection, Collection>> _collectionCopyFactories;
+
+    private final static Map<Class, IntFunction<Collection>> _presizedCollectionFactories;
+
     static {
         _defaultCollectionImplementations = getDefaultCollectionImplementations();
         _collectionTypes = getCollectionTypes();
+        _collectionCopyFactories = getCollectionCopyFactories();
+        _presizedCollectionFactories = getPresizedCollectionFactories();
         _collectionToCollectionConverters = buildCollectionToCollectionConverters(_collectionTypes);
     }
 
@@ -111,16 +136,16 @@ public class CollectionConverters {
                 (Object source) -> {
                     Collection<T> sourceCollection = (Collection<T>) source;
 
+                    if (collectionElementClass.isPrimitive()) {
+                        return PrimitiveArrayConverters.toPrimitiveArray(
+                                sourceCollection, collectionElementClass);
+                    }
+
                     Object destination = Array.newInstance(
                             collectionElementClass, sourceCollection.size());
 
-                    int i = 0;
-
-                    for (T item : sourceCollection) {
-                        Array.set(destination, i++, item);
-                    }
-
-                    return destination;
+                    // bulk copy, returns new array if collection size has changed meanwhile
+                    return sourceCollection.toArray((T[]) destination);
                 }
         );
     }
@@ -138,23 +163,270 @@ public class CollectionConverters {
         int i = 0;
 
         for (Class<? extends Collection> iCollectionType : _collectionTypes) {
+            Function<Collection, Collection> copyFactory
+                    = getCollectionCopyFactory(iCollectionType);
+
             result[i++] = new Converter(
                     getArrayClass(collectionElementClass),
                     iCollectionType,
-                    (Object source) -> {
-                        T[] sourceArray = (T[]) source;
-                        Collection destination = createCollectoinInstance(iCollectionType);
+                    (Object source) -> copyFactory.apply(Arrays.asList(
+                            collectionElementClass.isPrimitive()
+                                    ? PrimitiveArrayConverters.toWrapperArray(source)
+                                    : (T[]) source))
+            );
+        }
 
-                        Arrays.stream(sourceArray).forEach(destination::add);
+        return result;
+    }
 
-                        return destination;
-                    }
-            );
+    /**
+     * Returns array to array converter mapping each element using mapper. Source element class
+     * may be primitive, then elements are mapped from their wrappers. Destination element class
+     * must not be primitive (use {@link PrimitiveArrayConverters} for primitive type arrays).
+     *
+     * @param <S> source element type.
+     * @param <D> destination element type.
+     * @param sourceElementClass source element class.
+     * @param destinationElementClass destination element class, must not be primitive.
+     * @return array to array converter.
+     */
+    public static <S, D> Converter getArrayToArray(
+            final Class<S> sourceElementClass, final Class<D> destinationElementClass) {
+        notNull(sourceElementClass, "sourceElementClass");
+        notNull(destinationElementClass, "destinationElementClass");
+        isTrue(destinationElementClass.isPrimitive() == false,
+                "destinationElementClass must not be primitive");
+
+        return new Converter(
+                getArrayClass(sourceElementClass),
+                getArrayClass(destinationElementClass),
+                (BiFunction<Mapper, Object, Object>) (mapper, source) -> mapElementsToArray(
+                        mapper,
+                        Arrays.asList(sourceElementClass.isPrimitive()
+                                ? PrimitiveArrayConverters.toWrapperArray(source)
+                                : (S[]) source),
+                        destinationElementClass)
+        );
+    }
+
+    /**
+     * Maps each element of source collection to destination element class and returns list of
+     * results (in the same order). Mapping is resolved once per distinct element class, null
+     * elements are mapped to null.
+     *
+     * @param <D> destination element type.
+     * @param mapper mapper used to map elements.
+     * @param source source collection.
+     * @param destinationElementClass destination element class.
+     * @return list of mapped elements.
+     * @throws MappingException if mapping for any element is not available.
+     */
+    public static <D> List<D> mapElements(final Mapper mapper, final Collection<?> source,
+            final Class<D> destinationElementClass) throws MappingException {
+        return (List<D>) mapElements(mapper, source, destinationElementClass, List.class);
+    }
+
+    /**
+     * Maps each element of source collection to destination element class and returns collection
+     * of results. Mapping is resolved once per distinct element class, null elements are mapped to
+     * null.
+     *
+     * @param <D> destination element type.
+     * @param mapper mapper used to map elements.
+     * @param source source collection.
+     * @param destinationElementClass destination element class.
+     * @param destinationCollectionClass destination collection class, one of classes supported by
+     * collection converters.
+     * @return collection of mapped elements.
+     * @throws MappingException if mapping for any element is not available.
+     */
+    public static <D> Collection<D> mapElements(final Mapper mapper, final Collection<?> source,
+            final Class<D> destinationElementClass,
+            final Class<? extends Collection> destinationCollectionClass)
+            throws MappingException {
+        notNull(mapper, "mapper");
+        notNull(source, "source");
+        notNull(destinationElementClass, "destinationElementClass");
+        notNull(destinationCollectionClass, "destinationCollectionClass");
+
+        Class<? extends Collection> implementationType
+                = getImplementationType(destinationCollectionClass);
+
+        if (implementationType == CopyOnWriteArrayList.class
+                || implementationType == CopyOnWriteArraySet.class) {
+            // copy-on-write collection copies its array on each add, so elements are added at once
+            List<D> result = new ArrayList<>(source.size());
+            mapElements(mapper, source, destinationElementClass, result);
+
+            return getCollectionCopyFactory(implementationType).apply(result);
         }
 
+        IntFunction<Collection> presizedFactory
+                = _presizedCollectionFactories.get(implementationType);
+        Collection<D> result = (presizedFactory != null)
+                ? presizedFactory.apply(source.size())
+                : createCollectionInstance(implementationType);
+        mapElements(mapper, source, destinationElementClass, result);
+
         return result;
     }
 
+    /**
+     * Maps each element of source collection to destination element class and returns array of
+     * results. Mapping is resolved once per distinct element class, null elements are mapped to
+     * null.
+     *
+     * @param <D> destination element type.
+     * @param mapper mapper used to map elements.
+     * @param source source collection.
+     * @param destinationElementClass destination element class.
+     * @return array of mapped elements.
+     * @throws MappingException if mapping for any element is not available.
+     */
+    public static <D> D[] mapElementsToArray(final Mapper mapper, final Collection<?> source,
+            final Class<D> destinationElementClass) throws MappingException {
+        notNull(mapper, "mapper");
+        notNull(source, "source");
+        notNull(destinationElementClass, "destinationElementClass");
+
+        D[] result = (D[]) Array.newInstance(destinationElementClass, source.size());
+        mapElements(mapper, source, destinationElementClass, result);
+
+        return result;
+    }
+
+    /**
+     * Returns read-only list view of source list mapping each element to destination element class
+     * when it is read. View reflects changes of source list. Mapping cost is proportional to number
+     * of elements read instead of list size.
+     *
+     * @param <D> destination element type.
+     * @param mapper mapper used to map elements.
+     * @param source source list.
+     * @param destinationElementClass destination element class.
+     * @return list view of mapped elements.
+     */
+    public static <D> List<D> mapLazily(final Mapper mapper, final List<?> source,
+            final Class<D> destinationElementClass) {
+        return mapLazily(mapper, source, destinationElementClass, false);
+    }
+
+    /**
+     * Returns read-only list view of source list mapping each element to destination element class
+     * when it is read. When {@code memoize} is {@code true} then each element is mapped at most
+     * once (and the same destination element is returned every time it is read), in such case
+     * source list must not be structurally modified while view is used and view is not
+     * thread-safe.
+     *
+     * @param <D> destination element type.
+     * @param mapper mapper used to map elements.
+     * @param source source list.
+     * @param destinationElementClass destination element class.
+     * @param memoize {@code true} if mapped elements should be remembered.
+     * @return list view of mapped elements.
+     */
+    public static <D> List<D> mapLazily(final Mapper mapper, final List<?> source,
+            final Class<D> destinationElementClass, final boolean memoize) {
+        notNull(mapper, "mapper");
+        notNull(source, "source");
+        notNull(destinationElementClass, "destinationElementClass");
+
+        return (source instanceof RandomAccess)
+                ? new MappedListView.RandomAccessView<>(
+                        mapper, source, destinationElementClass, memoize)
+                : new MappedListView<>(mapper, source, destinationElementClass, memoize);
+    }
+
+    private static void mapElements(final Mapper mapper, final Collection<?> source,
+            final Class destinationElementClass, final Object[] destination) {
+        ElementMapper elementMapper = new ElementMapper(mapper, destinationElementClass);
+        int i = 0;
+
+        for (Object iElement : source) {
+            if (i == destination.length) {
+                throw sourceModified();
+            }
+
+            destination[i++] = elementMapper.map(iElement);
+        }
+
+        if (i != destination.length) {
+            throw sourceModified();
+        }
+    }
+
+    private static void mapElements(final Mapper mapper, final Collection<?> source,
+            final Class destinationElementClass, final Collection destination) {
+        ElementMapper elementMapper = new ElementMapper(mapper, destinationElementClass);
+
+        for (Object iElement : source) {
+            destination.add(elementMapper.map(iElement));
+        }
+    }
+
+    private static MappingException sourceModified() {
+        return new MappingException(
+                "Source collection size has changed while its elements were mapped.");
+    }
+
+    /**
+     * Returns element class of collection or array type, or null if it cannot be determined (ex.
+     * collection type is not generic).
+     */
+    static Class getElementClass(final Type collectionOrArrayType) {
+        if (collectionOrArrayType instanceof Class) {
+            Class arrayClass = (Class) collectionOrArrayType;
+
+            if (arrayClass.isArray() && arrayClass.getComponentType().isPrimitive() == false) {
+                return arrayClass.getComponentType();
+            }
+
+            return null;
+        }
+
+        if (collectionOrArrayType instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) collectionOrArrayType;
+            Type rawType = parameterizedType.getRawType();
+
+            if (rawType instanceof Class
+                    && Collection.class.isAssignableFrom((Class) rawType)
+                    && ((Class) rawType).getTypeParameters().length == 1) {
+                return getRawClass(parameterizedType.getActualTypeArguments()[0]);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns {@code true} if collection class is supported by collection converters, otherwise
+     * {@code false}.
+     */
+    static boolean isSupportedCollectionClass(final Class collectionClass) {
+        return _collectionTypes.contains(collectionClass);
+    }
+
+    private static Class getRawClass(final Type type) {
+        if (type instanceof Class) {
+            return (Class) type;
+        }
+
+        if (type instanceof ParameterizedType) {
+            return getRawClass(((ParameterizedType) type).getRawType());
+        }
+
+        if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+
+            if (wildcardType.getLowerBounds().length == 0
+                    && wildcardType.getUpperBounds().length == 1) {
+                return getRawClass(wildcardType.getUpperBounds()[0]);
+            }
+        }
+
+        return null;
+    }
+
     private static Class getArrayClass(final Class elementType) {
         return Array.newInstance(elementType, 0).getClass();
     }
@@ -209,40 +481,135 @@ public class CollectionConverters {
         int i = 0;
 
         for (Class<? extends Collection> iCollectionType : collectionTypes) {
+            Function<Collection, Collection> copyFactory
+                    = getCollectionCopyFactory(iCollectionType);
+
             result[i++] = new Converter(
                     Collection.class,
                     iCollectionType,
-                    (Object source) -> {
-                        Collection sourceCollection = (Collection) source;
-                        Collection destination = createCollectoinInstance(iCollectionType);
-
-                        destination.addAll(sourceCollection);
-
-                        return destination;
-                    }
+                    (Object source) -> copyFactory.apply((Collection) source)
             );
         }
 
         return result;
     }
 
-    private static Collection createCollectoinInstance(
+    /**
+     * Returns factories creating collection containing all elements of source collection. Copy
+     * constructors are used, so destination is created with capacity matching source size (and
+     * elements are copied in bulk where possible) instead of being grown while elements are added.
+     */
+    private static Map<Class, Function<Collection, Collection>> getCollectionCopyFactories() {
+        Map<Class, Function<Collection, Collection>> result = new HashMap<>();
+
+        result.put(ArrayList.class, ArrayList::new);
+        result.put(ConcurrentSkipListSet.class, ConcurrentSkipListSet::new);
+        result.put(CopyOnWriteArrayList.class, CopyOnWriteArrayList::new);
+        result.put(CopyOnWriteArraySet.class, CopyOnWriteArraySet::new);
+        result.put(HashSet.class, HashSet::new);
+        result.put(LinkedHashSet.class, LinkedHashSet::new);
+        result.put(LinkedList.class, LinkedList::new);
+        result.put(TreeSet.class, TreeSet::new);
+        result.put(Vector.class, Vector::new);
+        result.put(Stack.class, source -> {
+            Stack destination = new Stack();
+            destination.ensureCapacity(source.size());
+            destination.addAll(source);
+
+            return destination;
+        });
+
+        return result;
+    }
+
+    /**
+     * Returns factories creating empty collection able to hold passed number of elements without
+     * resizing.
+     */
+    private static Map<Class, IntFunction<Collection>> getPresizedCollectionFactories() {
+        Map<Class, IntFunction<Collection>> result = new HashMap<>();
+
+        result.put(ArrayList.class, ArrayList::new);
+        result.put(ConcurrentSkipListSet.class, size -> new ConcurrentSkipListSet());
+        result.put(HashSet.class, size -> new HashSet(getHashCapacity(size)));
+        result.put(LinkedHashSet.class, size -> new LinkedHashSet(getHashCapacity(size)));
+        result.put(LinkedList.class, size -> new LinkedList());
+        result.put(TreeSet.class, size -> new TreeSet());
+        result.put(Vector.class, Vector::new);
+        result.put(Stack.class, size -> {
+            Stack destination = new Stack();
+            destination.ensureCapacity(size);
+
+            return destination;
+        });
+
+        return result;
+    }
+
+    private static int getHashCapacity(final int size) {
+        // default load factor is 0.75
+        return (int) (size / 0.75f) + 1;
+    }
+
+    /**
+     * Returns class of created collection (default implementation for interfaces and abstract
+     * classes).
+     */
+    private static Class<? extends Collection> getImplementationType(
             final Class<? extends Collection> collectionType) {
-        try {
-            if (collectionType.isInterface() || Modifier.isAbstract(collectionType.getModifiers())) {
-                Class<? extends Collection> implementationType
-                        = _defaultCollectionImplementations.get(collectionType);
+        if (collectionType.isInterface() || Modifier.isAbstract(collectionType.getModifiers())) {
+            Class<? extends Collection> implementationType
+                    = _defaultCollectionImplementations.get(collectionType);
+
+            if (implementationType == null) {
+                throw new MappingException(String.format(
+                        "I don't know which implementation of %s use.",
+                        collectionType));
+            }
+
+            return implementationType;
+        }
+
+        return collectionType;
+    }
 
-                if (implementationType == null) {
+    private static Function<Collection, Collection> getCollectionCopyFactory(
+            final Class<? extends Collection> collectionType) {
+        Class<? extends Collection> implementationType = collectionType;
+
+        if (collectionType.isInterface() || Modifier.isAbstract(collectionType.getModifiers())) {
+            implementationType = _defaultCollectionImplementations.get(collectionType);
+
+            if (implementationType == null) {
+                return source -> {
                     throw new MappingException(String.format(
                             "I don't know which implementation of %s use.",
                             collectionType));
-                }
-
-                return implementationType.newInstance();
-            } else {
-                return collectionType.newInstance();
+                };
             }
+        }
+
+        Function<Collection, Collection> copyFactory
+                = _collectionCopyFactories.get(implementationType);
+
+        if (copyFactory != null) {
+            return copyFactory;
+        }
+
+        Class<? extends Collection> instanceType = implementationType;
+
+        return source -> {
+            Collection destination = createCollectionInstance(instanceType);
+            destination.addAll(source);
+
+            return destination;
+        };
+    }
+
+    private static Collection createCollectionInstance(
+            final Class<? extends Collection> collectionType) {
+        try {
+            return collectionType.newInstance();
         } catch (InstantiationException | IllegalAccessException ex) {
             throw new MappingException(
                     String.format("Failed to create instance of %s class.", collectionType));
@@ -0,0 +1,78 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import com.github.erchu.beancp.Binding;
+import com.github.erchu.beancp.BindingSide;
+import com.github.erchu.beancp.Mapper;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Binding from collection or array member to collection or array member with each element mapped
+ * to destination element class (before collection is set to destination).
+ */
+final class CollectionElementMapBinding extends Binding {
+
+    private final Class _destinationElementClass;
+
+    private final Class<? extends Collection> _destinationCollectionClass;
+
+    /**
+     * Creates binding.
+     *
+     * @param sourcePath series of bindings from source where n+1 binding returns member of object
+     * returned by n-th binding, last returns collection or array.
+     * @param destinationMember destination collection or array member.
+     * @param destinationElementClass destination element class.
+     * @param destinationCollectionClass destination collection class (supported by collection
+     * converters), null if destination member is array.
+     */
+    CollectionElementMapBinding(
+            final BindingSide[] sourcePath,
+            final BindingSide destinationMember,
+            final Class destinationElementClass,
+            final Class<? extends Collection> destinationCollectionClass) {
+        super(sourcePath, destinationMember);
+
+        _destinationElementClass = destinationElementClass;
+        _destinationCollectionClass = destinationCollectionClass;
+    }
+
+    @Override
+    protected void setValueAtDestination(
+            final Mapper mapper, final Object destination, final Object value) {
+        if (value == null) {
+            super.setValueAtDestination(mapper, destination, null);
+            return;
+        }
+
+        Collection sourceElements = (value instanceof Object[])
+                ? Arrays.asList((Object[]) value)
+                : (Collection) value;
+
+        Object mapResult = (_destinationCollectionClass == null)
+                ? CollectionConverters.mapElementsToArray(
+                        mapper, sourceElements, _destinationElementClass)
+                : CollectionConverters.mapElements(
+                        mapper, sourceElements, _destinationElementClass,
+                        _destinationCollectionClass);
+
+        super.setValueAtDestination(mapper, destination, mapResult);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.TypedMapper;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps elements of single collection (or map keys or values) to destination class. Mapping is
+ * resolved once per distinct element class, null elements are mapped to null.
+ *
+ * <p>
+ * Instance is used by single thread while single collection is mapped.
+ * </p>
+ */
+final class ElementMapper {
+
+    private final Mapper _mapper;
+
+    private final Class _destinationClass;
+
+    private Class _lastElementClass;
+
+    private TypedMapper _lastElementMapper;
+
+    private Map<Class, TypedMapper> _elementMappers;
+
+    ElementMapper(final Mapper mapper, final Class destinationClass) {
+        _mapper = mapper;
+        _destinationClass = destinationClass;
+    }
+
+    Object map(final Object element) {
+        if (element == null) {
+            return null;
+        }
+
+        Class elementClass = element.getClass();
+
+        if (elementClass != _lastElementClass) {
+            // most collections contain elements of single class, other are remembered as well
+            if (_lastElementMapper != null) {
+                if (_elementMappers == null) {
+                    _elementMappers = new HashMap<>();
+                }
+
+                _elementMappers.put(_lastElementClass, _lastElementMapper);
+            }
+
+            TypedMapper knownElementMapper
+                    = (_elementMappers == null) ? null : _elementMappers.get(elementClass);
+
+            _lastElementMapper = (knownElementMapper != null)
+                    ? knownElementMapper
+                    : _mapper.forPair(elementClass, _destinationClass);
+            _lastElementClass = elementClass;
+        }
+
+        return _lastElementMapper.map(element);
+    }
+}
@@ -0,0 +1,398 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import java.lang.reflect.Modifier;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.IntFunction;
+import com.github.erchu.beancp.Converter;
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.MappingException;
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * Converters from maps to maps and methods mapping map keys and values. Supported destination map
+ * classes:
+ *
+ * <ul>
+ * <li>Map</li>
+ * <li>NavigableMap</li>
+ * <li>SortedMap</li>
+ * <li>ConcurrentMap</li>
+ * <li>ConcurrentNavigableMap</li>
+ * <li>AbstractMap</li>
+ * <li>ConcurrentHashMap</li>
+ * <li>ConcurrentSkipListMap</li>
+ * <li>EnumMap</li>
+ * <li>HashMap</li>
+ * <li>Hashtable</li>
+ * <li>IdentityHashMap</li>
+ * <li>LinkedHashMap</li>
+ * <li>TreeMap</li>
+ * </ul>
+ *
+ * <p>
+ * Destination map is created with capacity matching source size. When keys are enum constants
+ * (source is {@link EnumMap} or destination key class is enum) and destination class is
+ * {@link Map}, {@link AbstractMap} or {@link EnumMap} then {@link EnumMap} is created. When
+ * source is {@link SortedMap} then {@link TreeMap} and {@link ConcurrentSkipListMap} are created
+ * with source comparator.
+ * </p>
+ */
+public class MapConverters {
+
+    private final static Map<Class, Class<? extends Map>> _defaultMapImplementations;
+
+    private final static Collection<Class<? extends Map>> _mapTypes;
+
+    private final static Map<Class, IntFunction<Map>> _presizedMapFactories;
+
+    private final static Converter[] _mapToMapConverters;
+
+    static {
+        _defaultMapImplementations = getDefaultMapImplementations();
+        _presizedMapFactories = getPresizedMapFactories();
+        _mapTypes = getMapTypes();
+        _mapToMapConverters = buildMapToMapConverters(_mapTypes);
+    }
+
+    private MapConverters() {
+    }
+
+    /**
+     * Returns map to map converters. Converters copy key and value references.
+     *
+     * @return map to map converters.
+     */
+    public static Converter[] get() {
+        return _mapToMapConverters;
+    }
+
+    /**
+     * Returns map with the same keys as source map and values mapped to passed class. Mapping is
+     * resolved once per distinct value class, null values are mapped to null.
+     *
+     * @param <K> key type.
+     * @param <V> destination value type.
+     * @param mapper mapper used to map values.
+     * @param source source map.
+     * @param destinationValueClass destination value class.
+     * @return map with mapped values.
+     * @throws MappingException if mapping for any value is not available.
+     */
+    public static <K, V> Map<K, V> mapValues(final Mapper mapper, final Map<K, ?> source,
+            final Class<V> destinationValueClass) throws MappingException {
+        notNull(mapper, "mapper");
+        notNull(source, "source");
+        notNull(destinationValueClass, "destinationValueClass");
+
+        ElementMapper valueMapper = new ElementMapper(mapper, destinationValueClass);
+
+        if (source instanceof EnumMap) {
+            // the same key type, values are replaced in place of copied ones
+            EnumMap result = new EnumMap((EnumMap) source);
+            result.replaceAll((key, value) -> valueMapper.map(value));
+
+            return result;
+        }
+
+        Map<K, V> result = getPresizedMapFactory(Map.class, null).apply(source.size());
+
+        for (Map.Entry<K, ?> iEntry : source.entrySet()) {
+            result.put(iEntry.getKey(), (V) valueMapper.map(iEntry.getValue()));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns map with keys and values of source map mapped to passed classes. Mappings are
+     * resolved once per distinct key and value class, null keys and values are mapped to null.
+     *
+     * @param <K> destination key type.
+     * @param <V> destination value type.
+     * @param mapper mapper used to map keys and values.
+     * @param source source map.
+     * @param destinationKeyClass destination key class.
+     * @param destinationValueClass destination value class.
+     * @return map with mapped keys and values.
+     * @throws MappingException if mapping for any key or value is not available.
+     */
+    public static <K, V> Map<K, V> mapEntries(final Mapper mapper, final Map<?, ?> source,
+            final Class<K> destinationKeyClass, final Class<V> destinationValueClass)
+            throws MappingException {
+        return mapEntries(mapper, source, destinationKeyClass, destinationValueClass, Map.class);
+    }
+
+    /**
+     * Returns map of passed class with keys and values of source map mapped to passed classes.
+     * Mappings are resolved once per distinct key and value class, null keys and values are
+     * mapped to null.
+     *
+     * @param <K> destination key type.
+     * @param <V> destination value type.
+     * @param mapper mapper used to map keys and values.
+     * @param source source map.
+     * @param destinationKeyClass destination key class.
+     * @param destinationValueClass destination value class.
+     * @param destinationMapClass destination map class, one of classes supported by map
+     * converters.
+     * @return map with mapped keys and values.
+     * @throws MappingException if mapping for any key or value is not available.
+     */
+    public static <K, V> Map<K, V> mapEntries(final Mapper mapper, final Map<?, ?> source,
+            final Class<K> destinationKeyClass, final Class<V> destinationValueClass,
+            final Class<? extends Map> destinationMapClass) throws MappingException {
+        notNull(mapper, "mapper");
+        notNull(source, "source");
+        notNull(destinationKeyClass, "destinationKeyClass");
+        notNull(destinationValueClass, "destinationValueClass");
+        notNull(destinationMapClass, "destinationMapClass");
+
+        ElementMapper keyMapper = new ElementMapper(mapper, destinationKeyClass);
+        ElementMapper valueMapper = new ElementMapper(mapper, destinationValueClass);
+        Map<K, V> result = createMap(destinationMapClass,
+                getPresizedMapFactory(destinationMapClass, destinationKeyClass), source);
+
+        for (Map.Entry<?, ?> iEntry : source.entrySet()) {
+            K key = (K) keyMapper.map(iEntry.getKey());
+
+            try {
+                result.put(key, (V) valueMapper.map(iEntry.getValue()));
+            } catch (NullPointerException | ClassCastException ex) {
+                // null key (EnumMap, TreeMap) or key not matching comparator
+                throw new MappingException(String.format(
+                        "Cannot put %s key to %s.", key, result.getClass()), ex);
+            }
+        }
+
+        return result;
+    }
+
+    private static Converter[] buildMapToMapConverters(
+            final Collection<Class<? extends Map>> mapTypes) {
+        Converter[] result = new Converter[mapTypes.size()];
+        int i = 0;
+
+        for (Class<? extends Map> iMapType : mapTypes) {
+            IntFunction<Map> mapFactory = (iMapType == EnumMap.class)
+                    ? null
+                    : getPresizedMapFactory(iMapType, null);
+            boolean enumMapAllowed = isEnumMapAllowed(iMapType);
+
+            result[i++] = new Converter(
+                    Map.class,
+                    iMapType,
+                    (Object source) -> {
+                        Map sourceMap = (Map) source;
+
+                        if (enumMapAllowed && sourceMap instanceof EnumMap) {
+                            return new EnumMap((EnumMap) sourceMap);
+                        }
+
+                        if (mapFactory == null) {
+                            return createEnumMap(sourceMap);
+                        }
+
+                        Map destination = createMap(iMapType, mapFactory, sourceMap);
+
+                        try {
+                            destination.putAll(sourceMap);
+                        } catch (NullPointerException | ClassCastException ex) {
+                            // null key (TreeMap) or key not matching comparator
+                            throw new MappingException(String.format(
+                                    "Cannot put keys of %s to %s.",
+                                    sourceMap.getClass(), destination.getClass()), ex);
+                        }
+
+                        return destination;
+                    }
+            );
+        }
+
+        return result;
+    }
+
+    private static Map createEnumMap(final Map source) {
+        if (source.isEmpty()) {
+            throw new MappingException(
+                    "Cannot determine key class of EnumMap created from empty map.");
+        }
+
+        try {
+            return new EnumMap(source);
+        } catch (ClassCastException ex) {
+            throw new MappingException("Map keys are not constants of single enum.", ex);
+        }
+    }
+
+    /**
+     * Creates empty map for entries of source map. Sorted map is created with comparator of source
+     * sorted map.
+     */
+    private static Map createMap(final Class<? extends Map> mapType,
+            final IntFunction<Map> mapFactory, final Map source) {
+        Comparator comparator = (source instanceof SortedMap)
+                ? ((SortedMap) source).comparator()
+                : null;
+
+        if (comparator != null) {
+            Class<? extends Map> implementationType = getImplementationType(mapType);
+
+            if (implementationType == TreeMap.class) {
+                return new TreeMap(comparator);
+            } else if (implementationType == ConcurrentSkipListMap.class) {
+                return new ConcurrentSkipListMap(comparator);
+            }
+        }
+
+        return mapFactory.apply(source.size());
+    }
+
+    /**
+     * Returns factory creating empty map of passed class with capacity for passed number of
+     * entries.
+     */
+    private static IntFunction<Map> getPresizedMapFactory(
+            final Class<? extends Map> mapType, final Class keyClass) {
+        if (keyClass != null && keyClass.isEnum() && isEnumMapAllowed(mapType)) {
+            return size -> new EnumMap(keyClass);
+        }
+
+        if (mapType == EnumMap.class) {
+            return size -> {
+                throw new MappingException(String.format(
+                        "Cannot create EnumMap with %s key class.", keyClass));
+            };
+        }
+
+        Class<? extends Map> implementationType = getImplementationType(mapType);
+
+        if (implementationType == null) {
+            return size -> {
+                throw new MappingException(String.format(
+                        "I don't know which implementation of %s use.",
+                        mapType));
+            };
+        }
+
+        IntFunction<Map> mapFactory = _presizedMapFactories.get(implementationType);
+
+        if (mapFactory != null) {
+            return mapFactory;
+        }
+
+        Class<? extends Map> instanceType = implementationType;
+
+        return size -> createMapInstance(instanceType);
+    }
+
+    /**
+     * Returns class of map created for passed map class or null if it is abstract and has no
+     * default implementation.
+     */
+    private static Class<? extends Map> getImplementationType(final Class<? extends Map> mapType) {
+        if (mapType.isInterface() || Modifier.isAbstract(mapType.getModifiers())) {
+            return _defaultMapImplementations.get(mapType);
+        }
+
+        return mapType;
+    }
+
+    private static boolean isEnumMapAllowed(final Class<? extends Map> mapType) {
+        return mapType == Map.class || mapType == AbstractMap.class || mapType == EnumMap.class;
+    }
+
+    private static Map<Class, Class<? extends Map>> getDefaultMapImplementations() {
+        Map<Class, Class<? extends Map>> result = new HashMap<>();
+
+        result.put(AbstractMap.class, HashMap.class);
+        result.put(ConcurrentMap.class, ConcurrentHashMap.class);
+        result.put(ConcurrentNavigableMap.class, ConcurrentSkipListMap.class);
+        result.put(Map.class, HashMap.class);
+        result.put(NavigableMap.class, TreeMap.class);
+        result.put(SortedMap.class, TreeMap.class);
+
+        return result;
+    }
+
+    private static Collection<Class<? extends Map>> getMapTypes() {
+        Collection<Class<? extends Map>> result = new HashSet<>();
+
+        // interfaces and abstract classes with default implementation and implementations
+        for (Class i : _defaultMapImplementations.keySet()) {
+            result.add(i);
+        }
+
+        for (Class i : _presizedMapFactories.keySet()) {
+            result.add(i);
+        }
+
+        result.add(EnumMap.class);
+
+        return result;
+    }
+
+    /**
+     * Returns factories creating empty map able to hold passed number of entries without
+     * rehashing.
+     */
+    private static Map<Class, IntFunction<Map>> getPresizedMapFactories() {
+        Map<Class, IntFunction<Map>> result = new HashMap<>();
+
+        result.put(ConcurrentHashMap.class, ConcurrentHashMap::new);
+        result.put(ConcurrentSkipListMap.class, size -> new ConcurrentSkipListMap());
+        result.put(HashMap.class, size -> new HashMap(getHashCapacity(size)));
+        result.put(Hashtable.class, size -> new Hashtable(getHashCapacity(size)));
+        result.put(IdentityHashMap.class, IdentityHashMap::new);
+        result.put(LinkedHashMap.class, size -> new LinkedHashMap(getHashCapacity(size)));
+        result.put(TreeMap.class, size -> new TreeMap());
+
+        return result;
+    }
+
+    private static int getHashCapacity(final int size) {
+        // default load factor is 0.75
+        return (int) (size / 0.75f) + 1;
+    }
+
+    private static Map createMapInstance(final Class<? extends Map> mapType) {
+        try {
+            return mapType.newInstance();
+        } catch (InstantiationException | IllegalAccessException ex) {
+            throw new MappingException(
+                    String.format("Failed to create instance of %s class.", mapType));
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.TypedMapper;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list backed by source list which maps elements on access. Without memoization
+ * element is mapped every time it is read and view reflects changes of source list. With
+ * memoization element is mapped once per index and source list must not be structurally modified
+ * while view is used.
+ *
+ * <p>
+ * Memoizing view is not thread-safe.
+ * </p>
+ *
+ * @param <D> destination element type.
+ */
+class MappedListView<D> extends AbstractList<D> {
+
+    /**
+     * Random access view, created when source list supports fast random access.
+     */
+    static final class RandomAccessView<D> extends MappedListView<D> implements RandomAccess {
+
+        RandomAccessView(final Mapper mapper, final List<?> source,
+                final Class<D> destinationElementClass, final boolean memoize) {
+            super(mapper, source, destinationElementClass, memoize);
+        }
+    }
+
+    /**
+     * Mapping resolved for element class. Instances are immutable, so may be published by data
+     * race.
+     */
+    private static final class ResolvedMapping {
+
+        private final Class _elementClass;
+
+        private final TypedMapper _elementMapper;
+
+        ResolvedMapping(final Class elementClass, final TypedMapper elementMapper) {
+            _elementClass = elementClass;
+            _elementMapper = elementMapper;
+        }
+    }
+
+    private static final Object NOT_MAPPED = new Object();
+
+    private final Mapper _mapper;
+
+    private final List<?> _source;
+
+    private final Class<D> _destinationElementClass;
+
+    private final Object[] _mappedElements;
+
+    private ResolvedMapping _lastResolvedMapping;
+
+    MappedListView(final Mapper mapper, final List<?> source,
+            final Class<D> destinationElementClass, final boolean memoize) {
+        _mapper = mapper;
+        _source = source;
+        _destinationElementClass = destinationElementClass;
+
+        if (memoize) {
+            _mappedElements = new Object[source.size()];
+            Arrays.fill(_mappedElements, NOT_MAPPED);
+        } else {
+            _mappedElements = null;
+        }
+    }
+
+    @Override
+    public D get(final int index) {
+        if (_mappedElements != null && _mappedElements[index] != NOT_MAPPED) {
+            return (D) _mappedElements[index];
+        }
+
+        return getMemoized(index, _source.get(index));
+    }
+
+    @Override
+    public int size() {
+        return (_mappedElements == null) ? _source.size() : _mappedElements.length;
+    }
+
+    @Override
+    public Iterator<D> iterator() {
+        return listIterator();
+    }
+
+    @Override
+    public ListIterator<D> listIterator(final int index) {
+        if (this instanceof RandomAccess) {
+            return super.listIterator(index);
+        }
+
+        // source list may not support fast random access, so its iterator is used instead
+        ListIterator<?> sourceIterator = _source.listIterator(index);
+
+        return new ListIterator<D>() {
+
+            @Override
+            public boolean hasNext() {
+                return sourceIterator.hasNext();
+            }
+
+            @Override
+            public D next() {
+                int elementIndex = sourceIterator.nextIndex();
+                Object element = sourceIterator.next();
+
+                return getMemoized(elementIndex, element);
+            }
+
+            @Override
+            public boolean hasPrevious() {
+                return sourceIterator.hasPrevious();
+            }
+
+            @Override
+            public D previous() {
+                int elementIndex = sourceIterator.previousIndex();
+                Object element = sourceIterator.previous();
+
+                return getMemoized(elementIndex, element);
+            }
+
+            @Override
+            public int nextIndex() {
+                return sourceIterator.nextIndex();
+            }
+
+            @Override
+            public int previousIndex() {
+                return sourceIterator.previousIndex();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void set(final D e) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void add(final D e) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private D getMemoized(final int index, final Object element) {
+        if (_mappedElements == null) {
+            return mapElement(element);
+        }
+
+        Object mappedElement = _mappedElements[index];
+
+        if (mappedElement == NOT_MAPPED) {
+            mappedElement = mapElement(element);
+            _mappedElements[index] = mappedElement;
+        }
+
+        return (D) mappedElement;
+    }
+
+    private D mapElement(final Object element) {
+        if (element == null) {
+            return null;
+        }
+
+        ResolvedMapping resolvedMapping = _lastResolvedMapping;
+
+        if (resolvedMapping == null || resolvedMapping._elementClass != element.getClass()) {
+            resolvedMapping = new ResolvedMapping(element.getClass(),
+                    _mapper.forPair(element.getClass(), _destinationElementClass));
+            _lastResolvedMapping = resolvedMapping;
+        }
+
+        return (D) resolvedMapping._elementMapper.map(element);
+    }
+}
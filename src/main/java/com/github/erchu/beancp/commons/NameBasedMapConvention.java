@@ -20,6 +20,7 @@ package com.github.erchu.beancp.commons;
 import com.github.erchu.beancp.FieldBindingSide;
 import com.github.erchu.beancp.PropertyBindingSide;
 import com.github.erchu.beancp.Binding;
+import com.github.erchu.beancp.BindingWithPrimitiveConversion;
 import com.github.erchu.beancp.BindingWithValueConversion;
 import com.github.erchu.beancp.BindingWithValueMap;
 import com.github.erchu.beancp.BindingSide;
@@ -233,6 +234,18 @@ public class NameBasedMapConvention implements MapConvention {
         return this;
     }
 
+    /**
+     * Returns {@code true}, because bindings depends only on convention configuration, classes and
+     * available mappings. Convention configuration must not be changed after convention is added to
+     * mapper builder.
+     *
+     * @return {@code true}
+     */
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
     @Override
     public List<Binding> getBindings(
             final MappingInfo mappingsInfo,
@@ -553,11 +566,25 @@ public class NameBasedMapConvention implements MapConvention {
         Class sourceValueClass = sourceBindingSide[sourceBindingSide.length - 1].getValueClass();
         Class destinationValueClass = destinationBindingSide.getValueClass();
 
+        Binding collectionElementMapBinding = getCollectionElementMapBindingIfAvailable(
+                mappingsInfo, sourceBindingSide, destinationBindingSide);
+
+        if (collectionElementMapBinding != null) {
+            return collectionElementMapBinding;
+        }
+
         if (sourceValueClass.equals(destinationValueClass)) {
             return new Binding(sourceBindingSide, destinationBindingSide);
         } else {
             if (sourceClass.equals(sourceValueClass) && destinationClass.equals(destinationValueClass)) {
                 return new BindingWithValueMap(sourceBindingSide, destinationBindingSide);
+            } else if (BindingWithPrimitiveConversion.isSupported(
+                    sourceValueClass, destinationValueClass)
+                    && NumberConverters.isNumberConverter(
+                            mappingsInfo.getConverter(sourceValueClass, destinationValueClass))) {
+                // the same conversion as done by converter, but without boxing
+                return new BindingWithPrimitiveConversion(
+                        sourceBindingSide, destinationBindingSide);
             } else if (mappingsInfo.isConverterAvailable(sourceValueClass, destinationValueClass)) {
                 return new BindingWithValueConversion(sourceBindingSide, destinationBindingSide);
             } else if (mappingsInfo.isMapAvailable(sourceValueClass, destinationValueClass)) {
@@ -570,6 +597,40 @@ public class NameBasedMapConvention implements MapConvention {
         }
     }
 
+    private Binding getCollectionElementMapBindingIfAvailable(
+            final MappingInfo mappingsInfo,
+            final BindingSide[] sourceBindingSide,
+            final BindingSide destinationBindingSide) {
+        Class sourceElementClass = CollectionConverters.getElementClass(
+                sourceBindingSide[sourceBindingSide.length - 1].getValueType());
+        Class destinationElementClass = CollectionConverters.getElementClass(
+                destinationBindingSide.getValueType());
+
+        if (sourceElementClass == null || destinationElementClass == null
+                || sourceElementClass.equals(destinationElementClass)) {
+            return null;
+        }
+
+        if (mappingsInfo.isConverterAvailable(sourceElementClass, destinationElementClass) == false
+                && mappingsInfo.isMapAvailable(sourceElementClass, destinationElementClass) == false) {
+            return null;
+        }
+
+        Class destinationValueClass = destinationBindingSide.getValueClass();
+        Class destinationCollectionClass = null;
+
+        if (destinationValueClass.isArray() == false) {
+            if (CollectionConverters.isSupportedCollectionClass(destinationValueClass) == false) {
+                return null;
+            }
+
+            destinationCollectionClass = destinationValueClass;
+        }
+
+        return new CollectionElementMapBinding(sourceBindingSide, destinationBindingSide,
+                destinationElementClass, destinationCollectionClass);
+    }
+
     private static List<Predicate<String>> toPredicates(final String[] members) {
         return Arrays.stream(members)
                 .map(i -> Pattern.compile(i, Pattern.CASE_INSENSITIVE).asPredicate())
@@ -17,7 +17,12 @@
  */
 package com.github.erchu.beancp.commons;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 import java.util.function.Function;
+import com.github.erchu.beancp.BindingWithPrimitiveConversion;
 import com.github.erchu.beancp.Converter;
 
 /**
@@ -40,6 +45,15 @@ import com.github.erchu.beancp.Converter;
  */
 public class NumberConverters {
 
+    private static final Converter[] _converters = createConverters();
+
+    private static final Set<Converter> _converterSet
+            = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    static {
+        _converterSet.addAll(Arrays.asList(_converters));
+    }
+
     private NumberConverters() {
         throw new AssertionError(
                 String.format(
@@ -53,6 +67,18 @@ public class NumberConverters {
      * @return number converters.
      */
     public static Converter[] get() {
+        return _converters.clone();
+    }
+
+    /**
+     * Returns {@code true} if passed converter is one of number converters, so conversion may be
+     * done without boxing (see {@link BindingWithPrimitiveConversion}).
+     */
+    static boolean isNumberConverter(final Converter converter) {
+        return _converterSet.contains(converter);
+    }
+
+    private static Converter[] createConverters() {
         return new Converter[] {
             new Converter(byte.class, Byte.class, ((Function<Byte, Byte>) (source -> source))),
             new Converter(short.class, Short.class, ((Function<Short, Short>) (source -> source))),
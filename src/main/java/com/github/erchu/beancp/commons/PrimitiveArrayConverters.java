@@ -0,0 +1,826 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import java.util.Collection;
+import java.util.function.Function;
+import com.github.erchu.beancp.Converter;
+import com.github.erchu.beancp.MappingException;
+
+/**
+ * Conversions of primitive type arrays:
+ *
+ * <ul>
+ * <li>from primitive type array to array of its wrappers and back (for all primitive types),</li>
+ * <li>between arrays of primitive number types (byte, short, int, long, float, double), elements
+ * are converted as by Java cast.</li>
+ * </ul>
+ *
+ * <p>
+ * Conversions are done by typed loops, without reflection. Converting wrapper array containing
+ * null element to primitive type array fails with {@link MappingException}. Collection elements
+ * are converted to primitive number type as by Java cast from any {@link Number} or
+ * {@link Character}, other elements (and elements not matching boolean or char type) fail with
+ * {@link MappingException}.
+ * </p>
+ */
+public class PrimitiveArrayConverters {
+
+    private PrimitiveArrayConverters() {
+        throw new AssertionError(
+                String.format(
+                        "Creating an instance of the %s class is not allowed.",
+                        PrimitiveArrayConverters.class));
+    }
+
+    /**
+     * Returns primitive type array converters.
+     *
+     * @return primitive type array converters.
+     */
+    public static Converter[] get() {
+        return new Converter[] {
+            new Converter(boolean[].class, Boolean[].class, ((Function<boolean[], Boolean[]>) PrimitiveArrayConverters::toWrapperArray)),
+            new Converter(Boolean[].class, boolean[].class, ((Function<Boolean[], boolean[]>) PrimitiveArrayConverters::toBooleanArray)),
+            new Converter(byte[].class, Byte[].class, ((Function<byte[], Byte[]>) PrimitiveArrayConverters::toWrapperArray)),
+            new Converter(Byte[].class, byte[].class, ((Function<Byte[], byte[]>) PrimitiveArrayConverters::toByteArray)),
+            new Converter(char[].class, Character[].class, ((Function<char[], Character[]>) PrimitiveArrayConverters::toWrapperArray)),
+            new Converter(Character[].class, char[].class, ((Function<Character[], char[]>) PrimitiveArrayConverters::toCharArray)),
+            new Converter(short[].class, Short[].class, ((Function<short[], Short[]>) PrimitiveArrayConverters::toWrapperArray)),
+            new Converter(Short[].class, short[].class, ((Function<Short[], short[]>) PrimitiveArrayConverters::toShortArray)),
+            new Converter(int[].class, Integer[].class, ((Function<int[], Integer[]>) PrimitiveArrayConverters::toWrapperArray)),
+            new Converter(Integer[].class, int[].class, ((Function<Integer[], int[]>) PrimitiveArrayConverters::toIntArray)),
+            new Converter(long[].class, Long[].class, ((Function<long[], Long[]>) PrimitiveArrayConverters::toWrapperArray)),
+            new Converter(Long[].class, long[].class, ((Function<Long[], long[]>) PrimitiveArrayConverters::toLongArray)),
+            new Converter(float[].class, Float[].class, ((Function<float[], Float[]>) PrimitiveArrayConverters::toWrapperArray)),
+            new Converter(Float[].class, float[].class, ((Function<Float[], float[]>) PrimitiveArrayConverters::toFloatArray)),
+            new Converter(double[].class, Double[].class, ((Function<double[], Double[]>) PrimitiveArrayConverters::toWrapperArray)),
+            new Converter(Double[].class, double[].class, ((Function<Double[], double[]>) PrimitiveArrayConverters::toDoubleArray)),
+            new Converter(byte[].class, short[].class, ((Function<byte[], short[]>) PrimitiveArrayConverters::toShortArray)),
+            new Converter(byte[].class, int[].class, ((Function<byte[], int[]>) PrimitiveArrayConverters::toIntArray)),
+            new Converter(byte[].class, long[].class, ((Function<byte[], long[]>) PrimitiveArrayConverters::toLongArray)),
+            new Converter(byte[].class, float[].class, ((Function<byte[], float[]>) PrimitiveArrayConverters::toFloatArray)),
+            new Converter(byte[].class, double[].class, ((Function<byte[], double[]>) PrimitiveArrayConverters::toDoubleArray)),
+            new Converter(short[].class, byte[].class, ((Function<short[], byte[]>) PrimitiveArrayConverters::toByteArray)),
+            new Converter(short[].class, int[].class, ((Function<short[], int[]>) PrimitiveArrayConverters::toIntArray)),
+            new Converter(short[].class, long[].class, ((Function<short[], long[]>) PrimitiveArrayConverters::toLongArray)),
+            new Converter(short[].class, float[].class, ((Function<short[], float[]>) PrimitiveArrayConverters::toFloatArray)),
+            new Converter(short[].class, double[].class, ((Function<short[], double[]>) PrimitiveArrayConverters::toDoubleArray)),
+            new Converter(int[].class, byte[].class, ((Function<int[], byte[]>) PrimitiveArrayConverters::toByteArray)),
+            new Converter(int[].class, short[].class, ((Function<int[], short[]>) PrimitiveArrayConverters::toShortArray)),
+            new Converter(int[].class, long[].class, ((Function<int[], long[]>) PrimitiveArrayConverters::toLongArray)),
+            new Converter(int[].class, float[].class, ((Function<int[], float[]>) PrimitiveArrayConverters::toFloatArray)),
+            new Converter(int[].class, double[].class, ((Function<int[], double[]>) PrimitiveArrayConverters::toDoubleArray)),
+            new Converter(long[].class, byte[].class, ((Function<long[], byte[]>) PrimitiveArrayConverters::toByteArray)),
+            new Converter(long[].class, short[].class, ((Function<long[], short[]>) PrimitiveArrayConverters::toShortArray)),
+            new Converter(long[].class, int[].class, ((Function<long[], int[]>) PrimitiveArrayConverters::toIntArray)),
+            new Converter(long[].class, float[].class, ((Function<long[], float[]>) PrimitiveArrayConverters::toFloatArray)),
+            new Converter(long[].class, double[].class, ((Function<long[], double[]>) PrimitiveArrayConverters::toDoubleArray)),
+            new Converter(float[].class, byte[].class, ((Function<float[], byte[]>) PrimitiveArrayConverters::toByteArray)),
+            new Converter(float[].class, short[].class, ((Function<float[], short[]>) PrimitiveArrayConverters::toShortArray)),
+            new Converter(float[].class, int[].class, ((Function<float[], int[]>) PrimitiveArrayConverters::toIntArray)),
+            new Converter(float[].class, long[].class, ((Function<float[], long[]>) PrimitiveArrayConverters::toLongArray)),
+            new Converter(float[].class, double[].class, ((Function<float[], double[]>) PrimitiveArrayConverters::toDoubleArray)),
+            new Converter(double[].class, byte[].class, ((Function<double[], byte[]>) PrimitiveArrayConverters::toByteArray)),
+            new Converter(double[].class, short[].class, ((Function<double[], short[]>) PrimitiveArrayConverters::toShortArray)),
+            new Converter(double[].class, int[].class, ((Function<double[], int[]>) PrimitiveArrayConverters::toIntArray)),
+            new Converter(double[].class, long[].class, ((Function<double[], long[]>) PrimitiveArrayConverters::toLongArray)),
+            new Converter(double[].class, float[].class, ((Function<double[], float[]>) PrimitiveArrayConverters::toFloatArray))
+        };
+    }
+
+    /**
+     * Returns array of wrappers of passed primitive type array elements.
+     */
+    static Object[] toWrapperArray(final Object primitiveArray) {
+        if (primitiveArray instanceof boolean[]) {
+            return toWrapperArray((boolean[]) primitiveArray);
+        } else if (primitiveArray instanceof byte[]) {
+            return toWrapperArray((byte[]) primitiveArray);
+        } else if (primitiveArray instanceof char[]) {
+            return toWrapperArray((char[]) primitiveArray);
+        } else if (primitiveArray instanceof short[]) {
+            return toWrapperArray((short[]) primitiveArray);
+        } else if (primitiveArray instanceof int[]) {
+            return toWrapperArray((int[]) primitiveArray);
+        } else if (primitiveArray instanceof long[]) {
+            return toWrapperArray((long[]) primitiveArray);
+        } else if (primitiveArray instanceof float[]) {
+            return toWrapperArray((float[]) primitiveArray);
+        } else if (primitiveArray instanceof double[]) {
+            return toWrapperArray((double[]) primitiveArray);
+        } else {
+            throw new IllegalArgumentException(
+                    String.format("%s is not primitive type array.", primitiveArray.getClass()));
+        }
+    }
+
+    /**
+     * Returns primitive type array containing unwrapped collection elements.
+     */
+    static Object toPrimitiveArray(final Collection<?> source, final Class elementClass) {
+        if (elementClass == boolean.class) {
+            return toBooleanArray(source);
+        } else if (elementClass == byte.class) {
+            return toByteArray(source);
+        } else if (elementClass == char.class) {
+            return toCharArray(source);
+        } else if (elementClass == short.class) {
+            return toShortArray(source);
+        } else if (elementClass == int.class) {
+            return toIntArray(source);
+        } else if (elementClass == long.class) {
+            return toLongArray(source);
+        } else if (elementClass == float.class) {
+            return toFloatArray(source);
+        } else if (elementClass == double.class) {
+            return toDoubleArray(source);
+        } else {
+            throw new IllegalArgumentException(
+                    String.format("%s is not primitive type.", elementClass));
+        }
+    }
+
+
+    private static Boolean[] toWrapperArray(final boolean[] source) {
+        Boolean[] result = new Boolean[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static boolean[] toBooleanArray(final Boolean[] source) {
+        boolean[] result = new boolean[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            Boolean element = source[i];
+
+            if (element == null) {
+                throw nullElement(i);
+            }
+
+            result[i] = element;
+        }
+
+        return result;
+    }
+
+    private static boolean[] toBooleanArray(final Collection<?> source) {
+        boolean[] result = new boolean[source.size()];
+        int i = 0;
+
+        for (Object iElement : source) {
+            if (iElement == null) {
+                throw nullElement(i);
+            }
+
+            if (iElement instanceof Boolean == false) {
+                throw invalidElement(i, iElement, boolean.class);
+            }
+
+            result[i++] = (Boolean) iElement;
+        }
+
+        return result;
+    }
+
+    private static Byte[] toWrapperArray(final byte[] source) {
+        Byte[] result = new Byte[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static byte[] toByteArray(final Byte[] source) {
+        byte[] result = new byte[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            Byte element = source[i];
+
+            if (element == null) {
+                throw nullElement(i);
+            }
+
+            result[i] = element;
+        }
+
+        return result;
+    }
+
+    private static byte[] toByteArray(final Collection<?> source) {
+        byte[] result = new byte[source.size()];
+        int i = 0;
+
+        for (Object iElement : source) {
+            if (iElement == null) {
+                throw nullElement(i);
+            }
+
+            result[i] = toNumber(iElement, i).byteValue();
+            i++;
+        }
+
+        return result;
+    }
+
+    private static Character[] toWrapperArray(final char[] source) {
+        Character[] result = new Character[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static char[] toCharArray(final Character[] source) {
+        char[] result = new char[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            Character element = source[i];
+
+            if (element == null) {
+                throw nullElement(i);
+            }
+
+            result[i] = element;
+        }
+
+        return result;
+    }
+
+    private static char[] toCharArray(final Collection<?> source) {
+        char[] result = new char[source.size()];
+        int i = 0;
+
+        for (Object iElement : source) {
+            if (iElement == null) {
+                throw nullElement(i);
+            }
+
+            if (iElement instanceof Character == false) {
+                throw invalidElement(i, iElement, char.class);
+            }
+
+            result[i++] = (Character) iElement;
+        }
+
+        return result;
+    }
+
+    private static Short[] toWrapperArray(final short[] source) {
+        Short[] result = new Short[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static short[] toShortArray(final Short[] source) {
+        short[] result = new short[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            Short element = source[i];
+
+            if (element == null) {
+                throw nullElement(i);
+            }
+
+            result[i] = element;
+        }
+
+        return result;
+    }
+
+    private static short[] toShortArray(final Collection<?> source) {
+        short[] result = new short[source.size()];
+        int i = 0;
+
+        for (Object iElement : source) {
+            if (iElement == null) {
+                throw nullElement(i);
+            }
+
+            result[i] = toNumber(iElement, i).shortValue();
+            i++;
+        }
+
+        return result;
+    }
+
+    private static Integer[] toWrapperArray(final int[] source) {
+        Integer[] result = new Integer[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static int[] toIntArray(final Integer[] source) {
+        int[] result = new int[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            Integer element = source[i];
+
+            if (element == null) {
+                throw nullElement(i);
+            }
+
+            result[i] = element;
+        }
+
+        return result;
+    }
+
+    private static int[] toIntArray(final Collection<?> source) {
+        int[] result = new int[source.size()];
+        int i = 0;
+
+        for (Object iElement : source) {
+            if (iElement == null) {
+                throw nullElement(i);
+            }
+
+            result[i] = toNumber(iElement, i).intValue();
+            i++;
+        }
+
+        return result;
+    }
+
+    private static Long[] toWrapperArray(final long[] source) {
+        Long[] result = new Long[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static long[] toLongArray(final Long[] source) {
+        long[] result = new long[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            Long element = source[i];
+
+            if (element == null) {
+                throw nullElement(i);
+            }
+
+            result[i] = element;
+        }
+
+        return result;
+    }
+
+    private static long[] toLongArray(final Collection<?> source) {
+        long[] result = new long[source.size()];
+        int i = 0;
+
+        for (Object iElement : source) {
+            if (iElement == null) {
+                throw nullElement(i);
+            }
+
+            result[i] = toNumber(iElement, i).longValue();
+            i++;
+        }
+
+        return result;
+    }
+
+    private static Float[] toWrapperArray(final float[] source) {
+        Float[] result = new Float[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static float[] toFloatArray(final Float[] source) {
+        float[] result = new float[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            Float element = source[i];
+
+            if (element == null) {
+                throw nullElement(i);
+            }
+
+            result[i] = element;
+        }
+
+        return result;
+    }
+
+    private static float[] toFloatArray(final Collection<?> source) {
+        float[] result = new float[source.size()];
+        int i = 0;
+
+        for (Object iElement : source) {
+            if (iElement == null) {
+                throw nullElement(i);
+            }
+
+            result[i] = toNumber(iElement, i).floatValue();
+            i++;
+        }
+
+        return result;
+    }
+
+    private static Double[] toWrapperArray(final double[] source) {
+        Double[] result = new Double[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static double[] toDoubleArray(final Double[] source) {
+        double[] result = new double[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            Double element = source[i];
+
+            if (element == null) {
+                throw nullElement(i);
+            }
+
+            result[i] = element;
+        }
+
+        return result;
+    }
+
+    private static double[] toDoubleArray(final Collection<?> source) {
+        double[] result = new double[source.size()];
+        int i = 0;
+
+        for (Object iElement : source) {
+            if (iElement == null) {
+                throw nullElement(i);
+            }
+
+            result[i] = toNumber(iElement, i).doubleValue();
+            i++;
+        }
+
+        return result;
+    }
+
+    private static byte[] toByteArray(final short[] source) {
+        byte[] result = new byte[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = (byte) source[i];
+        }
+
+        return result;
+    }
+
+    private static byte[] toByteArray(final int[] source) {
+        byte[] result = new byte[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = (byte) source[i];
+        }
+
+        return result;
+    }
+
+    private static byte[] toByteArray(final long[] source) {
+        byte[] result = new byte[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = (byte) source[i];
+        }
+
+        return result;
+    }
+
+    private static byte[] toByteArray(final float[] source) {
+        byte[] result = new byte[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = (byte) source[i];
+        }
+
+        return result;
+    }
+
+    private static byte[] toByteArray(final double[] source) {
+        byte[] result = new byte[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = (byte) source[i];
+        }
+
+        return result;
+    }
+
+    private static short[] toShortArray(final byte[] source) {
+        short[] result = new short[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static short[] toShortArray(final int[] source) {
+        short[] result = new short[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = (short) source[i];
+        }
+
+        return result;
+    }
+
+    private static short[] toShortArray(final long[] source) {
+        short[] result = new short[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = (short) source[i];
+        }
+
+        return result;
+    }
+
+    private static short[] toShortArray(final float[] source) {
+        short[] result = new short[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = (short) source[i];
+        }
+
+        return result;
+    }
+
+    private static short[] toShortArray(final double[] source) {
+        short[] result = new short[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = (short) source[i];
+        }
+
+        return result;
+    }
+
+    private static int[] toIntArray(final byte[] source) {
+        int[] result = new int[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static int[] toIntArray(final short[] source) {
+        int[] result = new int[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static int[] toIntArray(final long[] source) {
+        int[] result = new int[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = (int) source[i];
+        }
+
+        return result;
+    }
+
+    private static int[] toIntArray(final float[] source) {
+        int[] result = new int[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = (int) source[i];
+        }
+
+        return result;
+    }
+
+    private static int[] toIntArray(final double[] source) {
+        int[] result = new int[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = (int) source[i];
+        }
+
+        return result;
+    }
+
+    private static long[] toLongArray(final byte[] source) {
+        long[] result = new long[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static long[] toLongArray(final short[] source) {
+        long[] result = new long[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static long[] toLongArray(final int[] source) {
+        long[] result = new long[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static long[] toLongArray(final float[] source) {
+        long[] result = new long[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = (long) source[i];
+        }
+
+        return result;
+    }
+
+    private static long[] toLongArray(final double[] source) {
+        long[] result = new long[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = (long) source[i];
+        }
+
+        return result;
+    }
+
+    private static float[] toFloatArray(final byte[] source) {
+        float[] result = new float[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static float[] toFloatArray(final short[] source) {
+        float[] result = new float[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static float[] toFloatArray(final int[] source) {
+        float[] result = new float[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static float[] toFloatArray(final long[] source) {
+        float[] result = new float[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static float[] toFloatArray(final double[] source) {
+        float[] result = new float[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = (float) source[i];
+        }
+
+        return result;
+    }
+
+    private static double[] toDoubleArray(final byte[] source) {
+        double[] result = new double[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static double[] toDoubleArray(final short[] source) {
+        double[] result = new double[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static double[] toDoubleArray(final int[] source) {
+        double[] result = new double[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static double[] toDoubleArray(final long[] source) {
+        double[] result = new double[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    private static double[] toDoubleArray(final float[] source) {
+        double[] result = new double[source.length];
+
+        for (int i = 0; i < source.length; i++) {
+            result[i] = source[i];
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns collection element as number, character is converted to its code.
+     */
+    private static Number toNumber(final Object element, final int index) {
+        if (element instanceof Number) {
+            return (Number) element;
+        } else if (element instanceof Character) {
+            return (int) (Character) element;
+        } else {
+            throw invalidElement(index, element, Number.class);
+        }
+    }
+
+    private static MappingException invalidElement(
+            final int index, final Object element, final Class expectedClass) {
+        return new MappingException(String.format(
+                "Element at index %d of %s class cannot be converted to %s.",
+                index, element.getClass(), expectedClass));
+    }
+
+    private static MappingException nullElement(final int index) {
+        return new MappingException(String.format(
+                "Element at index %d is null and cannot be converted to primitive type.", index));
+    }
+}
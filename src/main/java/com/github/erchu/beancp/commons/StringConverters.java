@@ -0,0 +1,234 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import com.github.erchu.beancp.Converter;
+import com.github.erchu.beancp.MappingException;
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * Conversions between text ({@link CharSequence}) and:
+ *
+ * <ul>
+ * <li>java.lang.Byte</li>
+ * <li>java.lang.Short</li>
+ * <li>java.lang.Integer</li>
+ * <li>java.lang.Long</li>
+ * <li>java.lang.Float</li>
+ * <li>java.lang.Double</li>
+ * <li>java.util.UUID</li>
+ * <li>enums (see {@link #getEnumConverters(java.lang.Class)})</li>
+ * </ul>
+ *
+ * <p>
+ * Integer numbers and UUIDs are parsed directly from {@link CharSequence} without creating
+ * intermediate objects. Text which cannot be parsed is reported by {@link MappingException}.
+ * </p>
+ */
+public class StringConverters {
+
+    private static final int RADIX = 10;
+
+    private StringConverters() {
+        throw new AssertionError(
+                String.format(
+                        "Creating an instance of the %s class is not allowed.",
+                        StringConverters.class));
+    }
+
+    /**
+     * Returns text converters.
+     *
+     * @return text converters.
+     */
+    public static Converter[] get() {
+        return new Converter[] {
+            new Converter(CharSequence.class, Byte.class, ((Function<CharSequence, Byte>) (source -> (byte) parseInt(source, Byte.MIN_VALUE, Byte.MAX_VALUE, Byte.class)))),
+            new Converter(CharSequence.class, Short.class, ((Function<CharSequence, Short>) (source -> (short) parseInt(source, Short.MIN_VALUE, Short.MAX_VALUE, Short.class)))),
+            new Converter(CharSequence.class, Integer.class, ((Function<CharSequence, Integer>) (source -> parseInt(source, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.class)))),
+            new Converter(CharSequence.class, Long.class, ((Function<CharSequence, Long>) (source -> parseLong(source)))),
+            new Converter(CharSequence.class, Float.class, ((Function<CharSequence, Float>) (source -> parseFloat(source)))),
+            new Converter(CharSequence.class, Double.class, ((Function<CharSequence, Double>) (source -> parseDouble(source, Double.class)))),
+            new Converter(CharSequence.class, UUID.class, ((Function<CharSequence, UUID>) (source -> parseUuid(source)))),
+            new Converter(Byte.class, String.class, ((Function<Byte, String>) (source -> Byte.toString(source)))),
+            new Converter(Short.class, String.class, ((Function<Short, String>) (source -> Short.toString(source)))),
+            new Converter(Integer.class, String.class, ((Function<Integer, String>) (source -> Integer.toString(source)))),
+            new Converter(Long.class, String.class, ((Function<Long, String>) (source -> Long.toString(source)))),
+            new Converter(Float.class, String.class, ((Function<Float, String>) (source -> Float.toString(source)))),
+            new Converter(Double.class, String.class, ((Function<Double, String>) (source -> Double.toString(source)))),
+            new Converter(UUID.class, String.class, ((Function<UUID, String>) (source -> source.toString())))
+        };
+    }
+
+    /**
+     * Returns converters from text to enum constant (by constant name) and from enum constant to
+     * its name. Constants are found in table built once, unknown name is reported by
+     * {@link MappingException}.
+     *
+     * @param <E> enum type.
+     * @param enumClass enum class.
+     * @return enum converters.
+     */
+    public static <E extends Enum<E>> Converter[] getEnumConverters(final Class<E> enumClass) {
+        notNull(enumClass, "enumClass");
+
+        E[] constants = enumClass.getEnumConstants();
+        Map<String, E> constantsByName = new HashMap<>((int) (constants.length / 0.75f) + 1);
+
+        for (E i : constants) {
+            constantsByName.put(i.name(), i);
+        }
+
+        return new Converter[] {
+            new Converter(CharSequence.class, enumClass, ((Function<CharSequence, E>) (source -> {
+                E result = constantsByName.get(source.toString());
+
+                if (result == null) {
+                    throw cannotConvert(source, enumClass);
+                }
+
+                return result;
+            }))),
+            new Converter(enumClass, String.class, ((Function<E, String>) (source -> source.name())))
+        };
+    }
+
+    private static int parseInt(final CharSequence source, final int minValue,
+            final int maxValue, final Class destinationClass) {
+        long result = parseLong(source, destinationClass);
+
+        if (result < minValue || result > maxValue) {
+            throw cannotConvert(source, destinationClass);
+        }
+
+        return (int) result;
+    }
+
+    private static long parseLong(final CharSequence source) {
+        return parseLong(source, Long.class);
+    }
+
+    /**
+     * Parses decimal number with optional sign, the same as {@link Long#parseLong(java.lang.String)}.
+     */
+    private static long parseLong(final CharSequence source, final Class destinationClass) {
+        int length = source.length();
+
+        if (length == 0) {
+            throw cannotConvert(source, destinationClass);
+        }
+
+        int i = 0;
+        boolean negative = false;
+        char firstChar = source.charAt(0);
+
+        if (firstChar == '-' || firstChar == '+') {
+            negative = (firstChar == '-');
+            i++;
+
+            if (length == 1) {
+                throw cannotConvert(source, destinationClass);
+            }
+        }
+
+        // accumulated negatively, so Long.MIN_VALUE can be parsed
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplicationLimit = limit / RADIX;
+        long result = 0;
+
+        for (; i < length; i++) {
+            int digit = source.charAt(i) - '0';
+
+            if (digit < 0 || digit >= RADIX || result < multiplicationLimit) {
+                throw cannotConvert(source, destinationClass);
+            }
+
+            result *= RADIX;
+
+            if (result < limit + digit) {
+                throw cannotConvert(source, destinationClass);
+            }
+
+            result -= digit;
+        }
+
+        return negative ? result : -result;
+    }
+
+    private static float parseFloat(final CharSequence source) {
+        // parsed directly, rounding parsed double to float may give different value
+        try {
+            return Float.parseFloat(source.toString());
+        } catch (NumberFormatException ex) {
+            throw cannotConvert(source, Float.class);
+        }
+    }
+
+    private static double parseDouble(final CharSequence source, final Class destinationClass) {
+        try {
+            return Double.parseDouble(source.toString());
+        } catch (NumberFormatException ex) {
+            throw cannotConvert(source, destinationClass);
+        }
+    }
+
+    /**
+     * Parses UUID in canonical form (8-4-4-4-12 hexadecimal digits).
+     */
+    private static UUID parseUuid(final CharSequence source) {
+        if (source.length() != 36 || source.charAt(8) != '-' || source.charAt(13) != '-'
+                || source.charAt(18) != '-' || source.charAt(23) != '-') {
+            throw cannotConvert(source, UUID.class);
+        }
+
+        long mostSignificantBits = parseHex(source, 0, 8);
+        mostSignificantBits = (mostSignificantBits << 16) | parseHex(source, 9, 13);
+        mostSignificantBits = (mostSignificantBits << 16) | parseHex(source, 14, 18);
+
+        long leastSignificantBits = parseHex(source, 19, 23);
+        leastSignificantBits = (leastSignificantBits << 48) | parseHex(source, 24, 36);
+
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    private static long parseHex(final CharSequence source, final int start, final int end) {
+        long result = 0;
+
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(source.charAt(i), 16);
+
+            if (digit < 0) {
+                throw cannotConvert(source, UUID.class);
+            }
+
+            result = (result << 4) | digit;
+        }
+
+        return result;
+    }
+
+    private static MappingException cannotConvert(
+            final CharSequence source, final Class destinationClass) {
+        return new MappingException(
+                String.format("Cannot convert \"%s\" to %s.", source, destinationClass));
+    }
+}
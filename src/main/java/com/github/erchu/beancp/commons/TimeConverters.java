@@ -0,0 +1,155 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalQuery;
+import java.time.zone.ZoneRules;
+import java.util.Date;
+import java.util.function.Function;
+import com.github.erchu.beancp.Converter;
+import com.github.erchu.beancp.MappingException;
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * Conversions between date and time types:
+ *
+ * <ul>
+ * <li>java.util.Date, java.time.Instant and java.lang.Long (milliseconds since epoch),</li>
+ * <li>java.util.Date and java.time.Instant to java.time.LocalDateTime and java.time.LocalDate
+ * (in time zone passed to {@link #get(java.time.ZoneId)}) and back,</li>
+ * <li>java.util.Date, java.time.Instant, java.time.LocalDateTime and java.time.LocalDate to ISO
+ * text and back.</li>
+ * </ul>
+ *
+ * <p>
+ * Time zone rules are resolved once, when converters are created. Local date-time is converted
+ * using offset valid at converted instant, in the same way as {@link java.time.ZonedDateTime}
+ * does (including gaps and overlaps). Text which cannot be parsed is reported by
+ * {@link MappingException}.
+ * </p>
+ */
+public class TimeConverters {
+
+    private static final DateTimeFormatter INSTANT_FORMAT = DateTimeFormatter.ISO_INSTANT;
+
+    private static final DateTimeFormatter LOCAL_DATE_TIME_FORMAT
+            = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private static final DateTimeFormatter LOCAL_DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    private TimeConverters() {
+        throw new AssertionError(
+                String.format(
+                        "Creating an instance of the %s class is not allowed.",
+                        TimeConverters.class));
+    }
+
+    /**
+     * Returns date and time converters using system default time zone (resolved when this method
+     * is called).
+     *
+     * @return date and time converters.
+     */
+    public static Converter[] get() {
+        return get(ZoneId.systemDefault());
+    }
+
+    /**
+     * Returns date and time converters using passed time zone for local date and time.
+     *
+     * @param zone time zone used for local date and time.
+     * @return date and time converters.
+     */
+    public static Converter[] get(final ZoneId zone) {
+        notNull(zone, "zone");
+
+        ZoneRules rules = zone.getRules();
+
+        return new Converter[] {
+            new Converter(Date.class, Instant.class, ((Function<Date, Instant>) (source -> Instant.ofEpochMilli(source.getTime())))),
+            new Converter(Instant.class, Date.class, ((Function<Instant, Date>) (source -> new Date(toEpochMilli(source))))),
+            new Converter(Date.class, Long.class, ((Function<Date, Long>) (source -> source.getTime()))),
+            new Converter(Long.class, Date.class, ((Function<Long, Date>) (source -> new Date(source)))),
+            new Converter(Instant.class, Long.class, ((Function<Instant, Long>) (source -> toEpochMilli(source)))),
+            new Converter(Long.class, Instant.class, ((Function<Long, Instant>) (source -> Instant.ofEpochMilli(source)))),
+            new Converter(Date.class, LocalDateTime.class, ((Function<Date, LocalDateTime>) (source -> toLocalDateTime(source.getTime(), rules)))),
+            new Converter(Instant.class, LocalDateTime.class, ((Function<Instant, LocalDateTime>) (source -> toLocalDateTime(source, rules)))),
+            new Converter(LocalDateTime.class, Date.class, ((Function<LocalDateTime, Date>) (source -> new Date(toEpochMilli(toInstant(source, rules)))))),
+            new Converter(LocalDateTime.class, Instant.class, ((Function<LocalDateTime, Instant>) (source -> toInstant(source, rules)))),
+            new Converter(Date.class, LocalDate.class, ((Function<Date, LocalDate>) (source -> toLocalDateTime(source.getTime(), rules).toLocalDate()))),
+            new Converter(Instant.class, LocalDate.class, ((Function<Instant, LocalDate>) (source -> toLocalDateTime(source, rules).toLocalDate()))),
+            new Converter(LocalDate.class, Date.class, ((Function<LocalDate, Date>) (source -> new Date(toEpochMilli(toInstant(source.atStartOfDay(), rules)))))),
+            new Converter(LocalDate.class, Instant.class, ((Function<LocalDate, Instant>) (source -> toInstant(source.atStartOfDay(), rules)))),
+            new Converter(Date.class, String.class, ((Function<Date, String>) (source -> INSTANT_FORMAT.format(Instant.ofEpochMilli(source.getTime()))))),
+            new Converter(Instant.class, String.class, ((Function<Instant, String>) (source -> INSTANT_FORMAT.format(source)))),
+            new Converter(LocalDateTime.class, String.class, ((Function<LocalDateTime, String>) (source -> LOCAL_DATE_TIME_FORMAT.format(source)))),
+            new Converter(LocalDate.class, String.class, ((Function<LocalDate, String>) (source -> LOCAL_DATE_FORMAT.format(source)))),
+            new Converter(CharSequence.class, Date.class, ((Function<CharSequence, Date>) (source -> new Date(toEpochMilli(parse(source, INSTANT_FORMAT, Instant::from, Date.class)))))),
+            new Converter(CharSequence.class, Instant.class, ((Function<CharSequence, Instant>) (source -> parse(source, INSTANT_FORMAT, Instant::from, Instant.class)))),
+            new Converter(CharSequence.class, LocalDateTime.class, ((Function<CharSequence, LocalDateTime>) (source -> parse(source, LOCAL_DATE_TIME_FORMAT, LocalDateTime::from, LocalDateTime.class)))),
+            new Converter(CharSequence.class, LocalDate.class, ((Function<CharSequence, LocalDate>) (source -> parse(source, LOCAL_DATE_FORMAT, LocalDate::from, LocalDate.class))))
+        };
+    }
+
+    private static LocalDateTime toLocalDateTime(final long epochMilli, final ZoneRules rules) {
+        long epochSecond = Math.floorDiv(epochMilli, 1000L);
+        int nanoOfSecond = (int) Math.floorMod(epochMilli, 1000L) * 1000_000;
+        ZoneOffset offset = rules.isFixedOffset()
+                ? rules.getOffset(Instant.EPOCH)
+                : rules.getOffset(Instant.ofEpochSecond(epochSecond));
+
+        return LocalDateTime.ofEpochSecond(epochSecond, nanoOfSecond, offset);
+    }
+
+    private static LocalDateTime toLocalDateTime(final Instant instant, final ZoneRules rules) {
+        return LocalDateTime.ofEpochSecond(
+                instant.getEpochSecond(), instant.getNano(), rules.getOffset(instant));
+    }
+
+    private static Instant toInstant(final LocalDateTime localDateTime, final ZoneRules rules) {
+        // offset before transition is returned for gap, so result is the same as for ZonedDateTime
+        return localDateTime.toInstant(rules.getOffset(localDateTime));
+    }
+
+    private static long toEpochMilli(final Instant instant) {
+        try {
+            return instant.toEpochMilli();
+        } catch (ArithmeticException ex) {
+            throw new MappingException(
+                    String.format("%s cannot be represented as milliseconds since epoch.", instant),
+                    ex);
+        }
+    }
+
+    private static <T> T parse(final CharSequence source, final DateTimeFormatter format,
+            final TemporalQuery<T> query, final Class destinationClass) {
+        try {
+            return format.parse(source, query);
+        } catch (DateTimeException ex) {
+            throw new MappingException(
+                    String.format("Cannot convert \"%s\" to %s.", source, destinationClass), ex);
+        }
+    }
+}
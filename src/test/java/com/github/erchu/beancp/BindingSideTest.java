@@ -0,0 +1,140 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class BindingSideTest {
+
+    public static class Bean {
+
+        public static String staticField;
+
+        public long longField;
+
+        private long x;
+
+        public long getX() {
+            return x;
+        }
+
+        public void setX(long x) {
+            this.x = x;
+        }
+    }
+
+    static class NotPublicBean {
+
+        public int y;
+    }
+
+    public static class OverflowingBean {
+
+        public int getDepth() {
+            throw new StackOverflowError();
+        }
+    }
+
+    private static PropertyBindingSide getPropertyX() throws Exception {
+        for (PropertyDescriptor i
+                : Introspector.getBeanInfo(Bean.class).getPropertyDescriptors()) {
+            if (i.getName().equals("x")) {
+                return new PropertyBindingSide(i);
+            }
+        }
+
+        throw new AssertionError("Property x not found");
+    }
+
+    @Test
+    public void property_binding_side_should_widen_primitive_value_like_reflection()
+            throws Exception {
+        // GIVEN
+        Bean bean = new Bean();
+        PropertyBindingSide bindingSide = getPropertyX();
+
+        // WHEN
+        bindingSide.setValue(bean, 7);
+
+        // THEN
+        assertEquals(7L, bean.getX());
+        assertEquals(7L, bindingSide.getValue(bean));
+    }
+
+    @Test(expected = MappingException.class)
+    public void property_binding_side_should_fail_when_null_is_set_to_primitive()
+            throws Exception {
+        // GIVEN
+        PropertyBindingSide bindingSide = getPropertyX();
+
+        // WHEN
+        bindingSide.setValue(new Bean(), null);
+    }
+
+    @Test
+    public void field_binding_side_should_access_instance_and_static_fields() throws Exception {
+        // GIVEN
+        Bean bean = new Bean();
+        FieldBindingSide longField = new FieldBindingSide(Bean.class.getField("longField"));
+        FieldBindingSide staticField = new FieldBindingSide(Bean.class.getField("staticField"));
+
+        // WHEN
+        longField.setValue(bean, 5L);
+        staticField.setValue(bean, "a");
+
+        // THEN
+        assertEquals(5L, longField.getValue(bean));
+        assertEquals("a", staticField.getValue(null));
+    }
+
+    @Test
+    public void field_binding_side_should_access_field_of_not_public_class() throws Exception {
+        // GIVEN
+        NotPublicBean bean = new NotPublicBean();
+        FieldBindingSide bindingSide = new FieldBindingSide(NotPublicBean.class.getField("y"));
+
+        // WHEN
+        bindingSide.setValue(bean, 4);
+
+        // THEN
+        assertEquals(4, bean.y);
+        assertEquals(4, bindingSide.getValue(bean));
+    }
+
+    @Test(expected = MappingException.class)
+    public void field_binding_side_should_reject_narrowing_like_reflection() throws Exception {
+        // GIVEN
+        FieldBindingSide bindingSide = new FieldBindingSide(NotPublicBean.class.getField("y"));
+
+        // WHEN
+        bindingSide.setValue(new NotPublicBean(), 5L);
+    }
+
+    @Test(expected = StackOverflowError.class)
+    public void virtual_machine_error_should_not_be_wrapped() throws Exception {
+        // GIVEN
+        PropertyBindingSide bindingSide = new PropertyBindingSide(
+                new PropertyDescriptor("depth", OverflowingBean.class, "getDepth", null));
+
+        // WHEN
+        bindingSide.getValue(new OverflowingBean());
+    }
+}
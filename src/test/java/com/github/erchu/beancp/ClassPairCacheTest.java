@@ -0,0 +1,71 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ClassPairCacheTest {
+
+    @Test
+    public void null_result_should_be_cached() {
+        // GIVEN
+        ClassPairCache<String> cache = new ClassPairCache<>();
+        AtomicInteger resolverCalls = new AtomicInteger();
+        BiFunction<Class, Class, String> resolver = (sourceClass, destinationClass) -> {
+            resolverCalls.incrementAndGet();
+
+            return null;
+        };
+
+        // WHEN
+        String firstResult = cache.get(String.class, Integer.class, resolver);
+        String secondResult = cache.get(String.class, Integer.class, resolver);
+
+        // THEN
+        assertNull(firstResult);
+        assertNull(secondResult);
+        assertEquals("Invalid number of resolver calls.", 1, resolverCalls.get());
+    }
+
+    @Test
+    public void each_pair_should_be_resolved_once() {
+        // GIVEN
+        ClassPairCache<String> cache = new ClassPairCache<>();
+        AtomicInteger resolverCalls = new AtomicInteger();
+        BiFunction<Class, Class, String> resolver = (sourceClass, destinationClass) -> {
+            resolverCalls.incrementAndGet();
+
+            return sourceClass.getSimpleName() + "->" + destinationClass.getSimpleName();
+        };
+
+        // WHEN
+        for (int i = 0 ; i < 3 ; i++) {
+            cache.get(String.class, Integer.class, resolver);
+            cache.get(Integer.class, String.class, resolver);
+            cache.get(String.class, Long.class, resolver);
+        }
+
+        // THEN
+        assertEquals("String->Integer", cache.get(String.class, Integer.class, resolver));
+        assertEquals("Integer->String", cache.get(Integer.class, String.class, resolver));
+        assertEquals("Invalid number of resolver calls.", 3, resolverCalls.get());
+    }
+}
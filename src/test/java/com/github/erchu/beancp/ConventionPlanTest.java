@@ -0,0 +1,130 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.beans.PropertyDescriptor;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ConventionPlanTest {
+
+    public static class Bean {
+
+        public int number;
+
+        public String text;
+    }
+
+    public static class FailingBean {
+
+        public int depth;
+
+        public int getDepth() {
+            throw new StackOverflowError();
+        }
+
+        public int getCount() {
+            throw new IllegalStateException();
+        }
+    }
+
+    private static List<Binding> createBindings() throws Exception {
+        return Arrays.asList(
+                new Binding(new FieldBindingSide(Bean.class.getField("number")),
+                        new FieldBindingSide(Bean.class.getField("number"))),
+                new Binding(new FieldBindingSide(Bean.class.getField("text")),
+                        new FieldBindingSide(Bean.class.getField("text"))));
+    }
+
+    @Test
+    public void plan_should_be_compiled_when_executed() throws Exception {
+        // GIVEN
+        Mapper mapper = new MapperBuilder().buildMapper();
+        ConventionPlan plan = new ConventionPlan(createBindings());
+        Bean source = new Bean();
+        source.number = 7;
+        source.text = "seven";
+        Bean destination = new Bean();
+
+        // WHEN
+        plan.execute(mapper, source, destination);
+
+        // THEN
+        assertTrue("Plan is not compiled.", plan.isCompiled());
+        assertEquals(7, destination.number);
+        assertEquals("seven", destination.text);
+    }
+
+    @Test
+    public void generated_class_should_be_unloaded_with_plan() throws Exception {
+        // GIVEN
+        CompiledBindings compiled = BindingsCompiler.compile(createBindings());
+        WeakReference<ClassLoader> classLoader = new WeakReference<>(
+                ((BindingsCompiler.GeneratedBindings) compiled).getGeneratedClass()
+                .getClassLoader());
+
+        // WHEN
+        compiled = null;
+
+        for (int i = 0; i < 50 && classLoader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        // THEN
+        assertNull("Class loader of generated class is not collected.", classLoader.get());
+    }
+
+    @Test
+    public void compiled_and_interpreted_plans_should_fail_the_same_way() throws Exception {
+        // GIVEN
+        Mapper mapper = new MapperBuilder().buildMapper();
+        BindingSide destination = new FieldBindingSide(FailingBean.class.getField("depth"));
+        Binding overflowing = new Binding(new PropertyBindingSide(new PropertyDescriptor(
+                "depth", FailingBean.class, "getDepth", null)), destination);
+        Binding failing = new Binding(new PropertyBindingSide(new PropertyDescriptor(
+                "count", FailingBean.class, "getCount", null)), destination);
+
+        for (Binding i : new Binding[] { overflowing, failing }) {
+            ConventionPlan plan = new ConventionPlan(Arrays.asList(i));
+            Class interpretedFailure = null;
+            Class compiledFailure = null;
+
+            // WHEN
+            try {
+                i.execute(mapper, new FailingBean(), new FailingBean());
+            } catch (Throwable ex) {
+                interpretedFailure = ex.getClass();
+            }
+
+            try {
+                plan.execute(mapper, new FailingBean(), new FailingBean());
+            } catch (Throwable ex) {
+                compiledFailure = ex.getClass();
+            }
+
+            // THEN
+            assertTrue("Plan is not compiled.", plan.isCompiled());
+            assertNotNull(interpretedFailure);
+            assertEquals(interpretedFailure, compiledFailure);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import com.github.erchu.beancp.commons.NameBasedMapConvention;
+import java.util.Optional;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ForPairTest {
+
+    public static class Source {
+
+        private int x;
+
+        public int getX() {
+            return x;
+        }
+
+        public void setX(int x) {
+            this.x = x;
+        }
+    }
+
+    public static class Destination {
+
+        private int x;
+
+        public int getX() {
+            return x;
+        }
+
+        public void setX(int x) {
+            this.x = x;
+        }
+    }
+
+    /**
+     * Mapper implemented outside of library, delegating to library mapper.
+     */
+    private static class DelegatingMapper implements Mapper {
+
+        private final Mapper _mapper;
+
+        private int _mapCalls;
+
+        DelegatingMapper(final Mapper mapper) {
+            _mapper = mapper;
+        }
+
+        @Override
+        public <S, D> void map(final S source, final D destination) {
+            _mapCalls++;
+            _mapper.map(source, destination);
+        }
+
+        @Override
+        public <S, D> boolean mapIfMapperAvailable(final S source, final D destination) {
+            return _mapper.mapIfMapperAvailable(source, destination);
+        }
+
+        @Override
+        public <S, D> D map(final S source, final Class<D> destinationClass) {
+            _mapCalls++;
+
+            return _mapper.map(source, destinationClass);
+        }
+
+        @Override
+        public <S, D> Optional<D> mapIfMapperAvailable(final S source,
+                final Class<D> destinationClass) {
+            return _mapper.mapIfMapperAvailable(source, destinationClass);
+        }
+
+        @Override
+        public boolean isConverterAvailable(final Class sourceClass, final Class destinationClass) {
+            return _mapper.isConverterAvailable(sourceClass, destinationClass);
+        }
+
+        @Override
+        public boolean isMapAvailable(final Class sourceClass, final Class destinationClass) {
+            return _mapper.isMapAvailable(sourceClass, destinationClass);
+        }
+    }
+
+    @Test
+    public void default_handle_should_delegate_to_mapper_methods() {
+        // GIVEN
+        Source sourceInstance = new Source();
+        sourceInstance.setX(5);
+
+        DelegatingMapper mapper = new DelegatingMapper(new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper());
+
+        // WHEN
+        TypedMapper<Source, Destination> handle = mapper.forPair(Source.class, Destination.class);
+        Destination result = handle.map(sourceInstance);
+        Destination existingResult = new Destination();
+        handle.map(sourceInstance, existingResult);
+
+        // THEN
+        assertEquals(5, result.getX());
+        assertEquals(5, existingResult.getX());
+        assertEquals(2, mapper._mapCalls);
+    }
+
+    @Test(expected = MappingException.class)
+    public void default_forPair_should_fail_if_no_mapping_is_available() {
+        // GIVEN
+        Mapper mapper = new DelegatingMapper(new MapperBuilder().buildMapper());
+
+        // WHEN
+        mapper.forPair(Source.class, Destination.class);
+    }
+
+    @Test(expected = MappingException.class)
+    public void default_withMappingContext_should_not_be_supported() {
+        // GIVEN
+        Mapper mapper = new DelegatingMapper(new MapperBuilder().buildMapper());
+
+        // WHEN
+        mapper.withMappingContext();
+    }
+
+    @Test
+    public void handle_should_map_using_declarative_map() {
+        // GIVEN
+        Source sourceInstance = new Source();
+        sourceInstance.setX(3);
+
+        Mapper mapper = new MapperBuilder()
+                .addMap(Source.class, Destination.class,
+                        (config, source, destination)
+                        -> config.bind(() -> source.getX() * 2, destination::setX))
+                .buildMapper();
+
+        // WHEN
+        TypedMapper<Source, Destination> handle = mapper.forPair(Source.class, Destination.class);
+        Destination result = handle.map(sourceInstance);
+
+        // THEN
+        assertEquals(6, result.getX());
+    }
+
+    @Test
+    public void handle_should_map_to_existing_object_using_convention() {
+        // GIVEN
+        Source sourceInstance = new Source();
+        sourceInstance.setX(3);
+
+        Destination destinationInstance = new Destination();
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        mapper.forPair(Source.class, Destination.class).map(sourceInstance, destinationInstance);
+
+        // THEN
+        assertEquals(3, destinationInstance.getX());
+    }
+
+    @Test
+    public void handle_should_map_using_converter() {
+        // GIVEN
+        Source sourceInstance = new Source();
+        sourceInstance.setX(3);
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(Source.class, String.class, source -> "x=" + source.getX())
+                .buildMapper();
+
+        // WHEN
+        String result = mapper.forPair(Source.class, String.class).map(sourceInstance);
+
+        // THEN
+        assertEquals("x=3", result);
+    }
+
+    @Test(expected = MappingException.class)
+    public void forPair_should_fail_if_no_mapping_is_available() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder().buildMapper();
+
+        // WHEN
+        mapper.forPair(Source.class, Destination.class);
+    }
+
+    @Test(expected = MappingException.class)
+    public void handle_created_for_converter_should_fail_to_map_to_existing_object() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .addConverter(Source.class, Destination.class, source -> new Destination())
+                .buildMapper();
+
+        // WHEN
+        mapper.forPair(Source.class, Destination.class).map(new Source(), new Destination());
+    }
+}
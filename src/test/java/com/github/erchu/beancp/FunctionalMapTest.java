@@ -0,0 +1,244 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import com.github.erchu.beancp.commons.NameBasedMapConvention;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class FunctionalMapTest {
+
+    public static final class Inner {
+
+        private int value;
+
+        public int getValue() {
+            return value;
+        }
+
+        public void setValue(int value) {
+            this.value = value;
+        }
+    }
+
+    public static final class Source {
+
+        private int x;
+
+        private String name;
+
+        private Inner inner;
+
+        public int getX() {
+            return x;
+        }
+
+        public void setX(int x) {
+            this.x = x;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Inner getInner() {
+            return inner;
+        }
+
+        public void setInner(Inner inner) {
+            this.inner = inner;
+        }
+    }
+
+    public static final class Destination {
+
+        private int x;
+
+        private String name;
+
+        private String kind;
+
+        private Inner inner;
+
+        public int getX() {
+            return x;
+        }
+
+        public void setX(int x) {
+            this.x = x;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public void setKind(String kind) {
+            this.kind = kind;
+        }
+
+        public Inner getInner() {
+            return inner;
+        }
+
+        public void setInner(Inner inner) {
+            this.inner = inner;
+        }
+    }
+
+    private static Source createSource() {
+        Source result = new Source();
+        result.setX(5);
+        result.setName("a");
+        result.setInner(new Inner());
+        result.getInner().setValue(7);
+
+        return result;
+    }
+
+    @Test
+    public void functional_map_should_bind_members_of_final_classes() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .addFunctionalMap(Source.class, Destination.class, config -> config
+                        .bind(Source::getX, Destination::setX)
+                        .bind(Source::getName, Destination::setName)
+                        .bindConstant("constant", Destination::setKind))
+                .buildMapper();
+
+        // WHEN
+        Destination result = mapper.map(createSource(), Destination.class);
+
+        // THEN
+        assertEquals(5, result.getX());
+        assertEquals("a", result.getName());
+        assertEquals("constant", result.getKind());
+    }
+
+    @Test
+    public void setup_should_be_executed_only_once() {
+        // GIVEN
+        AtomicInteger setupCalls = new AtomicInteger();
+
+        Mapper mapper = new MapperBuilder()
+                .addFunctionalMap(Source.class, Destination.class, config -> {
+                    setupCalls.incrementAndGet();
+                    config.bind(Source::getX, Destination::setX);
+                })
+                .buildMapper();
+
+        // WHEN
+        for (int i = 0; i < 10; i++) {
+            mapper.map(createSource(), Destination.class);
+        }
+
+        // THEN
+        assertEquals(1, setupCalls.get());
+    }
+
+    @Test
+    public void null_value_should_be_substituted() {
+        // GIVEN
+        Source source = createSource();
+        source.setName(null);
+
+        Mapper mapper = new MapperBuilder()
+                .addFunctionalMap(Source.class, Destination.class, config -> config
+                        .bind(Source::getName, Destination::setName, "unknown"))
+                .buildMapper();
+
+        // WHEN
+        Destination result = mapper.map(source, Destination.class);
+
+        // THEN
+        assertEquals("unknown", result.getName());
+    }
+
+    @Test
+    public void inner_object_should_be_mapped_to_existing_object_if_available() {
+        // GIVEN
+        Inner existingInner = new Inner();
+        Destination destination = new Destination();
+        destination.setInner(existingInner);
+
+        Mapper mapper = new MapperBuilder()
+                .addFunctionalMap(Inner.class, Inner.class, config -> config
+                        .bind(Inner::getValue, Inner::setValue))
+                .addFunctionalMap(Source.class, Destination.class, config -> config
+                        .mapInner(Source::getInner, Destination::setInner,
+                                Destination::getInner, Inner.class))
+                .buildMapper();
+
+        // WHEN
+        mapper.map(createSource(), destination);
+
+        // THEN
+        assertSame(existingInner, destination.getInner());
+        assertEquals(7, existingInner.getValue());
+    }
+
+    @Test
+    public void actions_and_convention_should_be_executed_in_declared_order() {
+        // GIVEN
+        List<String> log = new ArrayList<>();
+
+        Mapper mapper = new MapperBuilder()
+                .addFunctionalMap(Source.class, Destination.class, config -> config
+                        .constructDestinationObjectUsing(Destination::new)
+                        .beforeMap((m, source, destination) -> log.add("before"))
+                        .useConvention(NameBasedMapConvention.get())
+                        .bind(source -> {
+                            log.add("bind");
+                            return source.getX() * 2;
+                        }, Destination::setX)
+                        .afterMap((m, source, destination) -> log.add(
+                                "after " + destination.getName())))
+                .buildMapper();
+
+        // WHEN
+        Destination result = mapper.map(createSource(), Destination.class);
+
+        // THEN
+        assertEquals(10, result.getX());
+        assertEquals("a", result.getName());
+        assertEquals("[before, bind, after a]", log.toString());
+    }
+
+    @Test(expected = MapperConfigurationException.class)
+    public void bind_after_afterMap_should_not_be_allowed() {
+        // WHEN
+        new MapperBuilder()
+                .addFunctionalMap(Source.class, Destination.class, config -> config
+                        .afterMap((m, source, destination) -> { })
+                        .bind(Source::getX, Destination::setX));
+    }
+}
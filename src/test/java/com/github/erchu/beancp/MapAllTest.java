@@ -0,0 +1,261 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import com.github.erchu.beancp.commons.NameBasedMapConvention;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MapAllTest {
+
+    public static class Source {
+
+        private int x;
+
+        public Source() {
+        }
+
+        public Source(int x) {
+            this.x = x;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public void setX(int x) {
+            this.x = x;
+        }
+    }
+
+    public static class SourceSubclass extends Source {
+
+        public SourceSubclass() {
+        }
+
+        public SourceSubclass(int x) {
+            super(x);
+        }
+    }
+
+    public static class Destination {
+
+        private int x;
+
+        public int getX() {
+            return x;
+        }
+
+        public void setX(int x) {
+            this.x = x;
+        }
+    }
+
+    @Test
+    public void should_map_all_objects_in_source_order() {
+        // GIVEN
+        List<Source> sourceInstance = Arrays.asList(
+                new Source(1), new SourceSubclass(2), null, new Source(3));
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .addMap(SourceSubclass.class, Destination.class, (config, source, destination)
+                        -> config.bind(() -> source.getX() * 10, destination::setX))
+                .buildMapper();
+
+        // WHEN
+        List<Destination> result = mapper.mapAll(sourceInstance, Destination.class);
+
+        // THEN
+        assertEquals(4, result.size());
+        assertEquals(1, result.get(0).getX());
+        assertEquals(20, result.get(1).getX());
+        assertNull(result.get(2));
+        assertEquals(3, result.get(3).getX());
+    }
+
+    @Test
+    public void should_map_array_and_fill_passed_collection() {
+        // GIVEN
+        Source[] sourceInstance = new Source[] { new Source(1), new Source(2) };
+        List<Destination> destinations = new LinkedList<>();
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        List<Destination> result = mapper.mapAll(sourceInstance, Destination.class);
+        mapper.mapAll(Arrays.asList(sourceInstance), Destination.class, destinations);
+
+        // THEN
+        assertEquals(2, result.get(1).getX());
+        assertEquals(2, destinations.size());
+        assertEquals(1, destinations.get(0).getX());
+    }
+
+    @Test
+    public void batch_actions_should_be_performed_once_per_batch() {
+        // GIVEN
+        List<Source> sourceInstance = Arrays.asList(new Source(1), new Source(2));
+        List<String> events = new ArrayList<>();
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        mapper.mapAll(sourceInstance, Destination.class,
+                (caller, sources, destinations) -> events.add("before:" + destinations.size()),
+                (caller, sources, destinations) -> events.add("after:" + destinations.size()));
+
+        // THEN
+        assertEquals(Arrays.asList("before:0", "after:2"), events);
+    }
+
+    @Test(expected = MappingException.class)
+    public void should_fail_if_mapping_is_not_available() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder().buildMapper();
+
+        // WHEN
+        mapper.mapAll(Arrays.asList(new Source(1)), Destination.class);
+    }
+
+    @Test
+    public void parallel_mapping_should_preserve_order() {
+        // GIVEN
+        List<Source> sourceInstance = new ArrayList<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            sourceInstance.add((i % 3 == 0) ? new SourceSubclass(i) : new Source(i));
+        }
+
+        Mapper mapper = new MapperBuilder()
+                .addMap(Source.class, Destination.class, (config, source, destination)
+                        -> config.bind(source::getX, destination::setX))
+                .addMap(SourceSubclass.class, Destination.class, (config, source, destination)
+                        -> config.bind(() -> -source.getX(), destination::setX))
+                .buildMapper();
+
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // WHEN
+            List<Destination> forkJoinResult = mapper.mapAllInParallel(
+                    sourceInstance, Destination.class, forkJoinPool, 16);
+            List<Destination> executorResult = mapper.mapAllInParallel(
+                    sourceInstance, Destination.class, executor, 16);
+
+            // THEN
+            for (int i = 0; i < sourceInstance.size(); i++) {
+                int expected = (i % 3 == 0) ? -i : i;
+
+                assertEquals(expected, forkJoinResult.get(i).getX());
+                assertEquals(expected, executorResult.get(i).getX());
+            }
+        } finally {
+            forkJoinPool.shutdown();
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = MappingException.class)
+    public void parallel_mapping_should_fail_if_mapping_is_not_available() {
+        // GIVEN
+        List<Source> sourceInstance = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            sourceInstance.add(new Source(i));
+        }
+
+        Mapper mapper = new MapperBuilder().buildMapper();
+
+        // WHEN
+        mapper.mapAllInParallel(sourceInstance, Destination.class, ForkJoinPool.commonPool(), 8);
+    }
+
+    @Test
+    public void async_mapping_should_preserve_order() throws Exception {
+        // GIVEN
+        List<Source> sourceInstance = new ArrayList<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            sourceInstance.add(new Source(i));
+        }
+
+        Mapper mapper = new MapperBuilder()
+                .addMap(Source.class, Destination.class, (config, source, destination)
+                        -> config.bind(source::getX, destination::setX))
+                .buildMapper();
+
+        // WHEN
+        CompletableFuture<List<Destination>> result
+                = mapper.mapAllAsync(sourceInstance, Destination.class);
+        CompletableFuture<List<Destination>> emptyResult
+                = mapper.mapAllAsync(new ArrayList<Source>(), Destination.class);
+
+        // THEN
+        List<Destination> destinations = result.get(10, TimeUnit.SECONDS);
+
+        assertEquals(sourceInstance.size(), destinations.size());
+
+        for (int i = 0; i < sourceInstance.size(); i++) {
+            assertEquals(i, destinations.get(i).getX());
+        }
+
+        assertTrue(emptyResult.get(10, TimeUnit.SECONDS).isEmpty());
+    }
+
+    @Test
+    public void async_mapping_should_complete_exceptionally_if_mapping_is_not_available()
+            throws InterruptedException, TimeoutException {
+        // GIVEN
+        List<Source> sourceInstance = Arrays.asList(new Source(1), new Source(2));
+        Mapper mapper = new MapperBuilder().buildMapper();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // WHEN
+            CompletableFuture<List<Destination>> result
+                    = mapper.mapAllAsync(sourceInstance, Destination.class, executor);
+
+            // THEN
+            try {
+                result.get(10, TimeUnit.SECONDS);
+                fail("Exception expected.");
+            } catch (ExecutionException ex) {
+                assertTrue(ex.getCause() instanceof MappingException);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
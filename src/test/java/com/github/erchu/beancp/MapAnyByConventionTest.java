@@ -18,8 +18,13 @@
 package com.github.erchu.beancp;
 
 import com.github.erchu.beancp.commons.NameBasedMapConvention;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
 import org.junit.Test;
 
 public class MapAnyByConventionTest {
@@ -161,6 +166,161 @@ public class MapAnyByConventionTest {
         public InnerClass inner;
     }
 
+    public static class SourceWithFailingGetter {
+
+        public int getX() {
+            throw new IllegalStateException("getter failure");
+        }
+
+        public void setX(int x) {
+        }
+    }
+
+    public static class CycleRoot {
+
+        public CycleNode node;
+    }
+
+    public static class CycleRootDestination {
+
+        public CycleNodeDestination node;
+
+        public String notMappedMember;
+    }
+
+    public static class CycleNode {
+
+        public CycleRoot root;
+    }
+
+    public static class CycleNodeDestination {
+
+        public CycleRootDestination root;
+    }
+
+    public static class AllMembersOrNothingConvention implements MapConvention {
+
+        private final MapConvention convention
+                = NameBasedMapConvention.get().failIfNotAllDestinationMembersMapped();
+
+        @Override
+        public List<Binding> getBindings(
+                final MappingInfo mappingsInfo,
+                final Class sourceClass,
+                final Class destinationClass) {
+            try {
+                return convention.getBindings(mappingsInfo, sourceClass, destinationClass);
+            } catch (MapperConfigurationException ex) {
+                return Collections.emptyList();
+            }
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return true;
+        }
+    }
+
+    public static class CountingConvention implements MapConvention {
+
+        private final MapConvention convention = NameBasedMapConvention.get();
+
+        private final boolean cacheable;
+
+        private final AtomicInteger getBindingsCalls = new AtomicInteger();
+
+        public CountingConvention(final boolean cacheable) {
+            this.cacheable = cacheable;
+        }
+
+        @Override
+        public List<Binding> getBindings(
+                final MappingInfo mappingsInfo,
+                final Class sourceClass,
+                final Class destinationClass) {
+            getBindingsCalls.incrementAndGet();
+
+            return convention.getBindings(mappingsInfo, sourceClass, destinationClass);
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return cacheable;
+        }
+    }
+
+    @Test
+    public void bindings_of_cacheable_convention_should_be_built_once_per_class_pair() {
+        // GIVEN
+        CountingConvention convention = new CountingConvention(true);
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(convention)
+                .buildMapper();
+
+        // WHEN
+        for (int i = 0 ; i < 10 ; i++) {
+            mapper.map(new SimpleSourceWithFields(), SimpleSourceWithFields.class);
+        }
+
+        // THEN
+        assertEquals("Invalid number of getBindings calls.", 1, convention.getBindingsCalls.get());
+    }
+
+    @Test
+    public void bindings_of_not_cacheable_convention_should_be_built_for_each_mapping() {
+        // GIVEN
+        CountingConvention convention = new CountingConvention(false);
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(convention)
+                .buildMapper();
+
+        // WHEN
+        for (int i = 0 ; i < 10 ; i++) {
+            mapper.map(new SimpleSourceWithFields(), SimpleSourceWithFields.class);
+        }
+
+        // THEN (first call is made when convention is selected)
+        assertEquals("Invalid number of getBindings calls.", 11, convention.getBindingsCalls.get());
+    }
+
+    @Test
+    public void bindings_of_cacheable_convention_should_be_built_again_when_evicted_from_limited_cache() {
+        // GIVEN
+        CountingConvention convention = new CountingConvention(true);
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(convention)
+                .limitConventionPlanCache(1)
+                .buildMapper();
+
+        // WHEN
+        for (int i = 0 ; i < 5 ; i++) {
+            mapper.map(new SimpleSourceWithFields(), SimpleSourceWithFields.class);
+            mapper.map(new SimpleSourceWithProperties(), SimpleSourceWithProperties.class);
+        }
+
+        // THEN
+        assertEquals("Invalid number of getBindings calls.", 10, convention.getBindingsCalls.get());
+    }
+
+    @Test
+    public void pair_assumed_available_in_cycle_should_not_be_mappable_when_cycle_root_is_not() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(new AllMembersOrNothingConvention())
+                .buildMapper();
+
+        // WHEN (node pair is evaluated assuming that root pair is available)
+        boolean rootAvailable = mapper.isMapAvailable(CycleRoot.class, CycleRootDestination.class);
+
+        // THEN
+        assertFalse(rootAvailable);
+        assertFalse(mapper.isMapAvailable(CycleNode.class, CycleNodeDestination.class));
+        assertFalse(mapper.mapIfMapperAvailable(new CycleNode(), new CycleNodeDestination()));
+    }
+
     @Test
     public void when_source_and_destination_classes_has_properties_of_the_same_name_and_type_then_should_be_mapped_also_when_it_is_not_declared_implicity() {
         // GIVEN
@@ -224,4 +384,30 @@ public class MapAnyByConventionTest {
         // mapped by StrictMatch convention
         assertEquals("Invalid 'z' field value.", 0, result.z);
     }
+
+    @Test
+    public void member_access_failure_should_be_reported_the_same_way_when_mapping_is_repeated() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        for (int i = 0 ; i < 3 ; i++) {
+            try {
+                // WHEN
+                mapper.map(new SourceWithFailingGetter(), SourceWithFailingGetter.class);
+
+                fail("MappingException expected");
+            } catch (MappingException ex) {
+                // THEN
+                Throwable cause = ex;
+
+                while (cause.getCause() != null) {
+                    cause = cause.getCause();
+                }
+
+                assertEquals("getter failure", cause.getMessage());
+            }
+        }
+    }
 }
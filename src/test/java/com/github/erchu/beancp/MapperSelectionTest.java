@@ -114,6 +114,9 @@ public class MapperSelectionTest {
     public static class InheritedFromDestination extends Destination {
     }
 
+    public static class InheritedFromInheritedSource extends InheritedFromSource {
+    }
+
     @Test
     public void exactly_matching_mapper_should_be_used_when_available() {
         // GIVEN
@@ -223,4 +226,26 @@ public class MapperSelectionTest {
         // THEN
         assertEquals("Property 'x' is not mapped correctly.", "xval4", result.getA());
     }
+
+    @Test
+    public void map_with_closest_source_superclass_should_be_used_regardless_of_order_added() {
+        // GIVEN
+        InheritedFromInheritedSource sourceInstance = new InheritedFromInheritedSource();
+        sourceInstance.setX("xval");
+
+        Mapper mapper = new MapperBuilder()
+                .addMap(Source.class, Destination.class,
+                        (config, source, destination)
+                        -> config.bind(() -> source.getX() + "4", destination::setA))
+                .addMap(InheritedFromSource.class, Destination.class,
+                        (config, source, destination)
+                        -> config.bind(() -> source.getX() + "3", destination::setA))
+                .buildMapper();
+
+        // WHEN
+        Destination result = mapper.map(sourceInstance, Destination.class);
+
+        // THEN
+        assertEquals("Property 'x' is not mapped correctly.", "xval3", result.getA());
+    }
 }
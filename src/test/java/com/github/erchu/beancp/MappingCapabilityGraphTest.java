@@ -0,0 +1,87 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MappingCapabilityGraphTest {
+
+    @Test
+    public void evaluations_of_different_pairs_should_not_block_each_other() throws Exception {
+        // GIVEN
+        MappingCapabilityGraph graph = new MappingCapabilityGraph();
+        CountDownLatch secondEvaluationStarted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // WHEN
+            Future<Boolean> firstResult = executor.submit(() -> graph.isMapAvailable(
+                    String.class, Integer.class,
+                    (sourceClass, destinationClass) -> {
+                        try {
+                            return secondEvaluationStarted.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException ex) {
+                            throw new IllegalStateException(ex);
+                        }
+                    }));
+
+            Future<Boolean> secondResult = executor.submit(() -> graph.isMapAvailable(
+                    Long.class, Integer.class,
+                    (sourceClass, destinationClass) -> {
+                        secondEvaluationStarted.countDown();
+
+                        return false;
+                    }));
+
+            // THEN
+            assertTrue("First evaluation was blocked", firstResult.get(20, TimeUnit.SECONDS));
+            assertFalse(secondResult.get(20, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void cycle_should_be_assumed_available_and_answers_memoized() {
+        // GIVEN
+        MappingCapabilityGraph graph = new MappingCapabilityGraph();
+        int[] evaluations = new int[1];
+
+        // WHEN
+        boolean result = graph.isMapAvailable(String.class, Integer.class,
+                (sourceClass, destinationClass) -> {
+                    evaluations[0]++;
+
+                    return graph.isMapAvailable(sourceClass, destinationClass,
+                            (ignoredSource, ignoredDestination) -> false);
+                });
+        boolean memoizedResult = graph.isMapAvailable(String.class, Integer.class,
+                (sourceClass, destinationClass) -> false);
+
+        // THEN
+        assertTrue(result);
+        assertTrue(memoizedResult);
+        assertEquals(1, evaluations[0]);
+    }
+}
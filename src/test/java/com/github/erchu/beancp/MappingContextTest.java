@@ -0,0 +1,63 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MappingContextTest {
+
+    @Test
+    public void context_should_be_empty_after_clear_also_when_table_is_recreated() {
+        // GIVEN
+        MappingContext context = new MappingContext();
+        Object[] sources = new Object[MappingContext.REUSED_TABLE_MAXIMUM_SIZE * 2];
+
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = new Object();
+            context.put(sources[i], String.class, "value" + i);
+        }
+
+        // WHEN
+        context.clear();
+        context.put(sources[0], String.class, "new value");
+        context.clear();
+        context.clear();
+
+        // THEN
+        for (Object i : sources) {
+            assertNull(context.get(i, String.class));
+        }
+    }
+
+    @Test
+    public void context_should_keep_destination_per_destination_class() {
+        // GIVEN
+        MappingContext context = new MappingContext();
+        Object source = new Object();
+
+        // WHEN
+        context.put(source, String.class, "text");
+        context.put(source, Integer.class, 1);
+        context.remove(source, String.class);
+
+        // THEN
+        assertNull(context.get(source, String.class));
+        assertEquals(1, context.get(source, Integer.class));
+    }
+}
@@ -141,6 +141,127 @@ public class MappingObjectGraphByConventionTest {
         }
     }
 
+    public static class SourceCustomer {
+
+        private String name;
+
+        private SourceOrder lastOrder;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public SourceOrder getLastOrder() {
+            return lastOrder;
+        }
+
+        public void setLastOrder(SourceOrder lastOrder) {
+            this.lastOrder = lastOrder;
+        }
+    }
+
+    public static class SourceOrder {
+
+        private int number;
+
+        private SourceCustomer customer;
+
+        public int getNumber() {
+            return number;
+        }
+
+        public void setNumber(int number) {
+            this.number = number;
+        }
+
+        public SourceCustomer getCustomer() {
+            return customer;
+        }
+
+        public void setCustomer(SourceCustomer customer) {
+            this.customer = customer;
+        }
+    }
+
+    public static class DestinationCustomer {
+
+        private String name;
+
+        private DestinationOrder lastOrder;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public DestinationOrder getLastOrder() {
+            return lastOrder;
+        }
+
+        public void setLastOrder(DestinationOrder lastOrder) {
+            this.lastOrder = lastOrder;
+        }
+    }
+
+    public static class DestinationOrder {
+
+        private int number;
+
+        private DestinationCustomer customer;
+
+        public int getNumber() {
+            return number;
+        }
+
+        public void setNumber(int number) {
+            this.number = number;
+        }
+
+        public DestinationCustomer getCustomer() {
+            return customer;
+        }
+
+        public void setCustomer(DestinationCustomer customer) {
+            this.customer = customer;
+        }
+    }
+
+    @Test
+    public void conventions_should_map_classes_referencing_each_other() {
+        // GIVEN
+        SourceCustomer anotherCustomer = new SourceCustomer();
+        anotherCustomer.setName("Jane");
+
+        SourceOrder order = new SourceOrder();
+        order.setNumber(5);
+        order.setCustomer(anotherCustomer);
+
+        SourceCustomer sourceInstance = new SourceCustomer();
+        sourceInstance.setName("John");
+        sourceInstance.setLastOrder(order);
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        DestinationCustomer result = mapper.map(sourceInstance, DestinationCustomer.class);
+
+        // THEN
+        assertTrue(mapper.isMapAvailable(SourceOrder.class, DestinationOrder.class));
+        assertEquals("John", result.getName());
+        assertEquals(5, result.getLastOrder().getNumber());
+        assertEquals("Jane", result.getLastOrder().getCustomer().getName());
+        assertNull(result.getLastOrder().getCustomer().getLastOrder());
+    }
+
     @Test
     public void conventions_can_be_used_to_map_object_graphs() {
         // GIVEN
@@ -0,0 +1,247 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MappingProcessorTest {
+
+    public static class Source {
+
+        private int x;
+
+        public Source() {
+        }
+
+        public Source(int x) {
+            this.x = x;
+        }
+
+        public int getX() {
+            return x;
+        }
+    }
+
+    public static class Destination {
+
+        private int x;
+
+        public int getX() {
+            return x;
+        }
+
+        public void setX(int x) {
+            this.x = x;
+        }
+    }
+
+    private static class RangePublisher implements Flow.Publisher<Source> {
+
+        private final int _count;
+
+        private final List<Long> _requests = Collections.synchronizedList(new ArrayList<>());
+
+        private volatile boolean _cancelled;
+
+        RangePublisher(int count) {
+            _count = count;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Source> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+
+                private int _next;
+
+                @Override
+                public void request(long n) {
+                    _requests.add(n);
+
+                    for (long i = 0; i < n && _next < _count && _cancelled == false; i++) {
+                        subscriber.onNext(new Source(_next++));
+                    }
+
+                    if (_next == _count && _cancelled == false) {
+                        _cancelled = true;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    _cancelled = true;
+                }
+            });
+        }
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<Destination> {
+
+        private final List<Integer> _values = Collections.synchronizedList(new ArrayList<>());
+
+        private final CountDownLatch _terminated = new CountDownLatch(1);
+
+        private volatile Flow.Subscription _subscription;
+
+        private volatile Throwable _error;
+
+        private volatile boolean _completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            _subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Destination item) {
+            _values.add(item.getX());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            _error = throwable;
+            _terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            _completed = true;
+            _terminated.countDown();
+        }
+    }
+
+    private final Mapper mapper = new MapperBuilder()
+            .addMap(Source.class, Destination.class, (config, source, destination)
+                    -> config.bind(() -> {
+                        if (source.getX() < 0) {
+                            throw new IllegalStateException("negative");
+                        }
+
+                        return source.getX() * 2;
+                    }, destination::setX))
+            .buildMapper();
+
+    @Test
+    public void processor_should_request_only_objects_demanded_by_downstream() {
+        // GIVEN
+        RangePublisher publisher = new RangePublisher(100);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        MappingProcessor<Source, Destination> processor
+                = new MappingProcessor<>(mapper, Destination.class, 8, null);
+
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+
+        // WHEN
+        subscriber._subscription.request(3);
+
+        // THEN
+        assertEquals(0, subscriber._values.get(0).intValue());
+        assertEquals(3, subscriber._values.size());
+        assertEquals(Collections.singletonList(3L), publisher._requests);
+
+        // WHEN
+        subscriber._subscription.request(20);
+
+        // THEN
+        assertEquals(23, subscriber._values.size());
+        assertEquals(44, subscriber._values.get(22).intValue());
+
+        for (long i : publisher._requests) {
+            assertTrue("Request larger than batch size: " + i, i <= 8);
+        }
+
+        // WHEN
+        subscriber._subscription.request(Long.MAX_VALUE);
+
+        // THEN
+        assertEquals(100, subscriber._values.size());
+        assertTrue(subscriber._completed);
+    }
+
+    @Test
+    public void processor_should_preserve_order_when_mapping_using_executor()
+            throws InterruptedException {
+        // GIVEN
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        RangePublisher publisher = new RangePublisher(10_000);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        MappingProcessor<Source, Destination> processor
+                = new MappingProcessor<>(mapper, Destination.class, 64, executor);
+
+        try {
+            processor.subscribe(subscriber);
+            publisher.subscribe(processor);
+
+            // WHEN
+            subscriber._subscription.request(Long.MAX_VALUE);
+
+            // THEN
+            assertTrue(subscriber._terminated.await(10, TimeUnit.SECONDS));
+            assertTrue(subscriber._completed);
+            assertEquals(10_000, subscriber._values.size());
+
+            for (int i = 0; i < subscriber._values.size(); i++) {
+                assertEquals(i * 2, subscriber._values.get(i).intValue());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void mapping_error_should_cancel_upstream_and_be_published() {
+        // GIVEN
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        MappingProcessor<Source, Destination> processor
+                = new MappingProcessor<>(mapper, Destination.class);
+        boolean[] upstreamCancelled = new boolean[1];
+
+        processor.subscribe(subscriber);
+        processor.onSubscribe(new Flow.Subscription() {
+
+            @Override
+            public void request(long n) {
+                processor.onNext(new Source(1));
+                processor.onNext(new Source(-1));
+            }
+
+            @Override
+            public void cancel() {
+                upstreamCancelled[0] = true;
+            }
+        });
+
+        // WHEN
+        subscriber._subscription.request(10);
+
+        // THEN
+        assertTrue(upstreamCancelled[0]);
+        assertNotNull(subscriber._error);
+        assertFalse(subscriber._completed);
+    }
+}
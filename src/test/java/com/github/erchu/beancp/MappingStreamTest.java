@@ -0,0 +1,109 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MappingStreamTest {
+
+    public static class Source {
+
+        private int x;
+
+        public Source() {
+        }
+
+        public Source(int x) {
+            this.x = x;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public void setX(int x) {
+            this.x = x;
+        }
+    }
+
+    public static class Destination {
+
+        private int x;
+
+        public int getX() {
+            return x;
+        }
+
+        public void setX(int x) {
+            this.x = x;
+        }
+    }
+
+    private final Mapper mapper = new MapperBuilder()
+            .addMap(Source.class, Destination.class, (config, source, destination)
+                    -> config.bind(() -> source.getX() * 2, destination::setX))
+            .buildMapper();
+
+    @Test
+    public void function_should_map_elements_of_parallel_stream() {
+        // WHEN
+        List<Destination> result = IntStream.range(0, 10_000)
+                .parallel()
+                .mapToObj(Source::new)
+                .map(mapper.<Source, Destination>asFunction(Destination.class))
+                .collect(Collectors.toList());
+
+        // THEN
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(i * 2, result.get(i).getX());
+        }
+    }
+
+    @Test
+    public void collector_should_map_elements_of_parallel_stream_in_encounter_order() {
+        // WHEN
+        List<Destination> result = IntStream.range(0, 10_000)
+                .parallel()
+                .mapToObj(Source::new)
+                .collect(mapper.toList(Destination.class));
+
+        // THEN
+        assertEquals(10_000, result.size());
+
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(i * 2, result.get(i).getX());
+        }
+    }
+
+    @Test
+    public void collector_should_use_passed_collection_factory() {
+        // WHEN
+        LinkedList<Destination> result = IntStream.range(0, 3)
+                .mapToObj(Source::new)
+                .collect(mapper.toCollection(Destination.class, LinkedList::new));
+
+        // THEN
+        assertEquals(3, result.size());
+        assertEquals(4, result.getLast().getX());
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MemberAccessorsTest {
+
+    public static class Bean {
+
+        public long longField;
+
+        private long x;
+
+        public long getX() {
+            return x;
+        }
+
+        public void setX(long x) {
+            this.x = x;
+        }
+    }
+
+    @Test
+    public void property_accessors_should_be_generated_next_to_bean_class() throws Throwable {
+        // GIVEN
+        Bean bean = new Bean();
+
+        // WHEN
+        MemberGetter getter = MemberAccessors.getter(Bean.class.getMethod("getX"));
+        MemberSetter setter = MemberAccessors.setter(Bean.class.getMethod("setX", long.class));
+        setter.set(bean, 5);
+
+        // THEN
+        assertTrue("Getter is not generated.", getter instanceof MemberAccessors.GeneratedGetter);
+        assertTrue("Setter is not generated.", setter instanceof MemberAccessors.GeneratedSetter);
+        assertSame(Bean.class.getClassLoader(),
+                ((MemberAccessors.GeneratedGetter) getter).getGeneratedClass().getClassLoader());
+        assertSame(Bean.class.getPackage(),
+                ((MemberAccessors.GeneratedSetter) setter).getGeneratedClass().getPackage());
+        assertEquals(5L, getter.get(bean));
+    }
+
+    @Test
+    public void field_accessors_should_be_generated_and_convert_values_like_reflection()
+            throws Throwable {
+        // GIVEN
+        Bean bean = new Bean();
+
+        // WHEN
+        MemberGetter getter = MemberAccessors.getter(Bean.class.getField("longField"));
+        MemberSetter setter = MemberAccessors.setter(Bean.class.getField("longField"));
+        setter.set(bean, 'a');
+
+        // THEN
+        assertTrue("Getter is not generated.", getter instanceof MemberAccessors.GeneratedGetter);
+        assertTrue("Setter is not generated.", setter instanceof MemberAccessors.GeneratedSetter);
+        assertEquals(97L, getter.get(bean));
+
+        try {
+            setter.set(bean, 1.5);
+            fail("Narrowing conversion should be rejected.");
+        } catch (IllegalArgumentException ex) {
+            assertEquals("Value of java.lang.Double cannot be assigned to long member",
+                    ex.getMessage());
+        }
+    }
+
+    @Test
+    public void same_accessor_should_be_returned_for_the_same_member() throws Throwable {
+        // WHEN
+        MemberGetter first = MemberAccessors.getter(Bean.class.getMethod("getX"));
+        MemberGetter second = MemberAccessors.getter(Bean.class.getMethod("getX"));
+
+        // THEN
+        assertSame(first, second);
+    }
+}
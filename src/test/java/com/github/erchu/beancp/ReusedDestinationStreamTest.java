@@ -0,0 +1,123 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ReusedDestinationStreamTest {
+
+    public static class Source {
+
+        private int x;
+
+        public Source() {
+        }
+
+        public Source(int x) {
+            this.x = x;
+        }
+
+        public int getX() {
+            return x;
+        }
+    }
+
+    public static class Destination {
+
+        private int x;
+
+        private String note;
+
+        public int getX() {
+            return x;
+        }
+
+        public void setX(int x) {
+            this.x = x;
+        }
+
+        public String getNote() {
+            return note;
+        }
+
+        public void setNote(String note) {
+            this.note = note;
+        }
+    }
+
+    private final Mapper mapper = new MapperBuilder()
+            .addMap(Source.class, Destination.class, (config, source, destination)
+                    -> config.bind(source::getX, destination::setX))
+            .buildMapper();
+
+    @Test
+    public void stream_should_map_all_sources_to_single_destination() {
+        // GIVEN
+        List<Source> sources = Arrays.asList(new Source(1), null, new Source(2), new Source(3));
+        List<Destination> destinations = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+        int[] createdDestinations = new int[1];
+
+        // WHEN
+        mapper.<Source, Destination>stream(sources.iterator(), () -> {
+            createdDestinations[0]++;
+
+            return new Destination();
+        }).forEach(i -> {
+            destinations.add(i);
+            values.add(i == null ? null : i.getX());
+        });
+
+        // THEN
+        assertEquals(1, createdDestinations[0]);
+        assertEquals(Arrays.asList(1, null, 2, 3), values);
+        assertNull(destinations.get(1));
+        assertSame(destinations.get(0), destinations.get(2));
+        assertSame(destinations.get(0), destinations.get(3));
+    }
+
+    @Test
+    public void unbound_members_should_be_kept_unless_reset_action_is_passed() {
+        // GIVEN
+        List<Source> sources = Arrays.asList(new Source(1), new Source(2));
+        List<String> notesWithoutReset = new ArrayList<>();
+        List<String> notesWithReset = new ArrayList<>();
+
+        // WHEN
+        mapper.<Source, Destination>stream(sources.iterator(), Destination::new)
+                .forEach(i -> {
+                    notesWithoutReset.add(i.getNote());
+                    i.setNote("written " + i.getX());
+                });
+
+        mapper.<Source, Destination>stream(sources.iterator(), Destination::new,
+                i -> i.setNote(null))
+                .forEach(i -> {
+                    notesWithReset.add(i.getNote());
+                    i.setNote("written " + i.getX());
+                });
+
+        // THEN
+        assertEquals(Arrays.asList(null, "written 1"), notesWithoutReset);
+        assertEquals(Arrays.asList(null, null), notesWithReset);
+    }
+}
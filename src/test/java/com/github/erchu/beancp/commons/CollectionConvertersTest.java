@@ -26,10 +26,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.NavigableSet;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.Stack;
@@ -42,6 +44,7 @@ import java.util.stream.Collectors;
 
 import com.github.erchu.beancp.Mapper;
 import com.github.erchu.beancp.MapperBuilder;
+import com.github.erchu.beancp.MappingException;
 
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -122,6 +125,24 @@ public class CollectionConvertersTest {
         }
     }
 
+    @Test
+    public void collection_mapped_from_array_should_not_depend_on_source_array() {
+        // GIVEN
+        T[] sourceInstance = new T[] { new T(1), new T(2), new T(3) };
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(CollectionConverters.getArrayToCollection(T.class))
+                .buildMapper();
+
+        // WHEN
+        List<T> result = mapper.map(sourceInstance, List.class);
+        sourceInstance[0] = new T(4);
+
+        // THEN
+        assertEquals(ArrayList.class, result.getClass());
+        assertEquals(Arrays.asList(new T(1), new T(2), new T(3)), result);
+    }
+
     @Test
     public void should_map_any_collection_to_array()
             throws InstantiationException, IllegalAccessException {
@@ -257,6 +278,177 @@ public class CollectionConvertersTest {
         }
     }
 
+    @Test
+    public void should_map_elements_resolving_mapping_per_element_class() {
+        // GIVEN
+        List<Object> sourceInstance = Arrays.asList(1, "b", null, 2L, "c");
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(Integer.class, String.class, source -> "int:" + source)
+                .addConverter(String.class, String.class, source -> "string:" + source)
+                .addConverter(Long.class, String.class, source -> "long:" + source)
+                .buildMapper();
+
+        // WHEN
+        List<String> result = CollectionConverters.mapElements(mapper, sourceInstance, String.class);
+        String[] resultArray = CollectionConverters.mapElementsToArray(
+                mapper, sourceInstance, String.class);
+
+        // THEN
+        List<String> expected = Arrays.asList("int:1", "string:b", null, "long:2", "string:c");
+        assertEquals(expected, result);
+        assertArrayEquals(expected.toArray(), resultArray);
+    }
+
+    @Test
+    public void array_to_array_converter_should_map_each_element() {
+        // GIVEN
+        T[] sourceInstance = new T[] { new T(1), new T(2) };
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(T.class, Integer.class, T::getId)
+                .addConverter(CollectionConverters.getArrayToArray(T.class, Integer.class))
+                .buildMapper();
+
+        // WHEN
+        Integer[] result = mapper.map(sourceInstance, Integer[].class);
+
+        // THEN
+        assertArrayEquals(new Integer[] { 1, 2 }, result);
+    }
+
+    @Test
+    public void array_to_array_converter_should_map_primitive_type_array_elements() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .addConverter(Integer.class, String.class, source -> "i" + source)
+                .addConverter(CollectionConverters.getArrayToArray(int.class, String.class))
+                .buildMapper();
+
+        // WHEN
+        String[] result = mapper.map(new int[] { 1, 2 }, String[].class);
+
+        // THEN
+        assertArrayEquals(new String[] { "i1", "i2" }, result);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void array_to_array_converter_should_not_accept_primitive_destination_element_class() {
+        // WHEN
+        CollectionConverters.getArrayToArray(Integer.class, int.class);
+    }
+
+    @Test
+    public void mapped_elements_should_be_added_to_collection_of_passed_class() {
+        // GIVEN
+        List<T> sourceInstance = Arrays.asList(new T(3), new T(1), new T(2));
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(T.class, Integer.class, T::getId)
+                .buildMapper();
+
+        Class[] collectionTypes = new Class[] {
+            List.class, Set.class, SortedSet.class, LinkedHashSet.class, LinkedList.class,
+            CopyOnWriteArrayList.class, CopyOnWriteArraySet.class, Stack.class, Vector.class
+        };
+
+        for (Class<? extends Collection> i : collectionTypes) {
+            // WHEN
+            Collection<Integer> result = CollectionConverters.mapElements(
+                    mapper, sourceInstance, Integer.class, i);
+
+            // THEN
+            assertTrue("Invalid result class for " + i, i.isInstance(result));
+            assertEquals("Invalid result for " + i,
+                    new HashSet<>(Arrays.asList(1, 2, 3)), new HashSet<>(result));
+        }
+    }
+
+    @Test(expected = MappingException.class)
+    public void mapping_to_array_should_fail_when_source_has_more_elements_than_its_size() {
+        // GIVEN
+        Collection<T> sourceInstance = new AbstractCollection<T>() {
+
+            @Override
+            public Iterator<T> iterator() {
+                return Arrays.asList(new T(1), new T(2)).iterator();
+            }
+
+            @Override
+            public int size() {
+                // element added after size was read
+                return 1;
+            }
+        };
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(T.class, Integer.class, T::getId)
+                .buildMapper();
+
+        // WHEN
+        CollectionConverters.mapElementsToArray(mapper, sourceInstance, Integer.class);
+    }
+
+    @Test
+    public void lazy_view_should_map_only_elements_which_are_read() {
+        // GIVEN
+        List<T> sourceInstance = new ArrayList<>(Arrays.asList(new T(1), new T(2), new T(3)));
+        List<Integer> mappedIds = new ArrayList<>();
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(T.class, String.class, source -> {
+                    mappedIds.add(source.getId());
+
+                    return "t" + source.getId();
+                })
+                .buildMapper();
+
+        // WHEN
+        List<String> result = CollectionConverters.mapLazily(mapper, sourceInstance, String.class);
+        String secondElement = result.get(1);
+        String secondElementReadAgain = result.get(1);
+
+        // THEN
+        assertEquals(3, result.size());
+        assertEquals("t2", secondElement);
+        assertEquals("t2", secondElementReadAgain);
+        assertEquals(Arrays.asList(2, 2), mappedIds);
+        assertTrue(result instanceof RandomAccess);
+
+        // WHEN
+        sourceInstance.set(0, new T(5));
+
+        // THEN
+        assertEquals("View should reflect source changes", "t5", result.get(0));
+    }
+
+    @Test
+    public void memoizing_lazy_view_should_map_each_element_once() {
+        // GIVEN
+        LinkedList<T> sourceInstance = new LinkedList<>(Arrays.asList(new T(1), null, new T(3)));
+        List<Integer> mappedIds = new ArrayList<>();
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(T.class, String.class, source -> {
+                    mappedIds.add(source.getId());
+
+                    return "t" + source.getId();
+                })
+                .buildMapper();
+
+        // WHEN
+        List<String> result = CollectionConverters.mapLazily(
+                mapper, sourceInstance, String.class, true);
+        String thirdElement = result.get(2);
+        List<String> allElements = new ArrayList<>(result);
+
+        // THEN
+        assertEquals(Arrays.asList("t1", null, "t3"), allElements);
+        assertSame(thirdElement, allElements.get(2));
+        assertEquals(Arrays.asList(3, 1), mappedIds);
+        assertFalse(result instanceof RandomAccess);
+    }
+
     private Collection<Class<? extends Collection>> getCollectionTypes() {
         Collection<Class<? extends Collection>> result = new HashSet<>();
 
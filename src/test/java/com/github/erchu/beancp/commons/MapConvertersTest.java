@@ -0,0 +1,251 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.MapperBuilder;
+import com.github.erchu.beancp.MappingException;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MapConvertersTest {
+
+    private enum Color {
+
+        RED, GREEN
+    }
+
+    @Test
+    public void should_copy_any_map_to_any_supported_map() {
+        // GIVEN
+        Map<Integer, String> sourceInstance = new HashMap<>();
+        sourceInstance.put(1, "a");
+        sourceInstance.put(2, "b");
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(MapConverters.get())
+                .buildMapper();
+
+        Class[] mapTypes = new Class[] {
+            Map.class, SortedMap.class, NavigableMap.class, ConcurrentMap.class,
+            ConcurrentNavigableMap.class, AbstractMap.class, ConcurrentHashMap.class,
+            ConcurrentSkipListMap.class, HashMap.class, Hashtable.class, IdentityHashMap.class,
+            LinkedHashMap.class, TreeMap.class
+        };
+
+        for (Class<? extends Map> i : mapTypes) {
+            // WHEN
+            Map result = mapper.map(sourceInstance, i);
+
+            // THEN
+            assertTrue("Invalid result class for " + i, i.isInstance(result));
+            assertEquals("Invalid result for " + i, sourceInstance, new HashMap<>(result));
+        }
+    }
+
+    @Test
+    public void enum_map_should_be_copied_to_enum_map() {
+        // GIVEN
+        EnumMap<Color, String> sourceInstance = new EnumMap<>(Color.class);
+        sourceInstance.put(Color.RED, "r");
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(MapConverters.get())
+                .buildMapper();
+
+        // WHEN
+        Map result = mapper.map(sourceInstance, Map.class);
+
+        // THEN
+        assertTrue(result instanceof EnumMap);
+        assertNotSame(sourceInstance, result);
+        assertEquals(sourceInstance, result);
+    }
+
+    @Test(expected = MappingException.class)
+    public void empty_map_cannot_be_converted_to_enum_map() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .addConverter(MapConverters.get())
+                .buildMapper();
+
+        // WHEN
+        mapper.map(new HashMap<>(), EnumMap.class);
+    }
+
+    @Test
+    public void should_map_keys_and_values() {
+        // GIVEN
+        Map<String, Integer> sourceInstance = new LinkedHashMap<>();
+        sourceInstance.put("RED", 1);
+        sourceInstance.put("GREEN", null);
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(String.class, Color.class, (String source) -> Color.valueOf(source))
+                .addConverter(Integer.class, String.class, source -> "#" + source)
+                .buildMapper();
+
+        // WHEN
+        Map<Color, String> result = MapConverters.mapEntries(
+                mapper, sourceInstance, Color.class, String.class);
+        Map<Color, String> sortedResult = MapConverters.mapEntries(
+                mapper, sourceInstance, Color.class, String.class, TreeMap.class);
+
+        // THEN
+        assertTrue("EnumMap should be used for enum keys", result instanceof EnumMap);
+        assertEquals(2, result.size());
+        assertEquals("#1", result.get(Color.RED));
+        assertTrue(result.containsKey(Color.GREEN));
+        assertNull(result.get(Color.GREEN));
+        assertTrue(sortedResult instanceof TreeMap);
+        assertEquals(result, sortedResult);
+    }
+
+    @Test
+    public void should_map_values_keeping_keys() {
+        // GIVEN
+        EnumMap<Color, Integer> sourceInstance = new EnumMap<>(Color.class);
+        sourceInstance.put(Color.GREEN, 2);
+
+        Map<String, Integer> hashSourceInstance = new HashMap<>();
+        hashSourceInstance.put("x", 3);
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(Integer.class, String.class, source -> "#" + source)
+                .buildMapper();
+
+        // WHEN
+        Map<Color, String> result = MapConverters.mapValues(mapper, sourceInstance, String.class);
+        Map<String, String> hashResult
+                = MapConverters.mapValues(mapper, hashSourceInstance, String.class);
+
+        // THEN
+        assertTrue(result instanceof EnumMap);
+        assertEquals("#2", result.get(Color.GREEN));
+        assertEquals(Integer.valueOf(2), sourceInstance.get(Color.GREEN));
+        assertEquals(1, hashResult.size());
+        assertEquals("#3", hashResult.get("x"));
+    }
+
+    @Test
+    public void sorted_map_should_keep_source_comparator() {
+        // GIVEN
+        TreeMap<String, Integer> sourceInstance = new TreeMap<>(Collections.reverseOrder());
+        sourceInstance.put("a", 1);
+        sourceInstance.put("b", 2);
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(MapConverters.get())
+                .addConverter(Integer.class, String.class, source -> "#" + source)
+                .addConverter(String.class, String.class, (String source) -> source.toUpperCase())
+                .buildMapper();
+
+        // WHEN
+        SortedMap<String, Integer> result = mapper.map(sourceInstance, SortedMap.class);
+        Map<String, String> mappedResult = MapConverters.mapEntries(
+                mapper, sourceInstance, String.class, String.class, ConcurrentSkipListMap.class);
+
+        // THEN
+        assertEquals(Arrays.asList("b", "a"), Arrays.asList(result.keySet().toArray()));
+        assertEquals(Arrays.asList("B", "A"), Arrays.asList(mappedResult.keySet().toArray()));
+        assertEquals("#2", mappedResult.get("B"));
+    }
+
+    @Test(expected = MappingException.class)
+    public void null_key_cannot_be_mapped_to_enum_map() {
+        // GIVEN
+        Map<String, Integer> sourceInstance = new HashMap<>();
+        sourceInstance.put(null, 1);
+
+        Mapper mapper = new MapperBuilder().buildMapper();
+
+        // WHEN
+        MapConverters.mapEntries(mapper, sourceInstance, Color.class, Integer.class);
+    }
+
+    @Test
+    public void null_key_cannot_be_copied_to_sorted_map() {
+        // GIVEN
+        Map<String, Integer> sourceInstance = new HashMap<>();
+        sourceInstance.put(null, 1);
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(MapConverters.get())
+                .buildMapper();
+
+        try {
+            // WHEN
+            mapper.map(sourceInstance, TreeMap.class);
+
+            fail("MappingException expected");
+        } catch (MappingException ex) {
+            // THEN
+            assertTrue(getMessages(ex).contains("Cannot put keys of"));
+        }
+    }
+
+    @Test
+    public void not_comparable_keys_cannot_be_copied_to_sorted_map() {
+        // GIVEN
+        Map<Object, Integer> sourceInstance = new HashMap<>();
+        sourceInstance.put(new Object(), 1);
+        sourceInstance.put(new Object(), 2);
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(MapConverters.get())
+                .buildMapper();
+
+        try {
+            // WHEN
+            mapper.map(sourceInstance, ConcurrentSkipListMap.class);
+
+            fail("MappingException expected");
+        } catch (MappingException ex) {
+            // THEN
+            assertTrue(getMessages(ex).contains("Cannot put keys of"));
+        }
+    }
+
+    private static String getMessages(final Throwable exception) {
+        StringBuilder result = new StringBuilder();
+
+        for (Throwable i = exception ; i != null ; i = i.getCause()) {
+            result.append(i.getMessage()).append('\n');
+        }
+
+        return result.toString();
+    }
+}
@@ -17,8 +17,10 @@
  */
 package com.github.erchu.beancp.commons;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.List;
 import com.github.erchu.beancp.Mapper;
 import com.github.erchu.beancp.MapperBuilder;
 import org.junit.Test;
@@ -134,6 +136,52 @@ public class NameBasedConventionCastOrMapFeatureTest {
         }
     }
 
+    public static class SourceWithElements {
+
+        private List<InnerSource> list;
+
+        private InnerSource[] array;
+
+        public List<InnerSource> getList() {
+            return list;
+        }
+
+        public void setList(List<InnerSource> list) {
+            this.list = list;
+        }
+
+        public InnerSource[] getArray() {
+            return array;
+        }
+
+        public void setArray(InnerSource[] array) {
+            this.array = array;
+        }
+    }
+
+    public static class DestinationWithElements {
+
+        private LinkedList<InnerDestination> list;
+
+        private List<InnerDestination> array;
+
+        public LinkedList<InnerDestination> getList() {
+            return list;
+        }
+
+        public void setList(LinkedList<InnerDestination> list) {
+            this.list = list;
+        }
+
+        public List<InnerDestination> getArray() {
+            return array;
+        }
+
+        public void setArray(List<InnerDestination> array) {
+            this.array = array;
+        }
+    }
+
     @Test
     public void when_inner_class_mapping_is_available_then_should_be_used_by_convention() {
         // GIVEN
@@ -217,4 +265,36 @@ public class NameBasedConventionCastOrMapFeatureTest {
         assertTrue("Invalid 'canBeCastedInherited' value.", sourceInstance.getCanBeCastedInherited() == result.getCanBeCastedInherited());
         assertNull("Invalid 'haveToBeSkipped' value.", result.getHaveToBeSkipped());
     }
+
+    @Test
+    public void when_element_mapping_is_available_then_should_be_used_for_collections_and_arrays() {
+        // GIVEN
+        InnerSource firstElement = new InnerSource();
+        firstElement.setValue("a");
+
+        InnerSource secondElement = new InnerSource();
+        secondElement.setValue("b");
+
+        SourceWithElements sourceInstance = new SourceWithElements();
+        sourceInstance.setList(Arrays.asList(firstElement, null, secondElement));
+        sourceInstance.setArray(new InnerSource[] { secondElement });
+
+        Mapper mapper = new MapperBuilder()
+                .addMap(InnerSource.class, InnerDestination.class, (config, source, destination)
+                        -> config.bind(() -> source.getValue() + source.getValue(), destination::setValueDuplicated))
+                .addMap(SourceWithElements.class, DestinationWithElements.class, (config, source, destination)
+                        -> config.useConvention(NameBasedMapConvention.get()))
+                .buildMapper();
+
+        // WHEN
+        DestinationWithElements result = mapper.map(sourceInstance, DestinationWithElements.class);
+
+        // THEN
+        assertEquals("Invalid result.getList() size", 3, result.getList().size());
+        assertEquals("aa", result.getList().get(0).getValueDuplicated());
+        assertNull("Null element should stay null", result.getList().get(1));
+        assertEquals("bb", result.getList().get(2).getValueDuplicated());
+        assertEquals("Invalid result.getArray() size", 1, result.getArray().size());
+        assertEquals("bb", result.getArray().get(0).getValueDuplicated());
+    }
 }
@@ -0,0 +1,160 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.MapperBuilder;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class NameBasedConventionNumberConversionFeatureTest {
+
+    public static class Source {
+
+        private int count;
+
+        private long total;
+
+        private Integer optional;
+
+        private double price;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public void setTotal(long total) {
+            this.total = total;
+        }
+
+        public Integer getOptional() {
+            return optional;
+        }
+
+        public void setOptional(Integer optional) {
+            this.optional = optional;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public void setPrice(double price) {
+            this.price = price;
+        }
+    }
+
+    public static class Destination {
+
+        private long count;
+
+        private Integer total;
+
+        private Long optional;
+
+        private float price;
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public Integer getTotal() {
+            return total;
+        }
+
+        public void setTotal(Integer total) {
+            this.total = total;
+        }
+
+        public Long getOptional() {
+            return optional;
+        }
+
+        public void setOptional(Long optional) {
+            this.optional = optional;
+        }
+
+        public float getPrice() {
+            return price;
+        }
+
+        public void setPrice(float price) {
+            this.price = price;
+        }
+    }
+
+    @Test
+    public void convention_should_convert_numbers_as_number_converters() {
+        // GIVEN
+        Source sourceInstance = new Source();
+        sourceInstance.setCount(3);
+        sourceInstance.setTotal(1L << 33 | 5);
+        sourceInstance.setPrice(1.5);
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(NumberConverters.get())
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        for (int i = 0; i < 3; i++) {
+            // WHEN
+            Destination result = mapper.map(sourceInstance, Destination.class);
+
+            // THEN
+            assertEquals(3L, result.getCount());
+            assertEquals(Integer.valueOf(5), result.getTotal());
+            assertNull(result.getOptional());
+            assertEquals(1.5f, result.getPrice(), 0);
+
+            sourceInstance.setOptional(7);
+            result = mapper.map(sourceInstance, Destination.class);
+            assertEquals(Long.valueOf(7), result.getOptional());
+            sourceInstance.setOptional(null);
+        }
+    }
+
+    @Test
+    public void convention_should_use_custom_number_converter() {
+        // GIVEN
+        Source sourceInstance = new Source();
+        sourceInstance.setCount(3);
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(Integer.class, Long.class, source -> source * 10L)
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        Destination result = mapper.map(sourceInstance, Destination.class);
+
+        // THEN
+        assertEquals(30L, result.getCount());
+    }
+}
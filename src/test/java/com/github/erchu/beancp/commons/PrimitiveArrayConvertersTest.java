@@ -0,0 +1,122 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.MapperBuilder;
+import com.github.erchu.beancp.MappingException;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PrimitiveArrayConvertersTest {
+
+    @Test
+    public void should_convert_primitive_type_array_to_wrapper_array_and_back() {
+        // GIVEN
+        int[] sourceInstance = new int[] { 1, 2, 3 };
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(PrimitiveArrayConverters.get())
+                .buildMapper();
+
+        // WHEN
+        Integer[] wrapped = mapper.map(sourceInstance, Integer[].class);
+        int[] unwrapped = mapper.map(wrapped, int[].class);
+
+        // THEN
+        assertArrayEquals(new Integer[] { 1, 2, 3 }, wrapped);
+        assertArrayEquals(sourceInstance, unwrapped);
+    }
+
+    @Test
+    public void should_convert_between_number_arrays_as_java_cast() {
+        // GIVEN
+        long[] sourceInstance = new long[] { 1, 300, -2 };
+
+        Mapper mapper = new MapperBuilder()
+                .addConverter(PrimitiveArrayConverters.get())
+                .buildMapper();
+
+        // WHEN
+        double[] widened = mapper.map(sourceInstance, double[].class);
+        byte[] narrowed = mapper.map(sourceInstance, byte[].class);
+
+        // THEN
+        assertArrayEquals(new double[] { 1, 300, -2 }, widened, 0);
+        assertArrayEquals(new byte[] { 1, (byte) 300, -2 }, narrowed);
+    }
+
+    @Test(expected = MappingException.class)
+    public void wrapper_array_with_null_element_cannot_be_converted_to_primitive_type_array() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .addConverter(PrimitiveArrayConverters.get())
+                .buildMapper();
+
+        // WHEN
+        mapper.map(new Double[] { 1.0, null }, double[].class);
+    }
+
+    @Test
+    public void user_converter_should_receive_primitive_type_array() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .addConverter(int[].class, String.class, (int[] source) -> Arrays.toString(source))
+                .addConverter(CollectionConverters.getArrayToCollection(char.class))
+                .buildMapper();
+
+        // WHEN
+        String result = mapper.map(new int[] { 4, 5 }, String.class);
+        List characters = mapper.map(new char[] { 'a', 'b' }, List.class);
+
+        // THEN
+        assertEquals("[4, 5]", result);
+        assertEquals(Arrays.asList('a', 'b'), characters);
+    }
+
+    @Test
+    public void collection_of_mixed_width_numbers_should_be_converted_to_primitive_type_array() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .addConverter(CollectionConverters.getCollectionToArray(long.class))
+                .addConverter(CollectionConverters.getCollectionToArray(double.class))
+                .buildMapper();
+
+        // WHEN
+        long[] longs = mapper.map(Arrays.asList(1, 2, 3), long[].class);
+        double[] doubles = mapper.map(Arrays.<Object>asList((byte) 1, 2L, 'a', 1.5f),
+                double[].class);
+
+        // THEN
+        assertArrayEquals(new long[] { 1, 2, 3 }, longs);
+        assertArrayEquals(new double[] { 1, 2, 'a', 1.5 }, doubles, 0);
+    }
+
+    @Test(expected = MappingException.class)
+    public void collection_with_not_number_element_cannot_be_converted_to_number_array() {
+        // GIVEN
+        Mapper mapper = new MapperBuilder()
+                .addConverter(CollectionConverters.getCollectionToArray(int.class))
+                .buildMapper();
+
+        // WHEN
+        mapper.map(Arrays.asList(1, "2"), int[].class);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.MapperBuilder;
+import com.github.erchu.beancp.MappingException;
+import java.util.UUID;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class StringConvertersTest {
+
+    private enum Side {
+
+        BUY, SELL
+    }
+
+    private final Mapper mapper = new MapperBuilder()
+            .addConverter(StringConverters.get())
+            .addConverter(StringConverters.getEnumConverters(Side.class))
+            .buildMapper();
+
+    @Test
+    public void should_parse_integer_numbers() {
+        // WHEN / THEN
+        assertEquals(Integer.valueOf(-123), mapper.map("-123", Integer.class));
+        assertEquals(Integer.valueOf(7), mapper.map(new StringBuilder("+7"), Integer.class));
+        assertEquals(Long.valueOf(Long.MIN_VALUE),
+                mapper.map(Long.toString(Long.MIN_VALUE), Long.class));
+        assertEquals(Long.valueOf(Long.MAX_VALUE),
+                mapper.map(Long.toString(Long.MAX_VALUE), Long.class));
+        assertEquals(Byte.valueOf((byte) -128), mapper.map("-128", Byte.class));
+        assertEquals(Short.valueOf((short) 300), mapper.map("300", Short.class));
+        assertEquals(Double.valueOf(1.25), mapper.map("1.25", Double.class));
+    }
+
+    @Test
+    public void should_parse_float_without_double_rounding() {
+        // WHEN
+        Float result = mapper.map("1.00000017881393432617187499", Float.class);
+
+        // THEN
+        assertEquals(Float.valueOf(1.0000001f), result);
+    }
+
+    @Test
+    public void should_report_invalid_numbers() {
+        String[] invalidValues = new String[] {
+            "", "-", "1a", "2147483648", " 1"
+        };
+
+        for (String i : invalidValues) {
+            try {
+                // WHEN
+                mapper.map(i, Integer.class);
+
+                fail("Value \"" + i + "\" should not be parsed.");
+            } catch (MappingException ex) {
+                // THEN
+            }
+        }
+
+        try {
+            mapper.map("128", Byte.class);
+
+            fail("Value out of byte range should not be parsed.");
+        } catch (MappingException ex) {
+        }
+    }
+
+    @Test
+    public void should_convert_uuid_both_ways() {
+        // GIVEN
+        UUID value = UUID.randomUUID();
+
+        // WHEN
+        UUID parsed = mapper.map(value.toString().toUpperCase(), UUID.class);
+        String formatted = mapper.map(value, String.class);
+
+        // THEN
+        assertEquals(value, parsed);
+        assertEquals(value.toString(), formatted);
+    }
+
+    @Test(expected = MappingException.class)
+    public void should_report_invalid_uuid() {
+        // WHEN
+        mapper.map("123e4567-e89b-12d3-a456-42661417400g", UUID.class);
+    }
+
+    @Test
+    public void should_convert_enum_by_name() {
+        // WHEN / THEN
+        assertEquals(Side.SELL, mapper.map("SELL", Side.class));
+        assertEquals("BUY", mapper.map(Side.BUY, String.class));
+
+        try {
+            mapper.map("sell", Side.class);
+
+            fail("Unknown constant name should not be converted.");
+        } catch (MappingException ex) {
+        }
+    }
+}
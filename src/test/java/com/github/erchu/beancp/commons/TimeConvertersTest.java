@@ -0,0 +1,105 @@
+/*
+ * bean-cp
+ * Copyright (c) 2014, Rafal Chojnacki, All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ */
+package com.github.erchu.beancp.commons;
+
+import com.github.erchu.beancp.Mapper;
+import com.github.erchu.beancp.MapperBuilder;
+import com.github.erchu.beancp.MappingException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class TimeConvertersTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Warsaw");
+
+    private final Mapper mapper = new MapperBuilder()
+            .addConverter(TimeConverters.get(ZONE))
+            .buildMapper();
+
+    @Test
+    public void should_convert_between_date_instant_and_epoch_millis() {
+        // GIVEN
+        long epochMilli = 1_400_000_000_123L;
+
+        // WHEN
+        Instant instant = mapper.map(epochMilli, Instant.class);
+        Date date = mapper.map(instant, Date.class);
+        Long millis = mapper.map(date, Long.class);
+
+        // THEN
+        assertEquals(Instant.ofEpochMilli(epochMilli), instant);
+        assertEquals(new Date(epochMilli), date);
+        assertEquals(Long.valueOf(epochMilli), millis);
+    }
+
+    @Test
+    public void local_date_time_should_be_converted_as_zoned_date_time() {
+        LocalDateTime[] values = new LocalDateTime[] {
+            LocalDateTime.of(2014, 7, 1, 12, 30, 15, 123_000_000),
+            // gap and overlap of daylight saving time
+            LocalDateTime.of(2014, 3, 30, 2, 30),
+            LocalDateTime.of(2014, 10, 26, 2, 30),
+            LocalDateTime.of(1900, 1, 1, 0, 0)
+        };
+
+        for (LocalDateTime i : values) {
+            // GIVEN
+            Instant expected = ZonedDateTime.of(i, ZONE).toInstant();
+
+            // WHEN
+            Instant instant = mapper.map(i, Instant.class);
+            LocalDateTime fromDate = mapper.map(Date.from(expected), LocalDateTime.class);
+
+            // THEN
+            assertEquals("Invalid instant for " + i, expected, instant);
+            assertEquals("Invalid local date time for " + i,
+                    ZonedDateTime.ofInstant(expected, ZONE).toLocalDateTime(), fromDate);
+        }
+    }
+
+    @Test
+    public void should_convert_to_iso_text_and_back() {
+        // GIVEN
+        Instant instant = Instant.parse("2014-07-01T10:30:15.123Z");
+        LocalDate localDate = LocalDate.of(2014, 7, 1);
+
+        // WHEN
+        String instantText = mapper.map(new Date(instant.toEpochMilli()), String.class);
+        Date parsedDate = mapper.map(instantText, Date.class);
+        String localDateText = mapper.map(localDate, String.class);
+        LocalDate parsedLocalDate = mapper.map(localDateText, LocalDate.class);
+
+        // THEN
+        assertEquals("2014-07-01T10:30:15.123Z", instantText);
+        assertEquals(instant.toEpochMilli(), parsedDate.getTime());
+        assertEquals("2014-07-01", localDateText);
+        assertEquals(localDate, parsedLocalDate);
+    }
+
+    @Test(expected = MappingException.class)
+    public void should_report_invalid_text() {
+        // WHEN
+        mapper.map("2014-13-01T00:00:00", LocalDateTime.class);
+    }
+}
@@ -19,7 +19,12 @@ package com.github.erchu.beancp.integration_tests;
 
 import com.github.erchu.beancp.Mapper;
 import com.github.erchu.beancp.MapperBuilder;
+import com.github.erchu.beancp.TypedMapper;
 import com.github.erchu.beancp.commons.NameBasedMapConvention;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import static org.junit.Assert.*;
 import org.junit.Test;
 
@@ -219,6 +224,153 @@ public class RecursiveStructureMappingTest {
         assertTreeEquals(top, result);
     }
 
+    @Test
+    public void mapping_context_should_reproduce_shared_references_and_cycles() {
+        // GIVEN
+        SourceTreeNode top = new SourceTreeNode();
+        top.setName("top");
+
+        SourceTreeNode shared = new SourceTreeNode();
+        shared.setName("shared");
+        shared.setLeft(top);
+
+        top.setLeft(shared);
+        top.setRight(shared);
+
+        Mapper conventionMapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get().enableFlattening())
+                .buildMapper()
+                .withMappingContext();
+
+        Mapper declarativeMapper = new MapperBuilder()
+                .addMap(SourceTreeNode.class, DestinationTreeNode.class,
+                        (config, source, destination)
+                        -> config.bind(source::getName, destination::setName)
+                        .mapInner(source::getLeft, destination::setLeft, DestinationTreeNode.class)
+                        .mapInner(source::getRight, destination::setRight, DestinationTreeNode.class)
+                ).buildMapper()
+                .withMappingContext();
+
+        for (Mapper mapper : new Mapper[] { conventionMapper, declarativeMapper }) {
+            // WHEN
+            DestinationTreeNode result = mapper.map(top, DestinationTreeNode.class);
+            DestinationTreeNode secondResult = mapper.map(top, DestinationTreeNode.class);
+
+            // THEN
+            assertEquals("top", result.getName());
+            assertEquals("shared", result.getLeft().getName());
+            assertSame(result.getLeft(), result.getRight());
+            assertSame(result, result.getLeft().getLeft());
+            assertNotSame("Context should be cleared after call", result, secondResult);
+        }
+    }
+
+    @Test
+    public void mapping_context_should_be_separate_for_each_thread_of_batch_mapping() {
+        // GIVEN
+        List<SourceTreeNode> sources = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            SourceTreeNode shared = new SourceTreeNode();
+            shared.setName("shared" + i);
+
+            SourceTreeNode top = new SourceTreeNode();
+            top.setName("top" + i);
+            top.setLeft(shared);
+            top.setRight(shared);
+            shared.setLeft(top);
+            sources.add(top);
+        }
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper()
+                .withMappingContext();
+
+        // WHEN
+        List<List<DestinationTreeNode>> results = new ArrayList<>();
+        results.add(mapper.mapAllInParallel(
+                sources, DestinationTreeNode.class, ForkJoinPool.commonPool(), 10));
+        results.add(mapper.mapAllAsync(sources, DestinationTreeNode.class).join());
+        results.add(sources.parallelStream()
+                .map(mapper.<SourceTreeNode, DestinationTreeNode>asFunction(
+                        DestinationTreeNode.class))
+                .collect(Collectors.toList()));
+        results.add(sources.parallelStream()
+                .collect(mapper.<SourceTreeNode, DestinationTreeNode>toList(
+                        DestinationTreeNode.class)));
+
+        // THEN
+        for (List<DestinationTreeNode> i : results) {
+            assertEquals(sources.size(), i.size());
+
+            for (int j = 0; j < i.size(); j++) {
+                DestinationTreeNode result = i.get(j);
+
+                assertEquals("top" + j, result.getName());
+                assertEquals("shared" + j, result.getLeft().getName());
+                assertSame(result.getLeft(), result.getRight());
+                assertSame(result, result.getLeft().getLeft());
+            }
+        }
+    }
+
+    @Test
+    public void mapping_context_handle_should_reproduce_shared_references_and_cycles() {
+        // GIVEN
+        SourceTreeNode top = new SourceTreeNode();
+        top.setName("top");
+
+        SourceTreeNode shared = new SourceTreeNode();
+        shared.setName("shared");
+        shared.setLeft(top);
+
+        top.setLeft(shared);
+        top.setRight(shared);
+
+        TypedMapper<SourceTreeNode, DestinationTreeNode> handle = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper()
+                .withMappingContext()
+                .forPair(SourceTreeNode.class, DestinationTreeNode.class);
+
+        // WHEN
+        DestinationTreeNode result = handle.map(top);
+        DestinationTreeNode secondResult = handle.map(top);
+        DestinationTreeNode existingResult = new DestinationTreeNode();
+        handle.map(top, existingResult);
+
+        // THEN
+        assertEquals("shared", result.getLeft().getName());
+        assertSame(result.getLeft(), result.getRight());
+        assertSame(result, result.getLeft().getLeft());
+        assertNotSame("Context should be cleared after call", result, secondResult);
+        assertSame(existingResult.getLeft(), existingResult.getRight());
+        assertSame(existingResult, existingResult.getLeft().getLeft());
+    }
+
+    @Test
+    public void mapper_without_context_should_map_shared_references_separately() {
+        // GIVEN
+        SourceTreeNode shared = new SourceTreeNode();
+        shared.setName("shared");
+
+        SourceTreeNode top = new SourceTreeNode();
+        top.setLeft(shared);
+        top.setRight(shared);
+
+        Mapper mapper = new MapperBuilder()
+                .addMapAnyByConvention(NameBasedMapConvention.get())
+                .buildMapper();
+
+        // WHEN
+        DestinationTreeNode result = mapper.map(top, DestinationTreeNode.class);
+
+        // THEN
+        assertEquals("shared", result.getLeft().getName());
+        assertNotSame(result.getLeft(), result.getRight());
+    }
+
     private SourceTreeNode getSampleSourceData() {
         SourceTreeNode top = new SourceTreeNode();
         top.setName("top");